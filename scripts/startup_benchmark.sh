@@ -0,0 +1,59 @@
+#!/usr/bin/env bash
+# Reports the startup time of the server with and without an AppCDS archive, measured until the nodes are initialized
+# and the server logs "Server ready for login". No client connects, so the first login itself is not included.
+# Requires the database to be running and the jar to be built with "mvn clean package".
+#
+# Usage: scripts/startup_benchmark.sh [runs]
+set -euo pipefail
+
+JAR="${JAR:-target/server.jar}"
+ARCHIVE="${ARCHIVE:-cds/server.jsa}"
+RUNS="${1:-3}"
+TIMEOUT="${TIMEOUT:-300}"
+LOG_FILE="$(mktemp)"
+trap 'rm -f "$LOG_FILE"' EXIT
+
+# Starts the server with the given JVM options and prints the number of milliseconds until it is ready to accept logins
+run_server() {
+  java "$@" -jar "$JAR" > "$LOG_FILE" 2>&1 &
+  local pid=$!
+  local start
+  start=$(date +%s%N)
+  until grep -q "Server ready for login" "$LOG_FILE"; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "Server exited before startup completed, see output below" >&2
+      cat "$LOG_FILE" >&2
+      return 1
+    fi
+    if (( ($(date +%s%N) - start) / 1000000000 > TIMEOUT )); then
+      echo "Server did not start within $TIMEOUT seconds" >&2
+      kill "$pid"
+      return 1
+    fi
+    sleep 0.05
+  done
+  local end
+  end=$(date +%s%N)
+  kill "$pid"
+  wait "$pid" || true
+  local reported
+  reported=$(grep -o "Server ready for login in [0-9]* milliseconds" "$LOG_FILE" | grep -o "[0-9]*")
+  echo "$(( (end - start) / 1000000 )) ms (jvm uptime $reported ms)"
+}
+
+if [[ ! -f "$JAR" ]]; then
+  echo "Could not find $JAR, build it with \"mvn clean package\"" >&2
+  exit 1
+fi
+
+if [[ ! -f "$ARCHIVE" || "$JAR" -nt "$ARCHIVE" ]]; then
+  echo "Creating CDS archive $ARCHIVE with a training run"
+  mkdir -p "$(dirname "$ARCHIVE")"
+  rm -f "$ARCHIVE"
+  TRAINING_RUN=true java -XX:ArchiveClassesAtExit="$ARCHIVE" -jar "$JAR" > "$LOG_FILE" 2>&1
+fi
+
+for (( i = 1; i <= RUNS; i++ )); do
+  echo "Run $i without CDS : $(run_server -Xshare:auto)"
+  echo "Run $i with CDS    : $(run_server -XX:SharedArchiveFile="$ARCHIVE")"
+done
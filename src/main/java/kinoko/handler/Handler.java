@@ -6,7 +6,7 @@ import java.lang.annotation.*;
 
 /**
  * Indicates that the annotated method is a handler method for the specified {@link InHeader} operation codes. The
- * annotated handler methods will be registered at runtime using reflection.
+ * annotated handler methods are registered at compile time by {@link kinoko.util.processor.RegistryProcessor}.
  */
 @Documented
 @Target(ElementType.METHOD)
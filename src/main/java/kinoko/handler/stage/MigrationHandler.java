@@ -155,12 +155,11 @@ public final class MigrationHandler {
                 }
 
                 // Initialize user data from MigrationInfo
-                user.getSecondaryStat().getTemporaryStats().putAll(migrationInfo.getTemporaryStats());
+                user.getSecondaryStat().setTemporaryStat(migrationInfo.getTemporaryStats());
                 user.getSkillManager().getSkillSchedules().putAll(migrationInfo.getSchedules());
                 user.getSummoned().putAll(migrationInfo.getSummoned());
                 user.setEffectItemId(migrationInfo.getEffectItemId());
                 user.setAdBoard(migrationInfo.getAdBoard());
-                user.updatePassiveSkillData();
                 user.validateStat();
                 user.write(WvsContext.setGender(user.getGender()));
                 user.write(WvsContext.resetTownPortal());
@@ -459,7 +458,6 @@ public final class MigrationHandler {
     private static void handleRevive(User user, boolean premium) {
         user.getSecondaryStat().clear();
         user.getSummoned().clear();
-        user.updatePassiveSkillData();
         user.validateStat();
         user.setHp(50);
         if (premium) {
@@ -25,6 +25,7 @@ import kinoko.world.field.drop.DropLeaveType;
 import kinoko.world.field.drop.DropOwnType;
 import kinoko.world.field.mob.BurnedInfo;
 import kinoko.world.field.mob.Mob;
+import kinoko.world.field.mob.MobKillBatch;
 import kinoko.world.field.mob.MobStatOption;
 import kinoko.world.field.mob.MobTemporaryStat;
 import kinoko.world.field.summoned.Summoned;
@@ -307,9 +308,7 @@ public final class AttackHandler {
         final User user = locked.get();
         final Field field = user.getField();
         // Assign attack random
-        for (AttackInfo ai : attack.getAttackInfo()) {
-            ai.random = user.getCalcDamage().getNextAttackRandom();
-        }
+        user.getCalcDamage().setNextAttackRandom(attack.getAttackInfo());
 
         // Set skill level
         if (attack.skillId != 0) {
@@ -477,6 +476,7 @@ public final class AttackHandler {
         }
 
         // Process attack
+        final MobKillBatch batch = new MobKillBatch(field);
         int hpGain = 0;
         int mpGain = 0;
         for (AttackInfo ai : attack.getAttackInfo()) {
@@ -529,7 +529,7 @@ public final class AttackHandler {
                     hpGain += Math.min(absorbAmount, user.getMaxHp() / 10);
                 }
                 // Process damage
-                mob.damage(user, totalDamage, attack.skillId == Thief.MESO_EXPLOSION ? attack.dropExplodeDelay : ai.delay);
+                mob.damage(user, totalDamage, attack.skillId == Thief.MESO_EXPLOSION ? attack.dropExplodeDelay : ai.delay, batch);
                 mob.setMp(mob.getMp() - mpDamage);
                 mpGain += mpDamage;
                 // Process on-hit effects
@@ -539,7 +539,7 @@ public final class AttackHandler {
                     handleVenom(user, mob, ai.delay);
                     handleWeaponCharge(user, mob, ai.delay);
                     handleEvanSlow(user, mob, ai.delay);
-                    handleMortalBlow(user, mob, ai.delay);
+                    handleMortalBlow(user, mob, ai.delay, batch);
                 }
                 // Process on-kill effects
                 if (mob.getHp() <= 0) {
@@ -551,6 +551,9 @@ public final class AttackHandler {
         // Broadcast packet
         field.broadcastPacket(UserRemote.attack(user, attack), user);
 
+        // Process exp, quest progress and drops for killed mobs
+        batch.flush();
+
         // Process hp/mp gains
         if (hpGain > 0) {
             user.addHp(hpGain);
@@ -775,7 +778,7 @@ public final class AttackHandler {
         }
     }
 
-    private static void handleMortalBlow(User user, Mob mob, int delay) {
+    private static void handleMortalBlow(User user, Mob mob, int delay, MobKillBatch batch) {
         if (mob.isBoss()) {
             return;
         }
@@ -796,7 +799,7 @@ public final class AttackHandler {
         final double percentage = (double) mob.getHp() / mob.getMaxHp();
         if (percentage * 100 < si.getValue(SkillStat.x, slv)) {
             user.getField().broadcastPacket(MobPacket.mobSpecialEffectBySkill(mob, skillId, user.getCharacterId(), delay));
-            mob.damage(user, mob.getHp(), delay);
+            mob.damage(user, mob.getHp(), delay, batch);
         }
     }
 
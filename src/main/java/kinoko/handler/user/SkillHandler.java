@@ -157,21 +157,20 @@ public final class SkillHandler {
         try (var locked = user.acquire()) {
             // Remove stat matching skill ID
             final SecondaryStat ss = locked.get().getSecondaryStat();
-            final Set<CharacterTemporaryStat> resetStats = ss.resetTemporaryStat((cts, option) -> option.rOption == skillId);
-            final BitFlag<CharacterTemporaryStat> flag = BitFlag.from(resetStats, CharacterTemporaryStat.FLAG_SIZE);
+            final BitFlag<CharacterTemporaryStat> flag = ss.resetTemporaryStat((cts, option) -> option.rOption == skillId);
             if (!flag.isEmpty()) {
                 user.write(WvsContext.temporaryStatReset(flag));
                 user.getField().broadcastPacket(UserRemote.temporaryStatReset(user, flag), user);
             }
             // Additional handling for CTS
-            if (resetStats.contains(CharacterTemporaryStat.Beholder)) {
+            if (flag.hasFlag(CharacterTemporaryStat.Beholder)) {
                 user.removeSummoned((summoned) -> summoned.getSkillId() == Warrior.BEHOLDER);
             }
-            if (resetStats.contains(CharacterTemporaryStat.Aura)) {
+            if (flag.hasFlag(CharacterTemporaryStat.Aura)) {
                 user.resetTemporaryStat(CharacterTemporaryStat.AURA_STAT);
                 BattleMage.cancelPartyAura(user, skillId);
             }
-            if (resetStats.contains(CharacterTemporaryStat.SuperBody)) {
+            if (flag.hasFlag(CharacterTemporaryStat.SuperBody)) {
                 user.resetTemporaryStat(CharacterTemporaryStat.AURA_STAT);
             }
         }
@@ -248,7 +247,6 @@ public final class SkillHandler {
     @Handler(InHeader.UserCalcDamageStatSetRequest)
     public static void handleUserCalcDamageStatSetRequest(User user, InPacket inPacket) {
         try (var locked = user.acquire()) {
-            user.updatePassiveSkillData();
             user.validateStat();
 
             // Handle effects
@@ -11,6 +11,7 @@ import kinoko.server.packet.InPacket;
 import kinoko.world.field.Field;
 import kinoko.world.field.life.MovePath;
 import kinoko.world.field.mob.Mob;
+import kinoko.world.field.mob.MobKillBatch;
 import kinoko.world.field.summoned.Summoned;
 import kinoko.world.field.summoned.SummonedActionType;
 import kinoko.world.field.summoned.SummonedLeaveType;
@@ -128,6 +129,7 @@ public final class SummonedHandler {
 
         // Process attack
         final Field field = summoned.getField();
+        final MobKillBatch batch = new MobKillBatch(field);
         try (var locked = user.acquire()) {
             for (AttackInfo ai : attack.getAttackInfo()) {
                 final Optional<Mob> mobResult = field.getMobPool().getById(ai.mobId);
@@ -140,7 +142,7 @@ public final class SummonedHandler {
                     // Process damage
                     final Mob mob = lockedMob.get();
                     final int totalDamage = Arrays.stream(ai.damage).sum();
-                    mob.damage(user, totalDamage, ai.delay);
+                    mob.damage(user, totalDamage, ai.delay, batch);
                 }
             }
 
@@ -150,6 +152,7 @@ public final class SummonedHandler {
         }
 
         field.broadcastPacket(SummonedPacket.summonedAttack(user, summoned, attack), user);
+        batch.flush();
     }
 
     @Handler(InHeader.SummonedHit)
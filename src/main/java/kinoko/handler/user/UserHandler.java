@@ -662,7 +662,6 @@ public final class UserHandler {
             skillRecord.setSkillLevel(skillRecord.getSkillLevel() + 1);
             user.write(WvsContext.statChanged(Stat.SP, JobConstants.isExtendSpJob(user.getJob()) ? user.getCharacterStat().getSp() : (short) user.getCharacterStat().getSp().getNonExtendSp(), false));
             user.write(WvsContext.changeSkillRecordResult(skillRecord, true));
-            user.updatePassiveSkillData();
             user.validateStat();
         }
     }
@@ -1516,7 +1515,6 @@ public final class UserHandler {
     public static void handlePassiveSkillInfoUpdate(User user, InPacket inPacket) {
         inPacket.decodeInt(); // update_time
         try (var locked = user.acquire()) {
-            user.updatePassiveSkillData();
             user.validateStat();
         }
     }
@@ -22,9 +22,9 @@ public final class StagePacket {
 
         if (isMigrate) {
             // m_CalcDamage
-            final int s1 = Util.getRandom().nextInt();
-            final int s2 = Util.getRandom().nextInt();
-            final int s3 = Util.getRandom().nextInt();
+            final int s1 = Util.getSecureRandom().nextInt();
+            final int s2 = Util.getSecureRandom().nextInt();
+            final int s3 = Util.getSecureRandom().nextInt();
             user.getCalcDamage().setSeed(s1, s2, s3);
             user.getCalcDamage().setNextAttackCritical(false);
             outPacket.encodeInt(s1);
@@ -0,0 +1,323 @@
+package kinoko.provider;
+
+import kinoko.server.ServerConfig;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.snakeyaml.engine.v2.api.Load;
+import org.snakeyaml.engine.v2.api.LoadSettings;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Columnar table compiled from a directory of YAML files, where each file holds the rows for the ID in its file name.
+ * The compiled table is written to the snapshot directory and memory-mapped on later loads, so that the YAML files are
+ * only parsed again after they are modified. The columns of a mapped table are views over the mapping and are read in
+ * place, they are not copied to the heap. Compiled tables are only ever replaced with an atomic move, never written in
+ * place, so an existing mapping stays valid after a reload.
+ */
+public final class DataTable {
+    private static final Logger log = LogManager.getLogger(DataTable.class);
+    private static final int MAGIC = 0x4C42544B; // KTBL
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 40;
+
+    private final IntBuffer ids;
+    private final IntBuffer flags;
+    private final IntBuffer offsets;
+    private final IntBuffer[] intColumns;
+    private final DoubleBuffer[] doubleColumns;
+
+    private DataTable(IntBuffer ids, IntBuffer flags, IntBuffer offsets, IntBuffer[] intColumns, DoubleBuffer[] doubleColumns) {
+        this.ids = ids;
+        this.flags = flags;
+        this.offsets = offsets;
+        this.intColumns = intColumns;
+        this.doubleColumns = doubleColumns;
+    }
+
+    public int getIdCount() {
+        return ids.limit();
+    }
+
+    public int getId(int index) {
+        return ids.get(index);
+    }
+
+    /**
+     * Returns the index of the ID in the table, or a negative value if the table does not contain any rows for the ID.
+     */
+    public int indexOf(int id) {
+        int low = 0;
+        int high = ids.limit() - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int midId = ids.get(mid);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    public int getFlags(int index) {
+        return flags.get(index);
+    }
+
+    public int getRowStart(int index) {
+        return offsets.get(index);
+    }
+
+    public int getRowEnd(int index) {
+        return offsets.get(index + 1);
+    }
+
+    public int getInt(int column, int row) {
+        return intColumns[column].get(row);
+    }
+
+    public double getDouble(int column, int row) {
+        return doubleColumns[column].get(row);
+    }
+
+    /**
+     * Loads the table for the YAML files in the source directory, using the compiled table in the snapshot directory if
+     * it is up to date. The parser adds the rows for each file to the builder, and returns the flags for the file ID.
+     */
+    public static DataTable load(String name, Path sourceDirectory, int intColumnCount, int doubleColumnCount, Parser parser) throws ProviderError {
+        final Path tablePath = Path.of(ServerConfig.SNAPSHOT_DIRECTORY, name + ".table");
+        try {
+            final long fingerprint = computeFingerprint(sourceDirectory);
+            if (ServerConfig.SNAPSHOT_ENABLED) {
+                final Optional<DataTable> tableResult = readTable(tablePath, fingerprint, intColumnCount, doubleColumnCount);
+                if (tableResult.isPresent()) {
+                    return tableResult.get();
+                }
+            }
+            final DataTable table = parseTable(sourceDirectory, intColumnCount, doubleColumnCount, parser);
+            if (ServerConfig.SNAPSHOT_ENABLED) {
+                try {
+                    Files.createDirectories(tablePath.getParent());
+                    writeTable(table, tablePath, fingerprint);
+                    log.debug("Created data table {}", tablePath);
+                } catch (IOException e) {
+                    log.warn("Failed to create data table {}", tablePath, e);
+                }
+            }
+            return table;
+        } catch (IOException e) {
+            throw new ProviderError("Exception caught while loading data table : %s", name, e);
+        }
+    }
+
+    /**
+     * Computes a checksum over the names, sizes and modification times of the YAML files in the directory, which
+     * changes whenever a file is added, removed or modified.
+     */
+    public static long computeFingerprint(Path directory) throws IOException {
+        final CRC32C checksum = new CRC32C();
+        final ByteBuffer buffer = ByteBuffer.allocate(16);
+        for (Path path : listFiles(directory)) {
+            final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            checksum.update(path.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+            buffer.clear();
+            buffer.putLong(attributes.size());
+            buffer.putLong(attributes.lastModifiedTime().toMillis());
+            checksum.update(buffer.flip());
+        }
+        return checksum.getValue();
+    }
+
+    private static List<Path> listFiles(Path directory) throws IOException {
+        try (final Stream<Path> paths = Files.list(directory)) {
+            return paths.filter((path) -> path.getFileName().toString().endsWith(".yaml"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static DataTable parseTable(Path directory, int intColumnCount, int doubleColumnCount, Parser parser) throws IOException {
+        final Load yamlLoader = new Load(LoadSettings.builder().build());
+        final Map<Integer, Object> yamlObjects = new TreeMap<>();
+        for (Path path : listFiles(directory)) {
+            final int id = Integer.parseInt(path.getFileName().toString().replace(".yaml", ""));
+            try (final InputStream is = Files.newInputStream(path)) {
+                yamlObjects.put(id, yamlLoader.loadFromInputStream(is));
+            }
+        }
+        final Builder builder = new Builder(yamlObjects.size(), intColumnCount, doubleColumnCount);
+        for (var entry : yamlObjects.entrySet()) {
+            builder.flags[builder.idCount] = parser.parse(entry.getKey(), entry.getValue(), builder);
+            builder.ids[builder.idCount++] = entry.getKey();
+            builder.offsets[builder.idCount] = builder.rowCount;
+        }
+        return builder.build();
+    }
+
+
+    // SNAPSHOT METHODS ------------------------------------------------------------------------------------------------
+
+    private static Optional<DataTable> readTable(Path path, long fingerprint, int intColumnCount, int doubleColumnCount) {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_SIZE ||
+                    buffer.getInt() != MAGIC ||
+                    buffer.getInt() != FORMAT_VERSION ||
+                    buffer.getLong() != fingerprint ||
+                    buffer.getInt() != intColumnCount ||
+                    buffer.getInt() != doubleColumnCount) {
+                log.info("Data table {} is outdated", path);
+                return Optional.empty();
+            }
+            final long bodySize = buffer.getLong();
+            final long bodyChecksum = buffer.getLong();
+            final ByteBuffer body = buffer.slice();
+            final CRC32C checksum = new CRC32C();
+            checksum.update(body.duplicate());
+            if (body.remaining() != bodySize || checksum.getValue() != bodyChecksum) {
+                log.warn("Data table {} is corrupted", path);
+                return Optional.empty();
+            }
+            // Columns are views over the mapped buffer, the mapping remains valid after the channel is closed
+            final int idCount = body.getInt();
+            final int rowCount = body.getInt();
+            final IntBuffer ids = sliceInts(body, idCount);
+            final IntBuffer flags = sliceInts(body, idCount);
+            final IntBuffer offsets = sliceInts(body, idCount + 1);
+            final IntBuffer[] intColumns = new IntBuffer[intColumnCount];
+            for (int i = 0; i < intColumnCount; i++) {
+                intColumns[i] = sliceInts(body, rowCount);
+            }
+            final DoubleBuffer[] doubleColumns = new DoubleBuffer[doubleColumnCount];
+            for (int i = 0; i < doubleColumnCount; i++) {
+                doubleColumns[i] = body.slice(body.position(), rowCount * Double.BYTES).asDoubleBuffer();
+                body.position(body.position() + rowCount * Double.BYTES);
+            }
+            if (body.hasRemaining() || offsets.get(idCount) != rowCount) {
+                log.warn("Data table {} is corrupted", path);
+                return Optional.empty();
+            }
+            return Optional.of(new DataTable(ids, flags, offsets, intColumns, doubleColumns));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to load data table {}", path, e);
+            return Optional.empty();
+        }
+    }
+
+    private static IntBuffer sliceInts(ByteBuffer buffer, int count) {
+        final IntBuffer values = buffer.slice(buffer.position(), count * Integer.BYTES).asIntBuffer();
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return values;
+    }
+
+    private static void writeTable(DataTable table, Path path, long fingerprint) throws IOException {
+        final int idCount = table.getIdCount();
+        final int rowCount = table.offsets.get(idCount);
+        final ByteBuffer body = ByteBuffer.allocate(8 + (idCount * 3 + 1) * Integer.BYTES +
+                rowCount * (table.intColumns.length * Integer.BYTES + table.doubleColumns.length * Double.BYTES));
+        body.putInt(idCount);
+        body.putInt(rowCount);
+        body.asIntBuffer().put(table.ids.duplicate()).put(table.flags.duplicate()).put(table.offsets.duplicate());
+        body.position(body.position() + (idCount * 3 + 1) * Integer.BYTES);
+        for (IntBuffer column : table.intColumns) {
+            body.asIntBuffer().put(column.duplicate());
+            body.position(body.position() + rowCount * Integer.BYTES);
+        }
+        for (DoubleBuffer column : table.doubleColumns) {
+            body.asDoubleBuffer().put(column.duplicate());
+            body.position(body.position() + rowCount * Double.BYTES);
+        }
+        body.flip();
+        final CRC32C checksum = new CRC32C();
+        checksum.update(body.duplicate());
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putInt(FORMAT_VERSION);
+        header.putLong(fingerprint);
+        header.putInt(table.intColumns.length);
+        header.putInt(table.doubleColumns.length);
+        header.putLong(body.remaining());
+        header.putLong(checksum.getValue());
+        header.flip();
+        final Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (final FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(new ByteBuffer[]{ header, body });
+            }
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Parser {
+        int parse(int id, Object yamlObject, Builder builder) throws ProviderError;
+    }
+
+    public static final class Builder {
+        private final int[] ids;
+        private final int[] flags;
+        private final int[] offsets;
+        private int[][] intColumns;
+        private double[][] doubleColumns;
+        private int idCount;
+        private int rowCount;
+
+        private Builder(int idCount, int intColumnCount, int doubleColumnCount) {
+            this.ids = new int[idCount];
+            this.flags = new int[idCount];
+            this.offsets = new int[idCount + 1];
+            this.intColumns = new int[intColumnCount][16];
+            this.doubleColumns = new double[doubleColumnCount][16];
+        }
+
+        public void addRow(int[] intValues, double... doubleValues) {
+            if (intValues.length != intColumns.length || doubleValues.length != doubleColumns.length) {
+                throw new ProviderError("Incorrect number of values for data table row");
+            }
+            if (rowCount == (intColumns.length > 0 ? intColumns[0].length : doubleColumns[0].length)) {
+                final int capacity = rowCount * 2;
+                intColumns = Arrays.stream(intColumns).map((column) -> Arrays.copyOf(column, capacity)).toArray(int[][]::new);
+                doubleColumns = Arrays.stream(doubleColumns).map((column) -> Arrays.copyOf(column, capacity)).toArray(double[][]::new);
+            }
+            for (int i = 0; i < intValues.length; i++) {
+                intColumns[i][rowCount] = intValues[i];
+            }
+            for (int i = 0; i < doubleValues.length; i++) {
+                doubleColumns[i][rowCount] = doubleValues[i];
+            }
+            rowCount++;
+        }
+
+        private DataTable build() {
+            return new DataTable(
+                    IntBuffer.wrap(ids),
+                    IntBuffer.wrap(flags),
+                    IntBuffer.wrap(offsets),
+                    Arrays.stream(intColumns).map((column) -> IntBuffer.wrap(column, 0, rowCount).slice()).toArray(IntBuffer[]::new),
+                    Arrays.stream(doubleColumns).map((column) -> DoubleBuffer.wrap(column, 0, rowCount).slice()).toArray(DoubleBuffer[]::new)
+            );
+        }
+    }
+}
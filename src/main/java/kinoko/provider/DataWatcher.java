@@ -0,0 +1,74 @@
+package kinoko.provider;
+
+import kinoko.server.ServerConfig;
+import kinoko.server.node.ServerExecutor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically checks the YAML data directories for modifications, and reloads the corresponding data when a file is
+ * added, removed or modified, so that drops and shops can be changed without restarting the server.
+ */
+public final class DataWatcher {
+    private static final Logger log = LogManager.getLogger(DataWatcher.class);
+    private static final List<WatchedData> watchedData = new CopyOnWriteArrayList<>();
+    private static ScheduledFuture<?> watchSchedule;
+
+    public static void initialize() {
+        if (ServerConfig.DATA_RELOAD_INTERVAL <= 0) {
+            return;
+        }
+        watchSchedule = ServerExecutor.scheduleServiceWithFixedDelay(DataWatcher::check, ServerConfig.DATA_RELOAD_INTERVAL, ServerConfig.DATA_RELOAD_INTERVAL, TimeUnit.SECONDS);
+    }
+
+    public static void shutdown() {
+        if (watchSchedule != null) {
+            watchSchedule.cancel(true);
+        }
+    }
+
+    public static void watch(String name, Path directory) {
+        try {
+            watchedData.add(new WatchedData(name, directory, DataTable.computeFingerprint(directory)));
+        } catch (IOException e) {
+            log.error("Failed to watch {} data in {}", name, directory, e);
+        }
+    }
+
+    private static void check() {
+        for (WatchedData data : watchedData) {
+            try {
+                final long fingerprint = DataTable.computeFingerprint(data.directory);
+                if (fingerprint == data.fingerprint) {
+                    continue;
+                }
+                log.info("Detected modification of {} data", data.name);
+                ProviderReloader.reload(data.name);
+                // Only recorded after a successful reload, so that a failed reload (e.g. a partially saved file) is
+                // retried on the next check
+                data.fingerprint = fingerprint;
+            } catch (IOException | RuntimeException | ProviderError e) {
+                log.error("Failed to reload {} data", data.name, e);
+            }
+        }
+    }
+
+    private static final class WatchedData {
+        private final String name;
+        private final Path directory;
+        private long fingerprint;
+
+        private WatchedData(String name, Path directory, long fingerprint) {
+            this.name = name;
+            this.directory = directory;
+            this.fingerprint = fingerprint;
+        }
+    }
+}
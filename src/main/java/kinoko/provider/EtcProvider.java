@@ -5,8 +5,8 @@ import kinoko.provider.quest.QuestInfo;
 import kinoko.provider.wz.*;
 import kinoko.provider.wz.property.WzListProperty;
 import kinoko.server.ServerConfig;
-import kinoko.server.ServerConstants;
 import kinoko.server.cashshop.Commodity;
+import kinoko.util.IntMap;
 
 import java.io.IOException;
 import java.nio.file.Path;
@@ -16,6 +16,7 @@ public final class EtcProvider implements WzProvider {
     public static final Path ETC_WZ = Path.of(ServerConfig.WZ_DIRECTORY, "Etc.wz");
     // Item info
     private static final List<SetItemInfo> setItemInfos = new ArrayList<>();
+    private static final IntMap<List<SetItemInfo>> itemSetItemInfos = new IntMap<>(); // item id -> set item infos
     // CashShop info
     private static final Map<Integer, Commodity> commodities = new HashMap<>(); // commodity id -> commodity
     private static final Map<Integer, List<Integer>> cashPackages = new HashMap<>(); // package id -> set<commodity id>
@@ -25,13 +26,14 @@ public final class EtcProvider implements WzProvider {
     private static final Map<Integer, Set<Integer>> makeCharInfo = new HashMap<>();
 
     public static void initialize() {
-        try (final WzReader reader = WzReader.build(ETC_WZ, new WzReaderConfig(WzConstants.WZ_GMS_IV, ServerConstants.GAME_VERSION))) {
+        try (final WzReader reader = WzReader.build(ETC_WZ, WzProvider.getReaderConfig())) {
             final WzPackage wzPackage = reader.readPackage();
             loadSetItemInfo(wzPackage);
             loadCashShop(wzPackage);
             loadTitleQuestIds(wzPackage);
             loadForbiddenNames(wzPackage);
             loadMakeCharInfo(wzPackage);
+            itemSetItemInfos.freeze();
         } catch (IOException | ProviderError e) {
             throw new IllegalArgumentException("Exception caught while loading Etc.wz", e);
         }
@@ -41,6 +43,11 @@ public final class EtcProvider implements WzProvider {
         return setItemInfos;
     }
 
+    public static List<SetItemInfo> getSetItemInfos(int itemId) {
+        final List<SetItemInfo> result = itemSetItemInfos.get(itemId);
+        return result != null ? result : List.of();
+    }
+
     public static Map<Integer, Commodity> getCommodities() {
         return commodities;
     }
@@ -69,7 +76,16 @@ public final class EtcProvider implements WzProvider {
             if (!(entry.getValue() instanceof WzListProperty setItemProp)) {
                 throw new ProviderError("Could not resolve set item info prop");
             }
-            setItemInfos.add(SetItemInfo.from(setItemProp));
+            final SetItemInfo setItemInfo = SetItemInfo.from(setItemProp);
+            setItemInfos.add(setItemInfo);
+            for (int itemId : setItemInfo.getItems()) {
+                List<SetItemInfo> itemSets = itemSetItemInfos.get(itemId);
+                if (itemSets == null) {
+                    itemSets = new ArrayList<>(1);
+                    itemSetItemInfos.put(itemId, itemSets);
+                }
+                itemSets.add(setItemInfo);
+            }
         }
     }
 
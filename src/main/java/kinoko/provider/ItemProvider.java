@@ -4,7 +4,7 @@ import kinoko.provider.item.*;
 import kinoko.provider.wz.*;
 import kinoko.provider.wz.property.WzListProperty;
 import kinoko.server.ServerConfig;
-import kinoko.server.ServerConstants;
+import kinoko.util.IntMap;
 import kinoko.util.Util;
 import kinoko.world.item.BodyPart;
 import kinoko.world.item.ItemConstants;
@@ -19,44 +19,60 @@ public final class ItemProvider implements WzProvider {
     public static final Path ITEM_WZ = Path.of(ServerConfig.WZ_DIRECTORY, "Item.wz");
     public static final List<String> EQUIP_TYPES = List.of("Accessory", "Cap", "Cape", "Coat", "Dragon", "Face", "Glove", "Hair", "Longcoat", "Mechanic", "Pants", "PetEquip", "Ring", "Shield", "Shoes", "TamingMob", "Weapon");
     public static final List<String> ITEM_TYPES = List.of("Consume", "Install", "Etc", "Cash");
-    private static final Map<Integer, ItemInfo> itemInfos = new HashMap<>();
-    private static final Map<Integer, ItemOptionInfo> itemOptionInfos = new HashMap<>(); // item option id -> item option info
-    private static final Map<Integer, Set<Integer>> petEquips = new HashMap<>(); // petEquipId -> set<petTemplateId>
-    private static final Map<Integer, Map<Integer, PetInteraction>> petActions = new HashMap<>(); // petTemplateId -> (action -> PetInteraction)
-    private static final Map<Integer, String> specialItemNames = new HashMap<>();
+    private static volatile ItemData itemData = new ItemData();
 
     public static void initialize() {
+        // Data is built into a new instance and published once complete, so that it can be reloaded at runtime
+        final ItemData data = new ItemData();
         // Character.wz
-        try (final WzReader reader = WzReader.build(CHARACTER_WZ, new WzReaderConfig(WzConstants.WZ_GMS_IV, ServerConstants.GAME_VERSION))) {
+        try (final WzReader reader = WzReader.build(CHARACTER_WZ, WzProvider.getReaderConfig())) {
             final WzPackage wzPackage = reader.readPackage();
-            loadEquipInfos(wzPackage);
+            loadEquipInfos(data, wzPackage);
         } catch (IOException | ProviderError e) {
             throw new IllegalArgumentException("Exception caught while loading Character.wz", e);
         }
         // Item.wz
-        try (final WzReader reader = WzReader.build(ITEM_WZ, new WzReaderConfig(WzConstants.WZ_GMS_IV, ServerConstants.GAME_VERSION))) {
+        try (final WzReader reader = WzReader.build(ITEM_WZ, WzProvider.getReaderConfig())) {
             final WzPackage wzPackage = reader.readPackage();
-            loadItemInfos(wzPackage);
-            loadItemOptionInfos(wzPackage);
-            loadItemNames(wzPackage);
+            loadItemInfos(data, wzPackage);
+            loadItemOptionInfos(data, wzPackage);
+            loadItemNames(data, wzPackage);
         } catch (IOException | ProviderError e) {
             throw new IllegalArgumentException("Exception caught while loading Item.wz", e);
         }
+        data.itemInfos.freeze();
+        itemData = data;
+    }
+
+    /**
+     * Replaces the item data with the provided items and item options instead of loading the WZ files, used by tests.
+     */
+    static void initialize(Collection<ItemInfo> itemInfos, Collection<ItemOptionInfo> itemOptionInfos) {
+        final ItemData data = new ItemData();
+        for (ItemInfo itemInfo : itemInfos) {
+            data.itemInfos.put(itemInfo.getItemId(), itemInfo);
+        }
+        for (ItemOptionInfo itemOptionInfo : itemOptionInfos) {
+            data.itemOptionInfos.put(itemOptionInfo.getItemOptionId(), itemOptionInfo);
+        }
+        data.itemInfos.freeze();
+        itemData = data;
     }
 
     public static List<ItemInfo> getItemInfos() {
-        return itemInfos.values().stream().toList();
+        return itemData.itemInfos.values().stream().toList();
     }
 
     public static Optional<ItemInfo> getItemInfo(int itemId) {
-        return Optional.ofNullable(itemInfos.get(itemId));
+        return Optional.ofNullable(itemData.itemInfos.get(itemId));
     }
 
     public static Optional<ItemOptionLevelData> getItemOptionInfo(int itemOptionId, int optionLevel) {
-        if (!itemOptionInfos.containsKey(itemOptionId)) {
+        final ItemOptionInfo itemOptionInfo = itemData.itemOptionInfos.get(itemOptionId);
+        if (itemOptionInfo == null) {
             return Optional.empty();
         }
-        return itemOptionInfos.get(itemOptionId).getLevelData(optionLevel);
+        return itemOptionInfo.getLevelData(optionLevel);
     }
 
     public static List<ItemOptionInfo> getPossibleItemOptions(ItemInfo itemInfo, ItemGrade itemGrade) {
@@ -67,7 +83,7 @@ public final class ItemProvider implements WzProvider {
         final BodyPart bodyPart = bodyPartResult.get();
         final int reqLevel = itemInfo.getReqLevel();
         final List<ItemOptionInfo> possibleItemOptions = new ArrayList<>();
-        for (ItemOptionInfo itemOptionInfo : itemOptionInfos.values()) {
+        for (ItemOptionInfo itemOptionInfo : itemData.itemOptionInfos.values()) {
             // Skip special options
             if (ItemOption.isSpecialOption(itemOptionInfo.getItemOptionId())) {
                 continue;
@@ -81,18 +97,18 @@ public final class ItemProvider implements WzProvider {
     }
 
     public static boolean isPetEquipSuitable(int itemId, int templateId) {
-        return petEquips.getOrDefault(itemId, Set.of()).contains(templateId);
+        return itemData.petEquips.getOrDefault(itemId, Set.of()).contains(templateId);
     }
 
     public static Optional<PetInteraction> getPetInteraction(int templateId, int action) {
-        return Optional.ofNullable(petActions.getOrDefault(templateId, Map.of()).get(action));
+        return Optional.ofNullable(itemData.petActions.getOrDefault(templateId, Map.of()).get(action));
     }
 
     public static Optional<String> getSpecialItemName(int itemId) {
-        return Optional.ofNullable(specialItemNames.get(itemId));
+        return Optional.ofNullable(itemData.specialItemNames.get(itemId));
     }
 
-    private static void loadEquipInfos(WzPackage source) throws ProviderError, IOException {
+    private static void loadEquipInfos(ItemData data, WzPackage source) throws ProviderError, IOException {
         for (String directoryName : EQUIP_TYPES) {
             final WzDirectory directory = source.getDirectory().getDirectories().get(directoryName);
             if (directory == null) {
@@ -103,7 +119,7 @@ public final class ItemProvider implements WzProvider {
                 if (!(entry.getValue().getProperty() instanceof WzListProperty itemProp)) {
                     throw new ProviderError("Failed to resolve item property");
                 }
-                itemInfos.put(itemId, ItemInfo.from(itemId, itemProp));
+                data.itemInfos.put(itemId, ItemInfo.from(itemId, itemProp));
                 // Pet equips
                 if (!ItemConstants.isPetEquipItem(itemId)) {
                     continue;
@@ -117,13 +133,13 @@ public final class ItemProvider implements WzProvider {
                     suitablePets.add(petTemplateId);
                 }
                 if (!suitablePets.isEmpty()) {
-                    petEquips.put(itemId, Collections.unmodifiableSet(suitablePets));
+                    data.petEquips.put(itemId, Collections.unmodifiableSet(suitablePets));
                 }
             }
         }
     }
 
-    private static void loadItemInfos(WzPackage source) throws ProviderError, IOException {
+    private static void loadItemInfos(ItemData data, WzPackage source) throws ProviderError, IOException {
         for (String directoryName : ITEM_TYPES) {
             final WzDirectory directory = source.getDirectory().getDirectories().get(directoryName);
             if (directory == null) {
@@ -135,7 +151,7 @@ public final class ItemProvider implements WzProvider {
                     if (!(entry.getValue() instanceof WzListProperty itemProp)) {
                         throw new ProviderError("Failed to resolve item property");
                     }
-                    itemInfos.put(itemId, ItemInfo.from(itemId, itemProp));
+                    data.itemInfos.put(itemId, ItemInfo.from(itemId, itemProp));
                 }
             }
         }
@@ -144,7 +160,7 @@ public final class ItemProvider implements WzProvider {
         }
         for (var imageEntry : petDirectory.getImages().entrySet()) {
             final int itemId = Integer.parseInt(imageEntry.getKey().replace(".img", ""));
-            itemInfos.put(itemId, ItemInfo.from(itemId, imageEntry.getValue().getProperty()));
+            data.itemInfos.put(itemId, ItemInfo.from(itemId, imageEntry.getValue().getProperty()));
             // Pet interactions
             if (!(imageEntry.getValue().getProperty().get("interact") instanceof WzListProperty interactList)) {
                 continue;
@@ -158,11 +174,11 @@ public final class ItemProvider implements WzProvider {
                 final PetInteraction interaction = PetInteraction.from(interactProp);
                 actions.put(action, interaction);
             }
-            petActions.put(itemId, Collections.unmodifiableMap(actions));
+            data.petActions.put(itemId, Collections.unmodifiableMap(actions));
         }
     }
 
-    private static void loadItemOptionInfos(WzPackage source) throws ProviderError {
+    private static void loadItemOptionInfos(ItemData data, WzPackage source) throws ProviderError {
         if (!(source.getDirectory().getImages().get("ItemOption.img") instanceof WzImage itemOptionImage)) {
             throw new ProviderError("Could not resolve Item.wz/ItemOption.img");
         }
@@ -171,24 +187,32 @@ public final class ItemProvider implements WzProvider {
             if (!(entry.getValue() instanceof WzListProperty itemOptionProp)) {
                 throw new ProviderError("Failed to resolve item option prop");
             }
-            itemOptionInfos.put(itemOptionId, ItemOptionInfo.from(itemOptionId, itemOptionProp));
+            data.itemOptionInfos.put(itemOptionId, ItemOptionInfo.from(itemOptionId, itemOptionProp));
         }
     }
 
-    private static void loadItemNames(WzPackage source) throws ProviderError {
+    private static void loadItemNames(ItemData data, WzPackage source) throws ProviderError {
         final WzDirectory special = source.getDirectory().getDirectories().get("Special");
-        loadItemNames(special.getImages().get("0910.img"));
-        loadItemNames(special.getImages().get("0911.img"));
+        loadItemNames(data, special.getImages().get("0910.img"));
+        loadItemNames(data, special.getImages().get("0911.img"));
     }
 
-    private static void loadItemNames(WzImage image) throws ProviderError {
+    private static void loadItemNames(ItemData data, WzImage image) throws ProviderError {
         for (var entry : image.getProperty().getItems().entrySet()) {
             final int itemId = Integer.parseInt(entry.getKey());
             if (!(entry.getValue() instanceof WzListProperty itemNameProp)) {
                 throw new ProviderError("Failed to resolve item name prop");
             }
             final String itemName = WzProvider.getString(itemNameProp.get("name"));
-            specialItemNames.put(itemId, itemName);
+            data.specialItemNames.put(itemId, itemName);
         }
     }
+
+    private static final class ItemData {
+        private final IntMap<ItemInfo> itemInfos = new IntMap<>();
+        private final Map<Integer, ItemOptionInfo> itemOptionInfos = new HashMap<>(); // item option id -> item option info
+        private final Map<Integer, Set<Integer>> petEquips = new HashMap<>(); // petEquipId -> set<petTemplateId>
+        private final Map<Integer, Map<Integer, PetInteraction>> petActions = new HashMap<>(); // petTemplateId -> (action -> PetInteraction)
+        private final Map<Integer, String> specialItemNames = new HashMap<>();
+    }
 }
@@ -4,8 +4,8 @@ import kinoko.provider.map.*;
 import kinoko.provider.wz.*;
 import kinoko.provider.wz.property.WzListProperty;
 import kinoko.server.ServerConfig;
-import kinoko.server.ServerConstants;
 import kinoko.util.Crc32;
+import kinoko.util.IntMap;
 import kinoko.util.Rect;
 import kinoko.util.Tuple;
 import kinoko.world.GameConstants;
@@ -16,17 +16,18 @@ import java.util.*;
 
 public final class MapProvider implements WzProvider {
     public static final Path MAP_WZ = Path.of(ServerConfig.WZ_DIRECTORY, "Map.wz");
-    private static final Map<Integer, MapInfo> mapInfos = new HashMap<>();
+    private static final IntMap<MapInfo> mapInfos = new IntMap<>();
     private static final Map<Integer, Integer> mapLinks = new HashMap<>();
     private static final Map<Integer, Integer> areaCodes = new HashMap<>(); // key -> category
     private static int crcConstant;
 
     public static void initialize() {
-        try (final WzReader reader = WzReader.build(MAP_WZ, new WzReaderConfig(WzConstants.WZ_GMS_IV, ServerConstants.GAME_VERSION))) {
+        try (final WzReader reader = WzReader.build(MAP_WZ, WzProvider.getReaderConfig())) {
             final WzPackage wzPackage = reader.readPackage();
             loadPhysics(wzPackage);
             loadMapInfos(wzPackage);
             loadAreaCodes(wzPackage);
+            mapInfos.freeze();
         } catch (IOException | ProviderError e) {
             throw new IllegalArgumentException("Exception caught while loading Map.wz", e);
         }
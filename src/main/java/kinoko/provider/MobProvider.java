@@ -4,7 +4,7 @@ import kinoko.provider.mob.MobTemplate;
 import kinoko.provider.wz.*;
 import kinoko.provider.wz.property.WzListProperty;
 import kinoko.server.ServerConfig;
-import kinoko.server.ServerConstants;
+import kinoko.util.IntMap;
 import kinoko.util.Tuple;
 
 import java.io.IOException;
@@ -13,14 +13,15 @@ import java.util.*;
 
 public final class MobProvider implements WzProvider {
     public static final Path MOB_WZ = Path.of(ServerConfig.WZ_DIRECTORY, "Mob.wz");
-    private static final Map<Integer, MobTemplate> mobTemplates = new HashMap<>();
+    private static final IntMap<MobTemplate> mobTemplates = new IntMap<>();
     private static final Map<Integer, Set<Integer>> questCountGroups = new HashMap<>();
 
     public static void initialize() {
-        try (final WzReader reader = WzReader.build(MOB_WZ, new WzReaderConfig(WzConstants.WZ_GMS_IV, ServerConstants.GAME_VERSION))) {
+        try (final WzReader reader = WzReader.build(MOB_WZ, WzProvider.getReaderConfig())) {
             final WzPackage wzPackage = reader.readPackage();
             loadMobTemplates(wzPackage);
             loadQuestCountGroups(wzPackage);
+            mobTemplates.freeze();
         } catch (IOException | ProviderError e) {
             throw new IllegalArgumentException("Exception caught while loading Mob.wz", e);
         }
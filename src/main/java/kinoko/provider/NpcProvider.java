@@ -2,13 +2,11 @@ package kinoko.provider;
 
 import kinoko.provider.npc.NpcImitateData;
 import kinoko.provider.npc.NpcTemplate;
-import kinoko.provider.wz.WzConstants;
 import kinoko.provider.wz.WzPackage;
 import kinoko.provider.wz.WzReader;
-import kinoko.provider.wz.WzReaderConfig;
 import kinoko.provider.wz.property.WzListProperty;
 import kinoko.server.ServerConfig;
-import kinoko.server.ServerConstants;
+import kinoko.util.IntMap;
 import kinoko.util.Tuple;
 
 import java.io.IOException;
@@ -20,15 +18,16 @@ import java.util.Optional;
 
 public final class NpcProvider implements WzProvider {
     public static final Path NPC_WZ = Path.of(ServerConfig.WZ_DIRECTORY, "Npc.wz");
-    private static final Map<Integer, NpcTemplate> npcTemplates = new HashMap<>();
+    private static final IntMap<NpcTemplate> npcTemplates = new IntMap<>();
     private static final Map<Integer, NpcImitateData> npcImitateData = Map.of(
             9901000, NpcImitateData.NPC_9901000 // TODO move to separate provider, load from database?
     );
 
     public static void initialize() {
-        try (final WzReader reader = WzReader.build(NPC_WZ, new WzReaderConfig(WzConstants.WZ_GMS_IV, ServerConstants.GAME_VERSION))) {
+        try (final WzReader reader = WzReader.build(NPC_WZ, WzProvider.getReaderConfig())) {
             final WzPackage wzPackage = reader.readPackage();
             loadNpcTemplates(wzPackage);
+            npcTemplates.freeze();
         } catch (IOException | ProviderError e) {
             throw new IllegalArgumentException("Exception caught while loading Npc.wz", e);
         }
@@ -0,0 +1,94 @@
+package kinoko.provider;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reloads provider data at runtime. Reloadable providers build their data into new instances and publish them with a
+ * single volatile write, so readers on the game executors keep using the previous data until the reload completes.
+ * Reloads of the same provider are serialized, and the timing of each reload is recorded.
+ */
+public final class ProviderReloader {
+    private static final Logger log = LogManager.getLogger(ProviderReloader.class);
+    private static final Map<String, ReloadTarget> targets = new ConcurrentHashMap<>();
+
+    public static void register(String name, Runnable initializer) {
+        targets.put(name, new ReloadTarget(name, initializer));
+    }
+
+    public static List<String> getNames() {
+        return targets.keySet().stream().sorted().toList();
+    }
+
+    public static Optional<ReloadTarget> getTarget(String name) {
+        return Optional.ofNullable(targets.get(name));
+    }
+
+    /**
+     * Reloads the provider data on the calling thread.
+     *
+     * @return the time taken to reload the data in milliseconds
+     */
+    public static long reload(String name) throws ProviderError {
+        final ReloadTarget target = targets.get(name);
+        if (target == null) {
+            throw new ProviderError("Unknown reload target : %s", name);
+        }
+        return target.reload();
+    }
+
+    public static final class ReloadTarget {
+        private final String name;
+        private final Runnable initializer;
+        private volatile int reloadCount;
+        private volatile int failureCount;
+        private volatile long lastDuration;
+        private volatile Instant lastReloadTime;
+
+        private ReloadTarget(String name, Runnable initializer) {
+            this.name = name;
+            this.initializer = initializer;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getReloadCount() {
+            return reloadCount;
+        }
+
+        public int getFailureCount() {
+            return failureCount;
+        }
+
+        public long getLastDuration() {
+            return lastDuration;
+        }
+
+        public Optional<Instant> getLastReloadTime() {
+            return Optional.ofNullable(lastReloadTime);
+        }
+
+        private synchronized long reload() {
+            final long start = System.nanoTime();
+            try {
+                initializer.run();
+            } catch (RuntimeException | Error e) {
+                failureCount++;
+                log.error("Failed to reload {}", name, e);
+                throw e;
+            }
+            final long duration = (System.nanoTime() - start) / 1_000_000;
+            reloadCount++;
+            lastDuration = duration;
+            lastReloadTime = Instant.now();
+            log.info("Reloaded {} in {} milliseconds", name, duration);
+            return duration;
+        }
+    }
+}
@@ -1,40 +1,89 @@
 package kinoko.provider;
 
 import kinoko.provider.quest.QuestInfo;
+import kinoko.provider.quest.QuestMobData;
+import kinoko.provider.quest.check.QuestMobCheck;
 import kinoko.provider.wz.*;
 import kinoko.provider.wz.property.WzListProperty;
 import kinoko.server.ServerConfig;
-import kinoko.server.ServerConstants;
+import kinoko.util.IntMap;
 
 import java.io.IOException;
 import java.nio.file.Path;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.util.*;
 
 public final class QuestProvider implements WzProvider {
     public static final Path QUEST_WZ = Path.of(ServerConfig.WZ_DIRECTORY, "Quest.wz");
-    private static final Map<Integer, QuestInfo> questInfos = new HashMap<>();
+    private static volatile QuestData questData = new QuestData();
 
     public static void initialize() {
-        try (final WzReader reader = WzReader.build(QUEST_WZ, new WzReaderConfig(WzConstants.WZ_GMS_IV, ServerConstants.GAME_VERSION))) {
+        final QuestData data = new QuestData();
+        try (final WzReader reader = WzReader.build(QUEST_WZ, WzProvider.getReaderConfig())) {
             final WzPackage wzPackage = reader.readPackage();
-            loadQuestInfos(wzPackage);
+            loadQuestInfos(data, wzPackage);
         } catch (IOException | ProviderError e) {
             throw new IllegalArgumentException("Exception caught while loading Quest.wz", e);
         }
+        publish(data);
+    }
+
+    /**
+     * Replaces the quest data with the provided quests instead of loading Quest.wz, used by tests.
+     */
+    static void initialize(Collection<QuestInfo> questInfos) {
+        final QuestData data = new QuestData();
+        for (QuestInfo questInfo : questInfos) {
+            data.questInfos.put(questInfo.getQuestId(), questInfo);
+        }
+        publish(data);
     }
 
     public static List<QuestInfo> getQuestInfos() {
-        return questInfos.values().stream().toList();
+        return questData.questInfos.values().stream().toList();
     }
 
     public static Optional<QuestInfo> getQuestInfo(int questId) {
-        return Optional.ofNullable(questInfos.get(questId));
+        return Optional.ofNullable(questData.questInfos.get(questId));
+    }
+
+    public static boolean hasMobRequirement(int questId) {
+        return questData.mobQuests.contains(questId);
+    }
+
+    public static List<Integer> getQuestIdsByMob(int mobId) {
+        final List<Integer> questIds = questData.mobQuestIds.get(mobId);
+        return questIds != null ? questIds : List.of();
+    }
+
+    private static void publish(QuestData data) {
+        loadMobQuestIds(data);
+        data.questInfos.freeze();
+        data.mobQuestIds.freeze();
+        questData = data;
     }
 
-    private static void loadQuestInfos(WzPackage source) throws ProviderError {
+    private static void loadMobQuestIds(QuestData data) {
+        final Map<Integer, Set<Integer>> questIdsByMob = new HashMap<>();
+        for (QuestInfo questInfo : data.questInfos.values()) {
+            final Optional<QuestMobCheck> mobCheckResult = questInfo.getMobCheck();
+            if (mobCheckResult.isEmpty()) {
+                continue;
+            }
+            data.mobQuests.add(questInfo.getQuestId());
+            for (QuestMobData mobData : mobCheckResult.get().getMobs()) {
+                // Index every mob that matches the requirement, including the quest count group
+                questIdsByMob.computeIfAbsent(mobData.getMobId(), (key) -> new TreeSet<>()).add(questInfo.getQuestId());
+                for (int mobId : MobProvider.getQuestCountGroup(mobData.getMobId())) {
+                    questIdsByMob.computeIfAbsent(mobId, (key) -> new TreeSet<>()).add(questInfo.getQuestId());
+                }
+            }
+        }
+        for (var entry : questIdsByMob.entrySet()) {
+            data.mobQuestIds.put(entry.getKey(), List.copyOf(entry.getValue()));
+        }
+    }
+
+    private static void loadQuestInfos(QuestData data, WzPackage source) throws ProviderError {
         final WzImage infoImage = source.getDirectory().getImages().get("QuestInfo.img");
         final WzImage actImage = source.getDirectory().getImages().get("Act.img");
         final WzImage checkImage = source.getDirectory().getImages().get("Check.img");
@@ -49,7 +98,13 @@ public final class QuestProvider implements WzProvider {
                     actImage.getProperty().get(entry.getKey()),
                     checkImage.getProperty().get(entry.getKey())
             );
-            questInfos.put(questId, questInfo);
+            data.questInfos.put(questId, questInfo);
         }
     }
+
+    private static final class QuestData {
+        private final IntMap<QuestInfo> questInfos = new IntMap<>();
+        private final IntMap<List<Integer>> mobQuestIds = new IntMap<>(); // mob id -> quest ids with mob requirement
+        private final Set<Integer> mobQuests = new HashSet<>();
+    }
 }
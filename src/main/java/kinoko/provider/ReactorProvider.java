@@ -1,13 +1,11 @@
 package kinoko.provider;
 
 import kinoko.provider.reactor.ReactorTemplate;
-import kinoko.provider.wz.WzConstants;
 import kinoko.provider.wz.WzPackage;
 import kinoko.provider.wz.WzReader;
-import kinoko.provider.wz.WzReaderConfig;
 import kinoko.provider.wz.property.WzListProperty;
 import kinoko.server.ServerConfig;
-import kinoko.server.ServerConstants;
+import kinoko.util.IntMap;
 import kinoko.util.Triple;
 import kinoko.util.Tuple;
 
@@ -20,12 +18,13 @@ import java.util.Optional;
 
 public final class ReactorProvider implements WzProvider {
     public static final Path REACTOR_WZ = Path.of(ServerConfig.WZ_DIRECTORY, "Reactor.wz");
-    private static final Map<Integer, ReactorTemplate> reactorTemplates = new HashMap<>();
+    private static final IntMap<ReactorTemplate> reactorTemplates = new IntMap<>();
 
     public static void initialize() {
-        try (final WzReader reader = WzReader.build(REACTOR_WZ, new WzReaderConfig(WzConstants.WZ_GMS_IV, ServerConstants.GAME_VERSION))) {
+        try (final WzReader reader = WzReader.build(REACTOR_WZ, WzProvider.getReaderConfig())) {
             final WzPackage wzPackage = reader.readPackage();
             loadReactorTemplates(wzPackage);
+            reactorTemplates.freeze();
         } catch (IOException | ProviderError e) {
             throw new IllegalArgumentException("Exception caught while loading Reactor.wz", e);
         }
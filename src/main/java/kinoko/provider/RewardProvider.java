@@ -1,52 +1,44 @@
 package kinoko.provider;
 
 import kinoko.provider.reward.Reward;
+import kinoko.provider.reward.RewardTable;
 import kinoko.server.ServerConfig;
-import org.snakeyaml.engine.v2.api.Load;
-import org.snakeyaml.engine.v2.api.LoadSettings;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.*;
-import java.util.stream.Stream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 public final class RewardProvider implements DataProvider {
     public static final Path REWARD_DATA = Path.of(ServerConfig.DATA_DIRECTORY, "reward");
-    private static final Map<Integer, List<Reward>> mobRewards = new HashMap<>(); // mobId -> rewards
+    private static final int ITEM_ID = 0;
+    private static final int MIN = 1;
+    private static final int MAX = 2;
+    private static final int QUEST_ID = 3;
+    private static final int PROB = 0;
+    private static volatile MobRewards mobRewards = new MobRewards(null);
 
     public static void initialize() {
-        final Load yamlLoader = new Load(LoadSettings.builder().build());
-        try (final Stream<Path> paths = Files.list(REWARD_DATA)) {
-            for (Path path : paths.toList()) {
-                final String fileName = path.getFileName().toString();
-                if (!fileName.endsWith(".yaml")) {
-                    continue;
-                }
-                final int mobId = Integer.parseInt(fileName.replace(".yaml", ""));
-                try (final InputStream is = Files.newInputStream(path)) {
-                    loadMobRewards(mobId, yamlLoader.loadFromInputStream(is));
-                }
-            }
-        } catch (IOException e) {
-            throw new IllegalArgumentException("Exception caught while loading Reward Data", e);
-        }
+        mobRewards = new MobRewards(DataTable.load("reward", REWARD_DATA, 4, 1, RewardProvider::loadMobRewards));
     }
 
     public static List<Reward> getMobRewards(int mobId) {
-        return mobRewards.getOrDefault(mobId, List.of());
+        return getRewardTable(mobId).getRewards();
+    }
+
+    public static RewardTable getRewardTable(int mobId) {
+        return mobRewards.getRewardTable(mobId);
     }
 
-    private static void loadMobRewards(int mobId, Object yamlObject) throws ProviderError {
+    private static int loadMobRewards(int mobId, Object yamlObject, DataTable.Builder builder) throws ProviderError {
         if (!(yamlObject instanceof Map<?, ?> rewardData)) {
             throw new ProviderError("Could not resolve reward data for mob ID : %d", mobId);
         }
         if (!(rewardData.get("rewards") instanceof List<?> rewardList)) {
             // No Rewards
-            return;
+            return 0;
         }
-        final List<Reward> rewards = new ArrayList<>();
         for (Object rewardObject : rewardList) {
             if (!(rewardObject instanceof List<?> rewardInfo)) {
                 throw new ProviderError("Could not resolve reward info for npc ID : %d", mobId);
@@ -56,8 +48,46 @@ public final class RewardProvider implements DataProvider {
             final int max = ((Number) rewardInfo.get(2)).intValue();
             final double prob = ((Number) rewardInfo.get(3)).doubleValue();
             final int questId = rewardInfo.size() > 4 ? ((Number) rewardInfo.get(4)).intValue() : 0;
-            rewards.add(Reward.item(itemId, min, max, prob, questId));
+            builder.addRow(new int[]{ itemId, min, max, questId }, prob);
+        }
+        return 0;
+    }
+
+    /**
+     * Reward tables read from the memory-mapped data table. The {@link RewardTable} for a mob is only built the first
+     * time the mob drops or is stolen from, so the rewards of mobs that are never killed stay in the mapping.
+     */
+    private static final class MobRewards {
+        private final DataTable table;
+        private final AtomicReferenceArray<RewardTable> rewardTables;
+
+        private MobRewards(DataTable table) {
+            this.table = table;
+            this.rewardTables = new AtomicReferenceArray<>(table != null ? table.getIdCount() : 0);
+        }
+
+        private RewardTable getRewardTable(int mobId) {
+            final int index = table != null ? table.indexOf(mobId) : -1;
+            if (index < 0) {
+                return RewardTable.EMPTY;
+            }
+            final RewardTable existing = rewardTables.get(index);
+            if (existing != null) {
+                return existing;
+            }
+            final List<Reward> rewards = new ArrayList<>(table.getRowEnd(index) - table.getRowStart(index));
+            for (int row = table.getRowStart(index); row < table.getRowEnd(index); row++) {
+                rewards.add(Reward.item(
+                        table.getInt(ITEM_ID, row),
+                        table.getInt(MIN, row),
+                        table.getInt(MAX, row),
+                        table.getDouble(PROB, row),
+                        table.getInt(QUEST_ID, row)
+                ));
+            }
+            final RewardTable rewardTable = rewards.isEmpty() ? RewardTable.EMPTY : RewardTable.from(rewards);
+            // Tables built concurrently for the same mob are identical, keep the first one
+            return rewardTables.compareAndSet(index, null, rewardTable) ? rewardTable : rewardTables.get(index);
         }
-        mobRewards.put(mobId, Collections.unmodifiableList(rewards));
     }
 }
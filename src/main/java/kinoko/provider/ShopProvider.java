@@ -3,37 +3,48 @@ package kinoko.provider;
 import kinoko.provider.item.ItemInfo;
 import kinoko.server.ServerConfig;
 import kinoko.server.dialog.shop.ShopItem;
-import org.snakeyaml.engine.v2.api.Load;
-import org.snakeyaml.engine.v2.api.LoadSettings;
+import kinoko.util.IntMap;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.Stream;
 
 public final class ShopProvider implements DataProvider {
     public static final Path SHOP_DATA = Path.of(ServerConfig.DATA_DIRECTORY, "shop");
-    private static final Map<Integer, List<ShopItem>> npcShopItems = new HashMap<>(); // npcId -> shop items
-    private static final List<ShopItem> rechargeableItems = initializeRechargeableItems();
+    private static final int ITEM_ID = 0;
+    private static final int PRICE = 1;
+    private static final int QUANTITY = 2;
+    private static final int MAX_PER_SLOT = 3;
+    private static final int FLAG_RECHARGE = 1;
+    private static volatile IntMap<List<ShopItem>> npcShopItems = new IntMap<>(); // npcId -> shop items
 
     public static void initialize() {
-        final Load yamlLoader = new Load(LoadSettings.builder().build());
-        try (final Stream<Path> paths = Files.list(SHOP_DATA)) {
-            for (Path path : paths.toList()) {
-                final String fileName = path.getFileName().toString();
-                if (!fileName.endsWith(".yaml")) {
-                    continue;
+        // Resolved on each load, so that the slot max and unit price follow reloads of the item data
+        final List<ShopItem> rechargeableItems = initializeRechargeableItems();
+        final DataTable table = DataTable.load("shop", SHOP_DATA, 4, 0, ShopProvider::loadNpcShopItems);
+        final IntMap<List<ShopItem>> shopItemMap = new IntMap<>(table.getIdCount());
+        for (int i = 0; i < table.getIdCount(); i++) {
+            final List<ShopItem> shopItems = new ArrayList<>();
+            for (int row = table.getRowStart(i); row < table.getRowEnd(i); row++) {
+                final int itemId = table.getInt(ITEM_ID, row);
+                double unitPrice = 0.0;
+                for (ShopItem si : rechargeableItems) {
+                    if (si.getItemId() == itemId) {
+                        unitPrice = si.getUnitPrice();
+                        break;
+                    }
                 }
-                final int npcId = Integer.parseInt(fileName.replace(".yaml", ""));
-                try (final InputStream is = Files.newInputStream(path)) {
-                    loadNpcShopItems(npcId, yamlLoader.loadFromInputStream(is));
+                shopItems.add(new ShopItem(itemId, table.getInt(PRICE, row), table.getInt(QUANTITY, row), table.getInt(MAX_PER_SLOT, row), 0, 0, unitPrice));
+            }
+            if ((table.getFlags(i) & FLAG_RECHARGE) != 0) {
+                for (ShopItem rechargeableItem : rechargeableItems) {
+                    if (shopItems.stream().noneMatch((existingItem) -> existingItem.getItemId() == rechargeableItem.getItemId())) {
+                        shopItems.add(rechargeableItem);
+                    }
                 }
             }
-        } catch (IOException e) {
-            throw new ProviderError("Exception caught while loading Shop Data", e);
+            shopItemMap.put(table.getId(i), Collections.unmodifiableList(shopItems));
         }
+        npcShopItems = shopItemMap.freeze();
     }
 
     public static boolean isShop(int templateId) {
@@ -41,20 +52,17 @@ public final class ShopProvider implements DataProvider {
     }
 
     public static List<ShopItem> getNpcShopItems(int templateId) {
-        if (!npcShopItems.containsKey(templateId)) {
-            return List.of();
-        }
-        return npcShopItems.get(templateId);
+        final List<ShopItem> shopItems = npcShopItems.get(templateId);
+        return shopItems != null ? shopItems : List.of();
     }
 
-    private static void loadNpcShopItems(int npcId, Object yamlObject) throws ProviderError {
+    private static int loadNpcShopItems(int npcId, Object yamlObject, DataTable.Builder builder) throws ProviderError {
         if (!(yamlObject instanceof Map<?, ?> shopData)) {
             throw new ProviderError("Could not resolve shop data for npc ID : %d", npcId);
         }
         if (!(shopData.get("items") instanceof List<?> itemList)) {
             throw new ProviderError("Could not resolve shop items for npc ID : %d", npcId);
         }
-        final List<ShopItem> shopItems = new ArrayList<>();
         for (Object itemObject : itemList) {
             if (!(itemObject instanceof List<?> itemInfo)) {
                 throw new ProviderError("Could not resolve shop item info for npc ID : %d", npcId);
@@ -63,24 +71,9 @@ public final class ShopProvider implements DataProvider {
             final int price = ((Number) itemInfo.get(1)).intValue();
             final int quantity = itemInfo.size() > 2 ? ((Number) itemInfo.get(2)).intValue() : 1;
             final int maxPerSlot = itemInfo.size() > 3 ? ((Number) itemInfo.get(3)).intValue() : 1;
-            double unitPrice = 0.0;
-            for (ShopItem si : rechargeableItems) {
-                if (si.getItemId() == itemId) {
-                    unitPrice = si.getUnitPrice();
-                    break;
-                }
-            }
-            shopItems.add(new ShopItem(itemId, price, quantity, maxPerSlot, 0, 0, unitPrice));
+            builder.addRow(new int[]{ itemId, price, quantity, maxPerSlot });
         }
-        if (shopData.containsKey("recharge") && shopData.get("recharge").equals(true)) {
-            for (ShopItem rechargeableItem : rechargeableItems) {
-                if (shopItems.stream().noneMatch((existingItem) -> existingItem.getItemId() == rechargeableItem.getItemId())) {
-                    shopItems.add(rechargeableItem);
-                }
-            }
-        }
-
-        npcShopItems.put(npcId, Collections.unmodifiableList(shopItems));
+        return Boolean.TRUE.equals(shopData.get("recharge")) ? FLAG_RECHARGE : 0;
     }
 
     private static List<ShopItem> initializeRechargeableItems() throws ProviderError {
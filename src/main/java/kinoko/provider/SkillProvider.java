@@ -4,13 +4,11 @@ import kinoko.provider.mob.MobSkillType;
 import kinoko.provider.skill.MorphInfo;
 import kinoko.provider.skill.SkillInfo;
 import kinoko.provider.skill.SummonInfo;
-import kinoko.provider.wz.WzConstants;
 import kinoko.provider.wz.WzPackage;
 import kinoko.provider.wz.WzReader;
-import kinoko.provider.wz.WzReaderConfig;
 import kinoko.provider.wz.property.WzListProperty;
 import kinoko.server.ServerConfig;
-import kinoko.server.ServerConstants;
+import kinoko.util.IntMap;
 import kinoko.world.job.Job;
 
 import java.io.IOException;
@@ -21,22 +19,24 @@ public final class SkillProvider implements WzProvider {
     public static final Path SKILL_WZ = Path.of(ServerConfig.WZ_DIRECTORY, "Skill.wz");
     public static final Path MORPH_WZ = Path.of(ServerConfig.WZ_DIRECTORY, "Morph.wz");
     private static final Map<Job, List<SkillInfo>> jobSkills = new EnumMap<>(Job.class);
-    private static final Map<Integer, SkillInfo> skillInfos = new HashMap<>();
-    private static final Map<Integer, SkillInfo> mobSkills = new HashMap<>();
+    private static final IntMap<SkillInfo> skillInfos = new IntMap<>();
+    private static final IntMap<SkillInfo> mobSkills = new IntMap<>();
     private static final Map<Integer, SummonInfo> mobSummons = new HashMap<>(); // skill level -> summon info
     private static final Map<Integer, MorphInfo> morphInfos = new HashMap<>();
 
     public static void initialize() {
         // Skill.wz
-        try (final WzReader reader = WzReader.build(SKILL_WZ, new WzReaderConfig(WzConstants.WZ_GMS_IV, ServerConstants.GAME_VERSION))) {
+        try (final WzReader reader = WzReader.build(SKILL_WZ, WzProvider.getReaderConfig())) {
             final WzPackage wzPackage = reader.readPackage();
             loadSkillInfos(wzPackage);
             loadMobSkills(wzPackage);
+            skillInfos.freeze();
+            mobSkills.freeze();
         } catch (IOException | ProviderError e) {
             throw new IllegalArgumentException("Exception caught while loading Skill.wz", e);
         }
         // Morph.wz
-        try (final WzReader reader = WzReader.build(MORPH_WZ, new WzReaderConfig(WzConstants.WZ_GMS_IV, ServerConstants.GAME_VERSION))) {
+        try (final WzReader reader = WzReader.build(MORPH_WZ, WzProvider.getReaderConfig())) {
             final WzPackage wzPackage = reader.readPackage();
             loadMorphInfos(wzPackage);
         } catch (IOException | ProviderError e) {
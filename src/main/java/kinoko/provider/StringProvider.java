@@ -4,31 +4,35 @@ import kinoko.provider.skill.SkillStringInfo;
 import kinoko.provider.wz.*;
 import kinoko.provider.wz.property.WzListProperty;
 import kinoko.server.ServerConfig;
-import kinoko.server.ServerConstants;
+import kinoko.util.IntMap;
 
 import java.io.IOException;
 import java.nio.file.Path;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public final class StringProvider implements WzProvider {
     public static final Path STRING_WZ = Path.of(ServerConfig.WZ_DIRECTORY, "String.wz");
     public static final List<String> EQUIP_TYPES = List.of("Accessory", "Cap", "Cape", "Coat", "Dragon", "Face", "Glove", "Hair", "Longcoat", "Mechanic", "Pants", "PetEquip", "Ring", "Shield", "Shoes", "Taming", "Weapon"); // TamingMob -> Taming compared to Item.wz
-    private static final Map<Integer, String> itemNames = new HashMap<>();
-    private static final Map<Integer, String> mapNames = new HashMap<>();
-    private static final Map<Integer, String> mobNames = new HashMap<>();
-    private static final Map<Integer, String> npcNames = new HashMap<>();
-    private static final Map<Integer, SkillStringInfo> skillStrings = new HashMap<>();
+    private static final IntMap<String> itemNames = new IntMap<>();
+    private static final IntMap<String> mapNames = new IntMap<>();
+    private static final IntMap<String> mobNames = new IntMap<>();
+    private static final IntMap<String> npcNames = new IntMap<>();
+    private static final IntMap<SkillStringInfo> skillStrings = new IntMap<>();
 
     public static void initialize() {
-        try (final WzReader reader = WzReader.build(STRING_WZ, new WzReaderConfig(WzConstants.WZ_GMS_IV, ServerConstants.GAME_VERSION))) {
+        try (final WzReader reader = WzReader.build(STRING_WZ, WzProvider.getReaderConfig())) {
             final WzPackage wzPackage = reader.readPackage();
             loadItemNames(wzPackage);
             loadMapNames(wzPackage);
             loadMobNames(wzPackage);
             loadNpcNames(wzPackage);
             loadSkillStrings(wzPackage);
+            itemNames.freeze();
+            mapNames.freeze();
+            mobNames.freeze();
+            npcNames.freeze();
+            skillStrings.freeze();
         } catch (IOException | ProviderError e) {
             throw new IllegalArgumentException("Exception caught while loading String.wz", e);
         }
@@ -1,10 +1,26 @@
 package kinoko.provider;
 
+import kinoko.provider.wz.WzConstants;
+import kinoko.provider.wz.WzReaderConfig;
 import kinoko.provider.wz.property.WzListProperty;
 import kinoko.provider.wz.property.WzVectorProperty;
+import kinoko.server.ServerConfig;
+import kinoko.server.ServerConstants;
 import kinoko.util.Rect;
 
+import java.nio.file.Path;
+
 public interface WzProvider {
+    static WzReaderConfig getReaderConfig() {
+        return new WzReaderConfig(
+                WzConstants.WZ_GMS_IV,
+                ServerConstants.GAME_VERSION,
+                ServerConfig.WZ_READ_MODE,
+                ServerConfig.WZ_IMAGE_CACHE_SIZE,
+                ServerConfig.SNAPSHOT_ENABLED ? Path.of(ServerConfig.SNAPSHOT_DIRECTORY) : null
+        );
+    }
+
     static int getInteger(Object object) {
         if (object instanceof Short value) {
             return value;
@@ -18,11 +18,22 @@ public final class ItemInfo {
     private final int itemId;
     private final Map<ItemInfoType, Object> itemInfos;
     private final Map<ItemSpecType, Object> itemSpecs;
+    // Integer values resolved at load, indexed by ordinal
+    private final int[] infoValues;
+    private final long[] infoFlags;
+    private final int[] specValues;
+    private final long[] specFlags;
 
     public ItemInfo(int itemId, Map<ItemInfoType, Object> itemInfos, Map<ItemSpecType, Object> itemSpecs) {
         this.itemId = itemId;
         this.itemInfos = itemInfos;
         this.itemSpecs = itemSpecs;
+        this.infoValues = new int[getTableSize(itemInfos)];
+        this.infoFlags = new long[(infoValues.length + 63) >>> 6];
+        this.specValues = new int[getTableSize(itemSpecs)];
+        this.specFlags = new long[(specValues.length + 63) >>> 6];
+        fillTable(itemInfos, infoValues, infoFlags);
+        fillTable(itemSpecs, specValues, specFlags);
     }
 
     public int getItemId() {
@@ -42,7 +53,7 @@ public final class ItemInfo {
     }
 
     public int getInfo(ItemInfoType infoType, int defaultValue) {
-        return WzProvider.getInteger(itemInfos.get(infoType), defaultValue);
+        return getTableValue(infoValues, infoFlags, infoType.ordinal(), defaultValue);
     }
 
     public int getSpec(ItemSpecType specType) {
@@ -50,7 +61,7 @@ public final class ItemInfo {
     }
 
     public int getSpec(ItemSpecType specType, int defaultValue) {
-        return WzProvider.getInteger(itemSpecs.get(specType), defaultValue);
+        return getTableValue(specValues, specFlags, specType.ordinal(), defaultValue);
     }
 
     public String getScript() {
@@ -172,6 +183,37 @@ public final class ItemInfo {
                 "spec=" + itemSpecs + ']';
     }
 
+    private static int getTableValue(int[] values, long[] flags, int ordinal, int defaultValue) {
+        if (ordinal >= values.length || (flags[ordinal >>> 6] & (1L << ordinal)) == 0) {
+            return defaultValue;
+        }
+        return values[ordinal];
+    }
+
+    private static int getTableSize(Map<? extends Enum<?>, Object> map) {
+        int size = 0;
+        for (Enum<?> key : map.keySet()) {
+            size = Math.max(size, key.ordinal() + 1);
+        }
+        return size;
+    }
+
+    private static void fillTable(Map<? extends Enum<?>, Object> map, int[] values, long[] flags) {
+        for (var entry : map.entrySet()) {
+            final Object value = entry.getValue();
+            if (!(value instanceof Number) && !(value instanceof String)) {
+                continue;
+            }
+            final int ordinal = entry.getKey().ordinal();
+            try {
+                values[ordinal] = WzProvider.getInteger(value);
+            } catch (NumberFormatException | ProviderError e) {
+                continue; // non-numeric value, e.g. script names
+            }
+            flags[ordinal >>> 6] |= 1L << ordinal;
+        }
+    }
+
     public static ItemInfo from(int itemId, WzListProperty itemProp) throws ProviderError {
         final Map<ItemInfoType, Object> info = new EnumMap<>(ItemInfoType.class);
         final Map<ItemSpecType, Object> spec = new EnumMap<>(ItemSpecType.class);
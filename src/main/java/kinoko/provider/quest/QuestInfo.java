@@ -88,6 +88,15 @@ public final class QuestInfo {
         return completeChecks;
     }
 
+    public Optional<QuestMobCheck> getMobCheck() {
+        for (QuestCheck check : getCompleteChecks()) {
+            if (check instanceof QuestMobCheck mobCheck) {
+                return Optional.of(mobCheck);
+            }
+        }
+        return Optional.empty();
+    }
+
     public boolean isAutoAlert() {
         return autoStart || autoComplete;
     }
@@ -218,13 +227,11 @@ public final class QuestInfo {
             return Optional.empty();
         }
         // Check if the quest is relevant for the mob
-        final Optional<QuestCheck> mobCheckResult = getCompleteChecks().stream()
-                .filter((check) -> check instanceof QuestMobCheck)
-                .findFirst();
+        final Optional<QuestMobCheck> mobCheckResult = getMobCheck();
         if (mobCheckResult.isEmpty()) {
             return Optional.empty();
         }
-        final QuestMobCheck mobCheck = (QuestMobCheck) mobCheckResult.get();
+        final QuestMobCheck mobCheck = mobCheckResult.get();
         if (mobCheck.getMobs().stream().noneMatch((mobData) -> mobData.isMatch(mobId))) {
             return Optional.empty();
         }
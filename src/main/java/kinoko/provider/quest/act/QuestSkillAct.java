@@ -40,7 +40,6 @@ public final class QuestSkillAct implements QuestAct {
             skillRecord.setSkillLevel(qsd.getSkillLevel());
             skillRecord.setMasterLevel(qsd.getMasterLevel());
             user.getSkillManager().addSkill(skillRecord);
-            user.updatePassiveSkillData();
             user.validateStat();
             user.write(WvsContext.changeSkillRecordResult(skillRecord, true));
         }
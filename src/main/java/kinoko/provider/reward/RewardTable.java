@@ -0,0 +1,154 @@
+package kinoko.provider.reward;
+
+import kinoko.util.Util;
+
+import java.util.*;
+
+/**
+ * Precomputed drop table for a mob. Rewards are independent rolls, and most tables only use a few distinct
+ * probabilities, so the rewards are grouped by probability and each group is sampled by skipping ahead a geometrically
+ * distributed number of entries. This takes one random number per group and per successful drop instead of one per
+ * reward. Weighted picks (steal) use an alias table built from the same probabilities.
+ */
+public final class RewardTable {
+    public static final RewardTable EMPTY = RewardTable.from(List.of());
+
+    private final List<Reward> rewards;
+    private final int[] groupIndices; // reward indices ordered by group
+    private final int[] groupStarts;
+    private final double[] groupProbs;
+    private final double[] aliasProbs;
+    private final int[] aliases;
+
+    private RewardTable(List<Reward> rewards, int[] groupIndices, int[] groupStarts, double[] groupProbs, double[] aliasProbs, int[] aliases) {
+        this.rewards = rewards;
+        this.groupIndices = groupIndices;
+        this.groupStarts = groupStarts;
+        this.groupProbs = groupProbs;
+        this.aliasProbs = aliasProbs;
+        this.aliases = aliases;
+    }
+
+    public List<Reward> getRewards() {
+        return rewards;
+    }
+
+    /**
+     * Rolls every reward in the table independently, with the reward probabilities scaled by the multiplier.
+     *
+     * @return the rewards that succeeded, in table order
+     */
+    public List<Reward> roll(double multiplier) {
+        final Random random = Util.getRandom();
+        int[] selected = null;
+        int count = 0;
+        for (int g = 0; g < groupProbs.length; g++) {
+            final double probability = groupProbs[g] * multiplier;
+            if (probability <= 0.0) {
+                continue;
+            }
+            final int start = groupStarts[g];
+            final int end = groupStarts[g + 1];
+            final double logFailure = Math.log1p(-Math.min(probability, 1.0));
+            int i = start - 1;
+            while (true) {
+                if (probability < 1.0) {
+                    // Number of failed rolls before the next success
+                    final double skip = Math.floor(Math.log(1.0 - random.nextDouble()) / logFailure);
+                    if (skip >= end - i - 1) {
+                        break;
+                    }
+                    i += (int) skip + 1;
+                } else if (++i >= end) {
+                    break;
+                }
+                if (selected == null) {
+                    selected = new int[rewards.size()];
+                }
+                selected[count++] = groupIndices[i];
+            }
+        }
+        if (count == 0) {
+            return List.of();
+        }
+        Arrays.sort(selected, 0, count);
+        final List<Reward> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(rewards.get(selected[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Picks a single reward, weighted by the reward probabilities.
+     */
+    public Optional<Reward> pick() {
+        if (rewards.isEmpty()) {
+            return Optional.empty();
+        }
+        final Random random = Util.getRandom();
+        final int i = random.nextInt(rewards.size());
+        return Optional.of(rewards.get(random.nextDouble() < aliasProbs[i] ? i : aliases[i]));
+    }
+
+    public static RewardTable from(List<Reward> rewards) {
+        final int size = rewards.size();
+        // Group reward indices by probability
+        final Map<Double, List<Integer>> groups = new TreeMap<>(Comparator.reverseOrder());
+        for (int i = 0; i < size; i++) {
+            groups.computeIfAbsent(rewards.get(i).getProb(), (key) -> new ArrayList<>()).add(i);
+        }
+        final int[] groupIndices = new int[size];
+        final int[] groupStarts = new int[groups.size() + 1];
+        final double[] groupProbs = new double[groups.size()];
+        int g = 0;
+        int offset = 0;
+        for (var entry : groups.entrySet()) {
+            groupStarts[g] = offset;
+            groupProbs[g] = entry.getKey();
+            for (int index : entry.getValue()) {
+                groupIndices[offset++] = index;
+            }
+            g++;
+        }
+        groupStarts[g] = offset;
+        // Build alias table (Vose)
+        final double[] aliasProbs = new double[size];
+        final int[] aliases = new int[size];
+        final double totalWeight = rewards.stream().mapToDouble((reward) -> Math.max(reward.getProb(), 0.0)).sum();
+        if (totalWeight <= 0.0) {
+            Arrays.fill(aliasProbs, 1.0);
+            return new RewardTable(List.copyOf(rewards), groupIndices, groupStarts, groupProbs, aliasProbs, aliases);
+        }
+        final double[] scaled = new double[size];
+        final Deque<Integer> small = new ArrayDeque<>();
+        final Deque<Integer> large = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            scaled[i] = Math.max(rewards.get(i).getProb(), 0.0) * size / totalWeight;
+            if (scaled[i] < 1.0) {
+                small.push(i);
+            } else {
+                large.push(i);
+            }
+        }
+        while (!small.isEmpty() && !large.isEmpty()) {
+            final int less = small.pop();
+            final int more = large.pop();
+            aliasProbs[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small.push(more);
+            } else {
+                large.push(more);
+            }
+        }
+        while (!large.isEmpty()) {
+            aliasProbs[large.pop()] = 1.0;
+        }
+        while (!small.isEmpty()) {
+            aliasProbs[small.pop()] = 1.0; // rounding error
+        }
+        return new RewardTable(List.copyOf(rewards), groupIndices, groupStarts, groupProbs, aliasProbs, aliases);
+    }
+}
@@ -4,7 +4,19 @@ import net.objecthunter.exp4j.Expression;
 import net.objecthunter.exp4j.ExpressionBuilder;
 import net.objecthunter.exp4j.function.Function;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Skill stat formula in terms of the skill level x, e.g. {@code 10+u(x/2)} where u and d are ceil and floor. Formulas
+ * are compiled into a tree of lambdas with the constant parts folded, following exp4j precedence and implicit
+ * multiplication rules. The compiled form is immutable, so it can be evaluated concurrently and shared between skills
+ * with identical formulas. Formulas using anything other than numbers, x, u, d, parentheses and the + - * / % ^
+ * operators fall back to exp4j.
+ */
 public final class SkillExpression {
+    private static final Map<String, SkillExpression> expressionCache = new ConcurrentHashMap<>();
+
     private static final Function ceil = new Function("u", 1) {
         @Override
         public double apply(double... doubles) {
@@ -19,21 +31,229 @@ public final class SkillExpression {
         }
     };
 
-    private final Expression expression;
+    private final Node node;
 
-    public SkillExpression(Expression expression) {
-        this.expression = expression;
+    private SkillExpression(Node node) {
+        this.node = node;
     }
 
     public int evaluate(int x) {
-        return (int) expression.setVariable("x", x).evaluate();
+        return (int) node.evaluate(x);
     }
 
     public static SkillExpression from(String string) {
+        return expressionCache.computeIfAbsent(string, SkillExpression::compile);
+    }
+
+    private static SkillExpression compile(String string) {
+        Node node;
+        try {
+            node = new Parser(string).parse();
+        } catch (IllegalArgumentException e) {
+            node = interpret(string);
+        }
+        return new SkillExpression(node);
+    }
+
+    private static Node interpret(String string) {
         final Expression expression = new ExpressionBuilder(string)
                 .functions(ceil, floor)
                 .variables("x")
                 .build();
-        return new SkillExpression(expression);
+        return (x) -> {
+            synchronized (expression) {
+                return expression.setVariable("x", x).evaluate();
+            }
+        };
+    }
+
+    // NODE METHODS ----------------------------------------------------------------------------------------------------
+
+    @FunctionalInterface
+    private interface Node {
+        double evaluate(double x);
+    }
+
+    private static final class Constant implements Node {
+        private final double value;
+
+        private Constant(double value) {
+            this.value = value;
+        }
+
+        @Override
+        public double evaluate(double x) {
+            return value;
+        }
+    }
+
+    private static Node unary(char operator, Node operand) {
+        final Node result = switch (operator) {
+            case '-' -> (x) -> -operand.evaluate(x);
+            case 'u' -> (x) -> Math.ceil(operand.evaluate(x));
+            case 'd' -> (x) -> Math.floor(operand.evaluate(x));
+            default -> operand;
+        };
+        return operand instanceof Constant ? new Constant(result.evaluate(0)) : result;
+    }
+
+    private static Node binary(char operator, Node left, Node right) {
+        final Node result = switch (operator) {
+            case '+' -> (x) -> left.evaluate(x) + right.evaluate(x);
+            case '-' -> (x) -> left.evaluate(x) - right.evaluate(x);
+            case '*' -> (x) -> left.evaluate(x) * right.evaluate(x);
+            case '/' -> (x) -> divide(left.evaluate(x), right.evaluate(x));
+            case '%' -> (x) -> left.evaluate(x) % right.evaluate(x);
+            case '^' -> (x) -> Math.pow(left.evaluate(x), right.evaluate(x));
+            default -> throw new IllegalArgumentException("Unknown operator " + operator);
+        };
+        if (left instanceof Constant && right instanceof Constant) {
+            try {
+                return new Constant(result.evaluate(0));
+            } catch (ArithmeticException e) {
+                // Division by zero is only raised on evaluation, same as exp4j
+                return result;
+            }
+        }
+        return result;
+    }
+
+    private static double divide(double dividend, double divisor) {
+        if (divisor == 0.0) {
+            throw new ArithmeticException("Division by zero!");
+        }
+        return dividend / divisor;
+    }
+
+    // PARSER METHODS --------------------------------------------------------------------------------------------------
+
+    /**
+     * Recursive descent parser with exp4j precedence : + - (lowest), * / % and implicit multiplication, unary + -, then
+     * ^ (right associative).
+     */
+    private static final class Parser {
+        private final String string;
+        private int position;
+
+        private Parser(String string) {
+            this.string = string;
+        }
+
+        private Node parse() {
+            final Node node = parseAdditive();
+            if (peek() != 0) {
+                throw new IllegalArgumentException("Unexpected character at position " + position);
+            }
+            return node;
+        }
+
+        private Node parseAdditive() {
+            Node node = parseMultiplicative();
+            while (true) {
+                final char c = peek();
+                if (c != '+' && c != '-') {
+                    return node;
+                }
+                position++;
+                node = binary(c, node, parseMultiplicative());
+            }
+        }
+
+        private Node parseMultiplicative() {
+            Node node = parseUnary();
+            while (true) {
+                final char c = peek();
+                if (c == '*' || c == '/' || c == '%') {
+                    position++;
+                    node = binary(c, node, parseUnary());
+                } else if (isOperandStart(c)) {
+                    // Implicit multiplication, e.g. 2x or 2(x+1)
+                    node = binary('*', node, parseUnary());
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        private Node parseUnary() {
+            final char c = peek();
+            if (c == '-' || c == '+') {
+                position++;
+                return unary(c, parseUnary());
+            }
+            return parsePower();
+        }
+
+        private Node parsePower() {
+            final Node base = parsePrimary();
+            if (peek() == '^') {
+                position++;
+                return binary('^', base, parseUnary());
+            }
+            return base;
+        }
+
+        private Node parsePrimary() {
+            final char c = peek();
+            if (c == '(') {
+                position++;
+                final Node node = parseAdditive();
+                expect(')');
+                return node;
+            }
+            if ((c >= '0' && c <= '9') || c == '.') {
+                return parseNumber();
+            }
+            if (c == 'x') {
+                position++;
+                return (x) -> x;
+            }
+            if ((c == 'u' || c == 'd') && peekAfter() == '(') {
+                position++;
+                expect('(');
+                final Node argument = parseAdditive();
+                expect(')');
+                return unary(c, argument);
+            }
+            throw new IllegalArgumentException("Unexpected character at position " + position);
+        }
+
+        private Node parseNumber() {
+            final int start = position;
+            while (position < string.length() && (Character.isDigit(string.charAt(position)) || string.charAt(position) == '.')) {
+                position++;
+            }
+            if (position < string.length() && Character.isLetter(string.charAt(position)) && string.charAt(position) != 'x') {
+                // Scientific notation or unknown identifiers
+                throw new IllegalArgumentException("Unexpected character at position " + position);
+            }
+            return new Constant(Double.parseDouble(string.substring(start, position)));
+        }
+
+        private void expect(char expected) {
+            if (peek() != expected) {
+                throw new IllegalArgumentException("Expected " + expected + " at position " + position);
+            }
+            position++;
+        }
+
+        private char peek() {
+            while (position < string.length() && Character.isWhitespace(string.charAt(position))) {
+                position++;
+            }
+            return position < string.length() ? string.charAt(position) : 0;
+        }
+
+        private char peekAfter() {
+            final int current = position;
+            position++;
+            final char c = peek();
+            position = current;
+            return c;
+        }
+
+        private static boolean isOperandStart(char c) {
+            return (c >= '0' && c <= '9') || c == '.' || c == '(' || c == 'x' || c == 'u' || c == 'd';
+        }
     }
 }
@@ -28,15 +28,15 @@ public final class SkillInfo {
     private final List<Integer> psdSkills;
     private final List<ActionType> action;
     private final ActionType statAction;
-    private final Map<SkillStat, List<Integer>> stats;
+    private final int[][] stats; // [stat ordinal][slv]
     private final List<Rect> rects;
     private final ElementAttribute elemAttr;
     private final Map<SummonedActionType, SummonedAttackInfo> summonedAttack;
 
     private final int skillEntryCrc;
-    private final List<Integer> levelDataCrc;
+    private final int[] levelDataCrc;
 
-    public SkillInfo(int skillId, int maxLevel, boolean invisible, boolean combatOrders, boolean psd, List<Integer> psdSkills, List<ActionType> action, ActionType statAction, Map<SkillStat, List<Integer>> stats, List<Rect> rects, ElementAttribute elemAttr, Map<SummonedActionType, SummonedAttackInfo> summonedAttack) {
+    public SkillInfo(int skillId, int maxLevel, boolean invisible, boolean combatOrders, boolean psd, List<Integer> psdSkills, List<ActionType> action, ActionType statAction, int[][] stats, List<Rect> rects, ElementAttribute elemAttr, Map<SummonedActionType, SummonedAttackInfo> summonedAttack) {
         this.skillId = skillId;
         this.maxLevel = maxLevel;
         this.invisible = invisible;
@@ -54,8 +54,7 @@ public final class SkillInfo {
         this.skillEntryCrc = Crc32.computeCrcSkillEntry(this);
         this.levelDataCrc = IntStream.rangeClosed(0, maxLevel + (combatOrders ? 2 : 0))
                 .map((slv) -> Crc32.computeCrcSkillLevelData(this, slv))
-                .boxed()
-                .toList();
+                .toArray();
     }
 
     public int getSkillId() {
@@ -83,11 +82,11 @@ public final class SkillInfo {
     }
 
     public int getValue(SkillStat stat, int slv) {
-        final List<Integer> levelData = stats.get(stat);
-        if (levelData == null || slv < 0 || slv >= levelData.size()) {
+        final int[] levelData = stats[stat.ordinal()];
+        if (levelData == null || slv < 0 || slv >= levelData.length) {
             return 0;
         }
-        return levelData.get(slv);
+        return levelData[slv];
     }
 
     public Rect getRect(int slv) {
@@ -115,10 +114,10 @@ public final class SkillInfo {
     }
 
     public int getLevelDataCrc(int slv) {
-        if (slv < 0 || slv >= levelDataCrc.size()) {
+        if (slv < 0 || slv >= levelDataCrc.length) {
             return 0;
         }
-        return levelDataCrc.get(slv);
+        return levelDataCrc[slv];
     }
 
 
@@ -183,12 +182,12 @@ public final class SkillInfo {
                 ", psdSkills=" + psdSkills +
                 ", action=" + action +
                 ", statAction=" + statAction +
-                ", stats=" + stats +
+                ", stats=" + Arrays.deepToString(stats) +
                 ", rects=" + rects +
                 ", elemAttr=" + elemAttr +
                 ", summonedAttack=" + summonedAttack +
                 ", skillEntryCrc=" + skillEntryCrc +
-                ", levelDataCrc=" + levelDataCrc +
+                ", levelDataCrc=" + Arrays.toString(levelDataCrc) +
                 '}';
     }
 
@@ -240,13 +239,13 @@ public final class SkillInfo {
         if (maxLevel == 0) {
             throw new ProviderError("Could not resolve skill max level");
         }
-        final Map<SkillStat, List<Integer>> stats = new HashMap<>();
+        final int[][] stats = new int[SkillStat.values().length][];
         for (var entry : statMap.entrySet()) {
-            final List<Integer> levelData = new ArrayList<>();
+            final int[] levelData = new int[maxLevel + 1];
             for (int slv = 0; slv <= maxLevel; slv++) {
-                levelData.add(entry.getValue().getOrDefault(slv, 0));
+                levelData[slv] = entry.getValue().getOrDefault(slv, 0);
             }
-            stats.put(entry.getKey(), Collections.unmodifiableList(levelData));
+            stats[entry.getKey().ordinal()] = levelData;
         }
         final List<Rect> rects = new ArrayList<>();
         for (int slv = 0; slv <= maxLevel; slv++) {
@@ -265,7 +264,7 @@ public final class SkillInfo {
                 Collections.unmodifiableList(psdSkills),
                 Collections.unmodifiableList(action),
                 statAction,
-                Collections.unmodifiableMap(stats),
+                stats,
                 Collections.unmodifiableList(rects),
                 elemAttr,
                 summonedAttack
@@ -306,15 +305,15 @@ public final class SkillInfo {
         final boolean combatOrders = WzProvider.getInteger(skillProp.get("combatOrders"), 0) != 0;
         final int statMaxLevel = maxLevel + (combatOrders ? 2 : 0);
         // Compute skill stat values
-        final Map<SkillStat, List<Integer>> stats = new EnumMap<>(SkillStat.class);
+        final int[][] stats = new int[SkillStat.values().length][];
         for (var entry : expressions.entrySet()) {
             final SkillStat stat = entry.getKey();
             final SkillExpression ex = entry.getValue();
-            final List<Integer> levelData = new ArrayList<>();
+            final int[] levelData = new int[statMaxLevel + 1];
             for (int i = 0; i <= statMaxLevel; i++) {
-                levelData.add(ex.evaluate(i));
+                levelData[i] = ex.evaluate(i);
             }
-            stats.put(stat, Collections.unmodifiableList(levelData));
+            stats[stat.ordinal()] = levelData;
         }
         final List<Integer> psdSkills = resolvePsdSkills(skillProp);
         final List<ActionType> action = resolveAction(skillProp);
@@ -329,7 +328,7 @@ public final class SkillInfo {
                 Collections.unmodifiableList(psdSkills),
                 Collections.unmodifiableList(action),
                 statAction,
-                Collections.unmodifiableMap(stats),
+                stats,
                 Collections.nCopies(statMaxLevel + 1, rect),
                 elemAttr,
                 summonedAttack);
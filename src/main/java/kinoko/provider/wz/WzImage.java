@@ -2,12 +2,22 @@ package kinoko.provider.wz;
 
 import kinoko.provider.wz.property.WzListProperty;
 
+import java.util.function.Function;
+
 public final class WzImage {
     private final int offset;
-    private WzListProperty property;
+    private final Function<WzImage, WzListProperty> loader;
+    private final WzImageCache cache;
+    private volatile WzListProperty property;
 
     public WzImage(int offset) {
+        this(offset, null, null);
+    }
+
+    WzImage(int offset, Function<WzImage, WzListProperty> loader, WzImageCache cache) {
         this.offset = offset;
+        this.loader = loader;
+        this.cache = cache;
     }
 
     public int getOffset() {
@@ -15,10 +25,36 @@ public final class WzImage {
     }
 
     public WzListProperty getProperty() {
-        return property;
+        WzListProperty result = property;
+        if (loader == null) {
+            return result;
+        }
+        if (result != null) {
+            if (cache != null) {
+                cache.touch(this);
+            }
+            return result;
+        }
+        synchronized (this) {
+            result = property;
+            if (result == null) {
+                result = loader.apply(this);
+                property = result;
+                if (cache != null) {
+                    cache.put(this);
+                }
+            }
+        }
+        return result;
     }
 
     public void setProperty(WzListProperty property) {
         this.property = property;
     }
+
+    void clearProperty() {
+        if (loader != null) {
+            property = null;
+        }
+    }
 }
@@ -0,0 +1,37 @@
+package kinoko.provider.wz;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size-bounded LRU cache of parsed {@link WzImage} instances. Evicted images release their property tree, which is
+ * parsed again on the next access.
+ */
+public final class WzImageCache {
+    private final Map<WzImage, Boolean> images;
+
+    public WzImageCache(int maxSize) {
+        this.images = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<WzImage, Boolean> eldest) {
+                if (size() > maxSize) {
+                    eldest.getKey().clearProperty();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized void put(WzImage image) {
+        images.put(image, Boolean.TRUE);
+    }
+
+    public synchronized void touch(WzImage image) {
+        images.get(image);
+    }
+
+    public synchronized int size() {
+        return images.size();
+    }
+}
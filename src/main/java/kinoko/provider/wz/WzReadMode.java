@@ -0,0 +1,32 @@
+package kinoko.provider.wz;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public enum WzReadMode {
+    EAGER,      // Parse every image while reading the directory
+    PARALLEL,   // Collect image offsets, then parse the images on the common fork-join pool
+    LAZY;       // Parse each image on first access to its property
+
+    private static final Logger log = LogManager.getLogger(WzReadMode.class);
+
+    public static WzReadMode getByName(String name) {
+        for (WzReadMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(name)) {
+                return mode;
+            }
+        }
+        return null;
+    }
+
+    public static WzReadMode getByName(String name, WzReadMode defaultMode) {
+        final WzReadMode mode = getByName(name);
+        if (mode != null) {
+            return mode;
+        }
+        if (name != null && !name.isEmpty()) {
+            log.error("Unknown WZ read mode {}, using {}", name, defaultMode);
+        }
+        return defaultMode;
+    }
+}
@@ -14,16 +14,22 @@ import java.nio.file.Path;
 import java.util.*;
 
 public final class WzReader implements AutoCloseable {
+    private final Path path;
     private final RandomAccessFile file;
     private final FileChannel channel;
     private final WzReaderConfig config;
-    private final WzCrypto crypto;
+    private final ThreadLocal<WzCrypto> crypto;
+    private final WzImageCache imageCache;
 
-    private WzReader(RandomAccessFile file, FileChannel channel, WzReaderConfig config, WzCrypto crypto) {
+    private WzReader(Path path, RandomAccessFile file, FileChannel channel, WzReaderConfig config, WzCrypto crypto) {
+        this.path = path;
         this.file = file;
         this.channel = channel;
         this.config = config;
-        this.crypto = crypto;
+        // Cipher masks are not shared between threads when reading images in parallel
+        this.crypto = ThreadLocal.withInitial(config::buildEncryptor);
+        this.crypto.set(crypto);
+        this.imageCache = config.buildImageCache();
     }
 
     private int computeVersionHash(int version) {
@@ -67,8 +73,8 @@ public final class WzReader implements AutoCloseable {
             if (length > 0) {
                 final byte[] data = new byte[length];
                 buffer.get(data);
-                crypto.cryptAscii(data);
-                return new String(data, StandardCharsets.US_ASCII);
+                getCrypto().cryptAscii(data);
+                return WzStringTable.decode(data, StandardCharsets.US_ASCII);
             }
         } else if (length > 0) {
             if (length == Byte.MAX_VALUE) {
@@ -78,8 +84,8 @@ public final class WzReader implements AutoCloseable {
                 length = length * 2; // UTF16
                 final byte[] data = new byte[length];
                 buffer.get(data);
-                crypto.cryptUnicode(data);
-                return new String(data, StandardCharsets.UTF_16LE);
+                getCrypto().cryptUnicode(data);
+                return WzStringTable.decode(data, StandardCharsets.UTF_16LE);
             }
         }
         return "";
@@ -108,7 +114,11 @@ public final class WzReader implements AutoCloseable {
     }
 
     public WzCrypto getCrypto() {
-        return crypto;
+        return crypto.get();
+    }
+
+    public Path getPath() {
+        return path;
     }
 
     public ByteBuffer getBuffer(int offset) throws IOException {
@@ -118,6 +128,9 @@ public final class WzReader implements AutoCloseable {
     }
 
     public WzPackage readPackage() throws IOException, WzReaderError {
+        if (getConfig().getSnapshotDirectory() != null) {
+            return WzSnapshot.readPackage(this, getConfig().getSnapshotDirectory());
+        }
         return readPackage(0);
     }
 
@@ -144,11 +157,26 @@ public final class WzReader implements AutoCloseable {
             throw new WzReaderError("Incorrect version");
         }
         WzPackage pkg = new WzPackage(start, versionHash);
-        pkg.setDirectory(readDirectory(pkg, buffer));
+        switch (getConfig().getMode()) {
+            case PARALLEL -> {
+                // Collect image offsets first, then parse the images in parallel
+                final List<WzImage> images = new ArrayList<>();
+                pkg.setDirectory(readDirectory(pkg, buffer, images));
+                readImages(images, buffer);
+            }
+            default -> {
+                // Images are parsed on first access in LAZY mode, see WzImage.getProperty()
+                pkg.setDirectory(readDirectory(pkg, buffer));
+            }
+        }
         return pkg;
     }
 
     public WzDirectory readDirectory(WzPackage parent, ByteBuffer buffer) throws WzReaderError {
+        return readDirectory(parent, buffer, null);
+    }
+
+    private WzDirectory readDirectory(WzPackage parent, ByteBuffer buffer, List<WzImage> pendingImages) throws WzReaderError {
         final Map<String, WzDirectory> directories = new HashMap<>();
         final Map<String, WzImage> images = new HashMap<>();
         final int size = readCompressedInt(buffer);
@@ -185,13 +213,14 @@ public final class WzReader implements AutoCloseable {
             final int originalPosition = buffer.position();
             buffer.position(childOffset);
             if (childType == 3) {
-                directories.put(childName, readDirectory(parent, buffer));
+                directories.put(childName, readDirectory(parent, buffer, pendingImages));
             } else if (childType == 4) {
-                final WzImage image = new WzImage(childOffset);
-                if (!(readProperty(image, buffer) instanceof WzListProperty listProperty)) {
-                    throw new WzReaderError("Image property is not a list");
+                final WzImage image = getConfig().getMode() == WzReadMode.LAZY ? new WzImage(childOffset, (lazyImage) -> readImage(lazyImage, buffer), imageCache) : new WzImage(childOffset);
+                if (pendingImages != null) {
+                    pendingImages.add(image);
+                } else if (getConfig().getMode() != WzReadMode.LAZY) {
+                    image.setProperty(readImage(image, buffer));
                 }
-                image.setProperty(listProperty);
                 images.put(childName, image);
             }
             buffer.position(originalPosition);
@@ -199,6 +228,20 @@ public final class WzReader implements AutoCloseable {
         return new WzDirectory(directories, images);
     }
 
+    private void readImages(List<WzImage> images, ByteBuffer buffer) throws WzReaderError {
+        images.parallelStream().forEach((image) -> image.setProperty(readImage(image, buffer)));
+    }
+
+    private WzListProperty readImage(WzImage image, ByteBuffer buffer) throws WzReaderError {
+        // Each image is read using a separate view of the mapped file
+        final ByteBuffer imageBuffer = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        imageBuffer.position(image.getOffset());
+        if (!(readProperty(image, imageBuffer) instanceof WzListProperty listProperty)) {
+            throw new WzReaderError("Image property is not a list");
+        }
+        return listProperty;
+    }
+
     public WzProperty readProperty(WzImage image, ByteBuffer buffer) throws WzReaderError {
         final String propertyTypeId = readStringBlock(image, buffer);
         final WzPropertyType propertyType = WzPropertyType.getById(propertyTypeId);
@@ -346,6 +389,6 @@ public final class WzReader implements AutoCloseable {
     public static WzReader build(File file, WzReaderConfig config, WzCrypto crypto) throws FileNotFoundException {
         final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
         final FileChannel fileChannel = randomAccessFile.getChannel();
-        return new WzReader(randomAccessFile, fileChannel, config, crypto);
+        return new WzReader(file.toPath(), randomAccessFile, fileChannel, config, crypto);
     }
 }
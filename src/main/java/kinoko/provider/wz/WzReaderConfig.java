@@ -1,13 +1,33 @@
 package kinoko.provider.wz;
 
+import java.nio.file.Path;
+
 public final class WzReaderConfig {
 
     private final byte[] iv;
     private final int version;
+    private final WzReadMode mode;
+    private final int cacheSize;
+    private final Path snapshotDirectory;
 
-    public WzReaderConfig(byte[] iv, int version) {
+    public WzReaderConfig(byte[] iv, int version, WzReadMode mode, int cacheSize, Path snapshotDirectory) {
         this.iv = iv;
         this.version = version;
+        this.mode = mode;
+        this.cacheSize = cacheSize;
+        this.snapshotDirectory = snapshotDirectory;
+    }
+
+    public WzReaderConfig(byte[] iv, int version, WzReadMode mode, int cacheSize) {
+        this(iv, version, mode, cacheSize, null);
+    }
+
+    public WzReaderConfig(byte[] iv, int version, WzReadMode mode) {
+        this(iv, version, mode, 0);
+    }
+
+    public WzReaderConfig(byte[] iv, int version) {
+        this(iv, version, WzReadMode.EAGER);
     }
 
     public byte[] getIv() {
@@ -18,6 +38,22 @@ public final class WzReaderConfig {
         return version;
     }
 
+    public WzReadMode getMode() {
+        return mode;
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    public Path getSnapshotDirectory() {
+        return snapshotDirectory;
+    }
+
+    public WzImageCache buildImageCache() {
+        return mode == WzReadMode.LAZY && cacheSize > 0 ? new WzImageCache(cacheSize) : null;
+    }
+
     public WzCrypto buildEncryptor() {
         return WzCrypto.fromIv(getIv());
     }
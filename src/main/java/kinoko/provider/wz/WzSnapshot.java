@@ -0,0 +1,326 @@
+package kinoko.provider.wz;
+
+import kinoko.provider.wz.property.*;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary snapshot of a decoded {@link WzPackage}, keyed by the checksum of the source WZ file. The snapshot holds the
+ * decrypted property trees so that later loads skip the decryption and string block resolution, and images are read
+ * from the memory-mapped snapshot on demand. Canvas and sound data are not included in the snapshot.
+ */
+public final class WzSnapshot {
+    private static final Logger log = LogManager.getLogger(WzSnapshot.class);
+    private static final int MAGIC = 0x504E534B; // KSNP
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 44;
+    private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocate(0);
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_SHORT = 1;
+    private static final byte TYPE_INT = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_FLOAT = 4;
+    private static final byte TYPE_DOUBLE = 5;
+    private static final byte TYPE_STRING = 6;
+    private static final byte TYPE_LIST = 7;
+    private static final byte TYPE_CANVAS = 8;
+    private static final byte TYPE_VECTOR = 9;
+    private static final byte TYPE_CONVEX = 10;
+    private static final byte TYPE_SOUND = 11;
+    private static final byte TYPE_UOL = 12;
+
+    public static WzPackage readPackage(WzReader reader, Path directory) throws IOException, WzReaderError {
+        final Path snapshotPath = directory.resolve(reader.getPath().getFileName() + ".snapshot");
+        final ByteBuffer source = reader.getBuffer(0);
+        final long sourceSize = source.remaining();
+        final long sourceChecksum = computeChecksum(source);
+        final Optional<WzPackage> snapshotResult = loadPackage(snapshotPath, reader.getConfig(), sourceSize, sourceChecksum);
+        if (snapshotResult.isPresent()) {
+            return snapshotResult.get();
+        }
+        final WzPackage pkg = reader.readPackage(0);
+        try {
+            Files.createDirectories(directory);
+            writePackage(pkg, snapshotPath, reader.getConfig().getVersion(), sourceSize, sourceChecksum);
+            log.debug("Created snapshot {}", snapshotPath);
+        } catch (IOException e) {
+            log.warn("Failed to create snapshot {}", snapshotPath, e);
+        }
+        return pkg;
+    }
+
+    private static Optional<WzPackage> loadPackage(Path path, WzReaderConfig config, long sourceSize, long sourceChecksum) {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_SIZE ||
+                    buffer.getInt() != MAGIC ||
+                    buffer.getInt() != FORMAT_VERSION ||
+                    buffer.getInt() != config.getVersion() ||
+                    buffer.getLong() != sourceSize ||
+                    buffer.getLong() != sourceChecksum) {
+                log.info("Snapshot {} is outdated", path);
+                return Optional.empty();
+            }
+            final long bodySize = buffer.getLong();
+            final long bodyChecksum = buffer.getLong();
+            buffer.position(HEADER_SIZE);
+            if (buffer.remaining() != bodySize || computeChecksum(buffer.slice()) != bodyChecksum) {
+                log.warn("Snapshot {} is corrupted", path);
+                return Optional.empty();
+            }
+            final ByteBuffer body = buffer.slice();
+            final WzPackage pkg = new WzPackage(body.getInt(), body.getInt());
+            final int treeSize = body.getInt();
+            final int imageStart = body.position() + treeSize;
+            final List<WzImage> images = new ArrayList<>();
+            pkg.setDirectory(readDirectory(body, imageStart, config.buildImageCache(), images));
+            // Parse images up front unless they are loaded on demand
+            if (config.getMode() == WzReadMode.PARALLEL) {
+                images.parallelStream().forEach(WzImage::getProperty);
+            } else if (config.getMode() == WzReadMode.EAGER) {
+                images.forEach(WzImage::getProperty);
+            }
+            return Optional.of(pkg);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to load snapshot {}", path, e);
+            return Optional.empty();
+        }
+    }
+
+    private static void writePackage(WzPackage pkg, Path path, int version, long sourceSize, long sourceChecksum) throws IOException {
+        final Path imagePath = path.resolveSibling(path.getFileName() + ".images.tmp");
+        final Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            // Write images to a separate file while building the directory tree
+            final ByteArrayOutputStream treeBytes = new ByteArrayOutputStream();
+            try (final DataOutputStream imageOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(imagePath)))) {
+                writeDirectory(new DataOutputStream(treeBytes), imageOut, pkg.getDirectory());
+            }
+            try (final FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.position(HEADER_SIZE);
+                final CRC32C checksum = new CRC32C();
+                final DataOutputStream out = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)), checksum));
+                out.writeInt(pkg.getStart());
+                out.writeInt(pkg.getHash());
+                out.writeInt(treeBytes.size());
+                treeBytes.writeTo(out);
+                Files.copy(imagePath, out);
+                out.flush();
+                final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC);
+                header.putInt(FORMAT_VERSION);
+                header.putInt(version);
+                header.putLong(sourceSize);
+                header.putLong(sourceChecksum);
+                header.putLong(channel.position() - HEADER_SIZE);
+                header.putLong(checksum.getValue());
+                header.flip();
+                channel.write(header, 0);
+            }
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(imagePath);
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    private static long computeChecksum(ByteBuffer buffer) {
+        final CRC32C checksum = new CRC32C();
+        checksum.update(buffer.duplicate());
+        return checksum.getValue();
+    }
+
+
+    // READ METHODS ----------------------------------------------------------------------------------------------------
+
+    private static WzDirectory readDirectory(ByteBuffer buffer, int imageStart, WzImageCache cache, List<WzImage> images) {
+        final Map<String, WzDirectory> directories = new HashMap<>();
+        final int directoryCount = buffer.getInt();
+        for (int i = 0; i < directoryCount; i++) {
+            final String directoryName = readString(buffer);
+            directories.put(directoryName, readDirectory(buffer, imageStart, cache, images));
+        }
+        final Map<String, WzImage> directoryImages = new HashMap<>();
+        final int imageCount = buffer.getInt();
+        for (int i = 0; i < imageCount; i++) {
+            final String imageName = readString(buffer);
+            final WzImage image = new WzImage(imageStart + buffer.getInt(), (lazyImage) -> readImage(lazyImage, buffer), cache);
+            directoryImages.put(imageName, image);
+            images.add(image);
+        }
+        return new WzDirectory(directories, directoryImages);
+    }
+
+    private static WzListProperty readImage(WzImage image, ByteBuffer buffer) {
+        final ByteBuffer imageBuffer = buffer.duplicate();
+        imageBuffer.position(image.getOffset());
+        if (!(readProperty(imageBuffer) instanceof WzListProperty listProperty)) {
+            throw new WzReaderError("Image property is not a list");
+        }
+        return listProperty;
+    }
+
+    private static WzProperty readProperty(ByteBuffer buffer) {
+        final byte type = buffer.get();
+        switch (type) {
+            case TYPE_LIST -> {
+                return WzListProperty.from(readListItems(buffer));
+            }
+            case TYPE_CANVAS -> {
+                final WzListProperty properties = WzListProperty.from(readListItems(buffer));
+                return new WzCanvasProperty(properties, buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt(), EMPTY_BUFFER);
+            }
+            case TYPE_VECTOR -> {
+                return new WzVectorProperty(buffer.getInt(), buffer.getInt());
+            }
+            case TYPE_CONVEX -> {
+                final List<WzProperty> properties = new ArrayList<>();
+                final int size = buffer.getInt();
+                for (int i = 0; i < size; i++) {
+                    properties.add(readProperty(buffer));
+                }
+                return new WzConvexProperty(properties);
+            }
+            case TYPE_SOUND -> {
+                return new WzSoundProperty(EMPTY_BUFFER, EMPTY_BUFFER);
+            }
+            case TYPE_UOL -> {
+                return new WzUolProperty(readString(buffer));
+            }
+            default -> throw new WzReaderError("Unknown snapshot property type : %d", type);
+        }
+    }
+
+    private static SequencedMap<String, Object> readListItems(ByteBuffer buffer) {
+        final SequencedMap<String, Object> items = new LinkedHashMap<>();
+        final int size = buffer.getInt();
+        for (int i = 0; i < size; i++) {
+            final String itemName = readString(buffer);
+            final byte itemType = buffer.get();
+            switch (itemType) {
+                case TYPE_NULL -> items.put(itemName, null);
+                case TYPE_SHORT -> items.put(itemName, buffer.getShort());
+                case TYPE_INT -> items.put(itemName, buffer.getInt());
+                case TYPE_LONG -> items.put(itemName, buffer.getLong());
+                case TYPE_FLOAT -> items.put(itemName, buffer.getFloat());
+                case TYPE_DOUBLE -> items.put(itemName, buffer.getDouble());
+                case TYPE_STRING -> items.put(itemName, readString(buffer));
+                default -> {
+                    buffer.position(buffer.position() - 1);
+                    items.put(itemName, readProperty(buffer));
+                }
+            }
+        }
+        return items;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        final byte[] data = new byte[buffer.getInt()];
+        buffer.get(data);
+        return WzStringTable.decode(data, StandardCharsets.UTF_8);
+    }
+
+
+    // WRITE METHODS ---------------------------------------------------------------------------------------------------
+
+    private static void writeDirectory(DataOutputStream treeOut, DataOutputStream imageOut, WzDirectory directory) throws IOException {
+        treeOut.writeInt(directory.getDirectories().size());
+        for (var entry : directory.getDirectories().entrySet()) {
+            writeString(treeOut, entry.getKey());
+            writeDirectory(treeOut, imageOut, entry.getValue());
+        }
+        treeOut.writeInt(directory.getImages().size());
+        for (var entry : directory.getImages().entrySet()) {
+            writeString(treeOut, entry.getKey());
+            treeOut.writeInt(imageOut.size());
+            writeProperty(imageOut, entry.getValue().getProperty());
+        }
+    }
+
+    private static void writeProperty(DataOutputStream out, WzProperty property) throws IOException {
+        if (property instanceof WzListProperty listProperty) {
+            out.writeByte(TYPE_LIST);
+            writeListItems(out, listProperty);
+        } else if (property instanceof WzCanvasProperty canvasProperty) {
+            out.writeByte(TYPE_CANVAS);
+            writeListItems(out, canvasProperty.getProperties());
+            out.writeInt(canvasProperty.getWidth());
+            out.writeInt(canvasProperty.getHeight());
+            out.writeInt(canvasProperty.getFormat());
+            out.writeInt(canvasProperty.getFormat2());
+        } else if (property instanceof WzVectorProperty vectorProperty) {
+            out.writeByte(TYPE_VECTOR);
+            out.writeInt(vectorProperty.getX());
+            out.writeInt(vectorProperty.getY());
+        } else if (property instanceof WzConvexProperty convexProperty) {
+            out.writeByte(TYPE_CONVEX);
+            out.writeInt(convexProperty.getProperties().size());
+            for (WzProperty child : convexProperty.getProperties()) {
+                writeProperty(out, child);
+            }
+        } else if (property instanceof WzSoundProperty) {
+            out.writeByte(TYPE_SOUND);
+        } else if (property instanceof WzUolProperty uolProperty) {
+            out.writeByte(TYPE_UOL);
+            writeString(out, uolProperty.getUol());
+        } else {
+            throw new WzReaderError("Unhandled snapshot property : %s", property);
+        }
+    }
+
+    private static void writeListItems(DataOutputStream out, WzListProperty listProperty) throws IOException {
+        out.writeInt(listProperty.getItems().size());
+        for (var entry : listProperty.getItems().entrySet()) {
+            writeString(out, entry.getKey());
+            final Object value = entry.getValue();
+            if (value == null) {
+                out.writeByte(TYPE_NULL);
+            } else if (value instanceof Short shortValue) {
+                out.writeByte(TYPE_SHORT);
+                out.writeShort(shortValue);
+            } else if (value instanceof Integer intValue) {
+                out.writeByte(TYPE_INT);
+                out.writeInt(intValue);
+            } else if (value instanceof Long longValue) {
+                out.writeByte(TYPE_LONG);
+                out.writeLong(longValue);
+            } else if (value instanceof Float floatValue) {
+                out.writeByte(TYPE_FLOAT);
+                out.writeFloat(floatValue);
+            } else if (value instanceof Double doubleValue) {
+                out.writeByte(TYPE_DOUBLE);
+                out.writeDouble(doubleValue);
+            } else if (value instanceof String stringValue) {
+                out.writeByte(TYPE_STRING);
+                writeString(out, stringValue);
+            } else if (value instanceof WzProperty property) {
+                writeProperty(out, property);
+            } else {
+                throw new WzReaderError("Unhandled snapshot value : %s", value);
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        final byte[] data = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(data.length);
+        out.write(data);
+    }
+}
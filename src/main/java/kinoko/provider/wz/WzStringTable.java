@@ -0,0 +1,66 @@
+package kinoko.provider.wz;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared table of decoded WZ strings, keyed by their encoded bytes. Property names and short values repeat across most
+ * images, so returning the existing {@link String} on a hit avoids creating a duplicate for every occurrence.
+ * <p>
+ * The table has a fixed capacity shared by every thread decoding images, including the game executors when images are
+ * loaded lazily. It is lock-free : entries are immutable and published with a plain array store, so a racing reader
+ * either sees a complete entry or an empty slot and decodes the string itself.
+ */
+public final class WzStringTable {
+    private static final int MAX_LENGTH = 64;
+    private static final int CAPACITY = 1 << 16;
+    private static final int MAX_SIZE = CAPACITY * 3 / 4;
+    private static final int MAX_PROBE = 8;
+
+    private static final Entry[] entries = new Entry[CAPACITY];
+    private static final AtomicInteger size = new AtomicInteger();
+
+    private static String get(byte[] data, Charset charset) {
+        int index = (Arrays.hashCode(data) * 31 + charset.hashCode()) & (CAPACITY - 1);
+        for (int i = 0; i < MAX_PROBE; i++) {
+            final Entry entry = entries[index];
+            if (entry == null) {
+                final String value = new String(data, charset);
+                if (size.get() < MAX_SIZE) {
+                    entries[index] = new Entry(data, charset, value);
+                    size.incrementAndGet();
+                }
+                return value;
+            }
+            if (entry.charset == charset && Arrays.equals(entry.key, data)) {
+                return entry.value;
+            }
+            index = (index + 1) & (CAPACITY - 1);
+        }
+        return new String(data, charset);
+    }
+
+    /**
+     * Decodes the string, returning a shared instance for short strings. The data array is retained by the table and
+     * must not be modified by the caller afterwards.
+     */
+    public static String decode(byte[] data, Charset charset) {
+        if (data.length > MAX_LENGTH) {
+            return new String(data, charset);
+        }
+        return get(data, charset);
+    }
+
+    private static final class Entry {
+        private final byte[] key;
+        private final Charset charset;
+        private final String value;
+
+        private Entry(byte[] key, Charset charset, String value) {
+            this.key = key;
+            this.charset = charset;
+            this.value = value;
+        }
+    }
+}
@@ -22,4 +22,20 @@ public final class WzCanvasProperty extends WzProperty {
     public WzListProperty getProperties() {
         return properties;
     }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getFormat() {
+        return format;
+    }
+
+    public int getFormat2() {
+        return format2;
+    }
 }
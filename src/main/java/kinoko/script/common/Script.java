@@ -3,7 +3,8 @@ package kinoko.script.common;
 import java.lang.annotation.*;
 
 /**
- * Annotation for game scripts. The annotated script methods will be registered at runtime using reflection.
+ * Annotation for game scripts. The annotated script methods are registered at compile time by
+ * {@link kinoko.util.processor.RegistryProcessor}.
  */
 @Documented
 @Target(ElementType.METHOD)
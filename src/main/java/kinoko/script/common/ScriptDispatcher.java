@@ -8,38 +8,21 @@ import kinoko.world.field.reactor.Reactor;
 import kinoko.world.user.User;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.reflections.Reflections;
-import org.reflections.scanners.Scanners;
 
-import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 public final class ScriptDispatcher {
     private static final Logger log = LogManager.getLogger(ScriptDispatcher.class);
-    private static final Map<String, Method> scriptMap = new HashMap<>();
+    private static final Map<String, Consumer<ScriptManager>> scriptMap = new HashMap<>();
     private static ExecutorService executor;
 
     public static void initialize() {
-        final Reflections reflections = new Reflections("kinoko.script", Scanners.SubTypes);
-        for (Class<? extends ScriptHandler> clazz : reflections.getSubTypesOf(ScriptHandler.class)) {
-            for (Method method : clazz.getDeclaredMethods()) {
-                if (!method.isAnnotationPresent(Script.class)) {
-                    continue;
-                }
-                if (method.getParameterCount() != 1 || method.getParameterTypes()[0] != ScriptManager.class) {
-                    throw new RuntimeException(String.format("Incorrect parameters for script method \"%s\"", method.getName()));
-                }
-                final Script annotation = method.getAnnotation(Script.class);
-                final String scriptName = annotation.value();
-                if (scriptMap.containsKey(scriptName)) {
-                    throw new RuntimeException(String.format("Multiple methods found for script name \"%s\"", scriptName));
-                }
-                scriptMap.put(scriptName, method);
-            }
-        }
+        // Script methods are collected at compile time, see RegistryProcessor
+        scriptMap.putAll(ScriptRegistry.getScripts());
         executor = Executors.newVirtualThreadPerTaskExecutor();
     }
 
@@ -79,7 +62,7 @@ public final class ScriptDispatcher {
 
     private static void startScript(ScriptType scriptType, String scriptName, User user, FieldObject source, int speakerId) {
         // Resolve script handler
-        final Method handler = scriptMap.get(scriptName);
+        final Consumer<ScriptManager> handler = scriptMap.get(scriptName);
         if (handler == null) {
             log.error("Could not resolve {} script with name : {}", scriptType, scriptName);
             if (scriptType == ScriptType.ITEM || scriptType == ScriptType.PORTAL) {
@@ -94,10 +77,10 @@ public final class ScriptDispatcher {
             try {
                 log.debug("Executing {} script : {}", scriptType.name(), scriptName);
                 user.lock();
-                handler.invoke(null, scriptManager);
-            } catch (Exception e) {
-                if (!(e.getCause() instanceof ScriptTermination)) {
-                    log.error("Script execution failed with exception : {}", e.getCause(), e);
+                handler.accept(scriptManager);
+            } catch (Throwable e) {
+                if (!(e instanceof ScriptTermination) && !(e.getCause() instanceof ScriptTermination)) {
+                    log.error("Script execution failed with exception : {}", e, e);
                     e.printStackTrace();
                 }
             } finally {
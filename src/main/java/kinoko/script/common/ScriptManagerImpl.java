@@ -329,7 +329,6 @@ public final class ScriptManagerImpl implements ScriptManager {
                 skillRecords.add(sr);
             }
         }
-        user.updatePassiveSkillData();
         user.validateStat();
         user.write(WvsContext.changeSkillRecordResult(skillRecords, false));
         // Additional handling
@@ -381,7 +380,6 @@ public final class ScriptManagerImpl implements ScriptManager {
         sr.setMasterLevel(masterLevel);
         // Add skill
         user.getSkillManager().addSkill(sr);
-        user.updatePassiveSkillData();
         user.validateStat();
         user.write(WvsContext.changeSkillRecordResult(sr, false));
     }
@@ -396,7 +394,6 @@ public final class ScriptManagerImpl implements ScriptManager {
         final SkillRecord sr = skillRecordResult.get();
         sr.setSkillLevel(0);
         sr.setMasterLevel(0);
-        user.updatePassiveSkillData();
         user.validateStat();
         user.write(WvsContext.changeSkillRecordResult(sr, false));
     }
@@ -14,8 +14,12 @@ import kinoko.util.crypto.MapleCrypto;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.lang.management.ManagementFactory;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 public final class Server {
     private static final Logger log = LogManager.getLogger(Server.class);
@@ -26,20 +30,27 @@ public final class Server {
     }
 
     private static void initialize() throws Exception {
+        // Record the YAML data state before it is loaded, so that modifications made during startup are reloaded
+        DataWatcher.watch("reward", RewardProvider.REWARD_DATA);
+        DataWatcher.watch("shop", ShopProvider.SHOP_DATA);
+        DataWatcher.watch("cashshop", CashShop.CASH_DATA);
+
         // Initialize providers
         Instant start = Instant.now();
-        ItemProvider.initialize();      // Character.wz + Item.wz
-        SkillProvider.initialize();     // Skill.wz + Morph.wz
-        MapProvider.initialize();       // Map.wz
-        MobProvider.initialize();       // Mob.wz
-        NpcProvider.initialize();       // Npc.wz
-        ReactorProvider.initialize();   // Reactor.wz
-        QuestProvider.initialize();     // Quest.wz
-        StringProvider.initialize();    // String.wz
-        EtcProvider.initialize();       // Etc.wz
-        ShopProvider.initialize();      // data/shop
-        RewardProvider.initialize();    // data/reward
-        CashShop.initialize();          // data/cash
+        final Executor executor = ServerConfig.PARALLEL_LOAD ? ForkJoinPool.commonPool() : Runnable::run;
+        final CompletableFuture<Void> itemFuture = initializeProvider("ItemProvider", ItemProvider::initialize, executor); // Character.wz + Item.wz
+        final CompletableFuture<Void> skillFuture = initializeProvider("SkillProvider", SkillProvider::initialize, executor); // Skill.wz + Morph.wz
+        final CompletableFuture<Void> mapFuture = initializeProvider("MapProvider", MapProvider::initialize, executor); // Map.wz
+        final CompletableFuture<Void> mobFuture = initializeProvider("MobProvider", MobProvider::initialize, executor); // Mob.wz
+        final CompletableFuture<Void> npcFuture = initializeProvider("NpcProvider", NpcProvider::initialize, executor); // Npc.wz
+        final CompletableFuture<Void> reactorFuture = initializeProvider("ReactorProvider", ReactorProvider::initialize, executor); // Reactor.wz
+        final CompletableFuture<Void> questFuture = initializeProvider("QuestProvider", QuestProvider::initialize, executor, mobFuture); // Quest.wz
+        final CompletableFuture<Void> stringFuture = initializeProvider("StringProvider", StringProvider::initialize, executor); // String.wz
+        final CompletableFuture<Void> etcFuture = initializeProvider("EtcProvider", EtcProvider::initialize, executor, questFuture); // Etc.wz
+        final CompletableFuture<Void> shopFuture = initializeProvider("ShopProvider", ShopProvider::initialize, executor, itemFuture); // data/shop
+        final CompletableFuture<Void> rewardFuture = initializeProvider("RewardProvider", RewardProvider::initialize, executor); // data/reward
+        final CompletableFuture<Void> cashFuture = initializeProvider("CashShop", CashShop::initialize, executor, etcFuture); // data/cash
+        CompletableFuture.allOf(itemFuture, skillFuture, mapFuture, mobFuture, npcFuture, reactorFuture, questFuture, stringFuture, etcFuture, shopFuture, rewardFuture, cashFuture).join();
         System.gc();
         log.info("Loaded providers in {} milliseconds", Duration.between(start, Instant.now()).toMillis());
 
@@ -48,6 +59,16 @@ public final class Server {
         ServerExecutor.initialize();
         CommandProcessor.initialize();
 
+        // Setup provider reloads, YAML data is reloaded on modification
+        ProviderReloader.register("item", () -> {
+            ItemProvider.initialize();
+            ShopProvider.initialize(); // rechargeable shop items are resolved from the item data
+        });
+        ProviderReloader.register("reward", RewardProvider::initialize);
+        ProviderReloader.register("shop", ShopProvider::initialize);
+        ProviderReloader.register("cashshop", CashShop::initialize);
+        DataWatcher.initialize();
+
         // Initialize database
         start = Instant.now();
         DatabaseManager.initialize();
@@ -105,9 +126,27 @@ public final class Server {
         }));
     }
 
+    private static CompletableFuture<Void> initializeProvider(String name, Runnable initializer, Executor executor, CompletableFuture<?>... dependencies) {
+        return CompletableFuture.allOf(dependencies).thenRunAsync(() -> {
+            final Instant start = Instant.now();
+            initializer.run();
+            log.info("Loaded {} in {} milliseconds", name, Duration.between(start, Instant.now()).toMillis());
+        }, executor);
+    }
+
+    public static void onStartupComplete() {
+        log.info("Server ready for login in {} milliseconds", ManagementFactory.getRuntimeMXBean().getUptime());
+        if (ServerConfig.TRAINING_RUN) {
+            // Exit after startup so that the class list or CDS archive is written by the JVM
+            log.info("Training run complete, shutting down");
+            new Thread(() -> System.exit(0)).start();
+        }
+    }
+
     private static void shutdown() throws Exception {
         log.info("Shutting down Server");
         centralServerNode.shutdown();
+        DataWatcher.shutdown();
         ScriptDispatcher.shutdown();
         RankManager.shutdown();
         ServerExecutor.shutdown();
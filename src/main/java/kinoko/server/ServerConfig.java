@@ -1,5 +1,7 @@
 package kinoko.server;
 
+import kinoko.provider.wz.WzReadMode;
+import kinoko.server.netty.PacketLimitPolicy;
 import kinoko.util.Util;
 import kinoko.world.GameConstants;
 
@@ -15,6 +17,12 @@ public final class ServerConfig {
     public static final boolean REQUIRE_SECONDARY_PASSWORD = Util.getEnv("REQUIRE_SECONDARY_PASSWORD", true);
     public static final String WZ_DIRECTORY = Util.getEnv("WZ_DIRECTORY", "wz");
     public static final String DATA_DIRECTORY = Util.getEnv("DATA_DIRECTORY", "data");
+    public static final boolean PARALLEL_LOAD = Util.getEnv("PARALLEL_LOAD", true);
+    public static final WzReadMode WZ_READ_MODE = WzReadMode.getByName(Util.getEnv("WZ_READ_MODE", "LAZY"), WzReadMode.LAZY);
+    public static final int WZ_IMAGE_CACHE_SIZE = Util.getEnv("WZ_IMAGE_CACHE_SIZE", 256);
+    public static final boolean SNAPSHOT_ENABLED = Util.getEnv("SNAPSHOT_ENABLED", true);
+    public static final String SNAPSHOT_DIRECTORY = Util.getEnv("SNAPSHOT_DIRECTORY", "snapshot");
+    public static final int DATA_RELOAD_INTERVAL = Util.getEnv("DATA_RELOAD_INTERVAL", 10); // seconds, 0 to disable
 
     public static final int CHARACTER_BASE_SLOTS = Util.getEnv("CHARACTER_BASE_SLOTS", 3);
     public static final int INVENTORY_BASE_SLOTS = Util.getEnv("INVENTORY_BASE_SLOTS", 24);
@@ -25,6 +33,13 @@ public final class ServerConfig {
     public static final int ITEM_EXPIRE_INTERVAL = 60; // 180 seconds in BMS
     public static final int WORLD_SPEAKER_COOLTIME = 60;
 
+    public static final boolean PACKET_LIMIT_ENABLED = Util.getEnv("PACKET_LIMIT_ENABLED", true);
+    public static final PacketLimitPolicy PACKET_LIMIT_POLICY = PacketLimitPolicy.getByName(Util.getEnv("PACKET_LIMIT_POLICY", "DROP"), PacketLimitPolicy.DROP);
+    public static final int WRITE_BUFFER_LOW_WATER_MARK = Util.getEnv("WRITE_BUFFER_LOW_WATER_MARK", 64 * 1024);
+    public static final int WRITE_BUFFER_HIGH_WATER_MARK = Util.getEnv("WRITE_BUFFER_HIGH_WATER_MARK", 256 * 1024);
+
+    public static final boolean TRAINING_RUN = Util.getEnv("TRAINING_RUN", false);
+
     public static final String COMMAND_PREFIX = Util.getEnv("COMMAND_PREFIX", "!");
     public static final boolean DEBUG_MODE = Util.getEnv("DEBUG_MODE", true);
 }
@@ -27,8 +27,8 @@ public final class CashShop {
     public static final int EQUIP_SLOT_EXT_30_DAYS = 5550000;
     public static final int EQUIP_SLOT_EXT_7_days = 5550001;
 
-    private static Map<Integer, Commodity> commodities;
-    private static Map<Integer, ModifiedCommodity> modifiedCommodities;
+    private static volatile Map<Integer, Commodity> commodities;
+    private static volatile Map<Integer, ModifiedCommodity> modifiedCommodities;
 
     public static void initialize() {
         modifiedCommodities = loadModifiedCommodities();
@@ -23,11 +23,17 @@ import kinoko.script.common.ScriptDispatcher;
 import kinoko.server.ServerConfig;
 import kinoko.server.cashshop.CashShop;
 import kinoko.server.cashshop.Commodity;
+import kinoko.server.header.InHeader;
+import kinoko.server.header.OutHeader;
+import kinoko.server.node.ServerExecutor;
+import kinoko.server.packet.InPacketStats;
+import kinoko.server.packet.OutPacketStats;
 import kinoko.util.BitFlag;
 import kinoko.util.Rect;
 import kinoko.util.Util;
 import kinoko.world.GameConstants;
 import kinoko.world.field.Field;
+import kinoko.world.field.UserUpdateStats;
 import kinoko.world.field.mob.Mob;
 import kinoko.world.field.mob.MobLeaveType;
 import kinoko.world.field.npc.Npc;
@@ -53,6 +59,7 @@ import kinoko.world.user.effect.Effect;
 import kinoko.world.user.stat.*;
 
 import java.lang.reflect.Method;
+import java.time.Instant;
 import java.util.*;
 
 public final class AdminCommands {
@@ -749,7 +756,6 @@ public final class AdminCommands {
                     skillRecords.add(sr);
                 }
             }
-            user.updatePassiveSkillData();
             user.validateStat();
             user.write(WvsContext.changeSkillRecordResult(skillRecords, true));
             // Additional handling
@@ -784,7 +790,6 @@ public final class AdminCommands {
         try (var locked = user.acquire()) {
             final SkillManager sm = user.getSkillManager();
             sm.addSkill(skillRecord);
-            user.updatePassiveSkillData();
             user.validateStat();
             user.write(WvsContext.changeSkillRecordResult(skillRecord, true));
         }
@@ -801,7 +806,7 @@ public final class AdminCommands {
         try (var locked = user.acquire()) {
             final SecondaryStat ss = locked.get().getSecondaryStat();
             final BitFlag<CharacterTemporaryStat> flag = BitFlag.from(Set.of(CharacterTemporaryStat.Morph), CharacterTemporaryStat.FLAG_SIZE);
-            ss.getTemporaryStats().put(CharacterTemporaryStat.Morph, TemporaryStatOption.of(morphId, -5300000, 0));
+            ss.setTemporaryStat(CharacterTemporaryStat.Morph, TemporaryStatOption.of(morphId, -5300000, 0));
             user.write(WvsContext.temporaryStatSet(ss, flag));
             user.getField().broadcastPacket(UserRemote.temporaryStatSet(user, ss, flag));
         }
@@ -818,7 +823,7 @@ public final class AdminCommands {
         try (var locked = user.acquire()) {
             final SecondaryStat ss = locked.get().getSecondaryStat();
             final BitFlag<CharacterTemporaryStat> flag = BitFlag.from(Set.of(CharacterTemporaryStat.RideVehicle), CharacterTemporaryStat.FLAG_SIZE);
-            ss.getTemporaryStats().put(CharacterTemporaryStat.RideVehicle, TwoStateTemporaryStat.ofTwoState(CharacterTemporaryStat.RideVehicle, vehicleId, Beginner.MONSTER_RIDER, 0));
+            ss.setTemporaryStat(CharacterTemporaryStat.RideVehicle, TwoStateTemporaryStat.ofTwoState(CharacterTemporaryStat.RideVehicle, vehicleId, Beginner.MONSTER_RIDER, 0));
             user.write(WvsContext.temporaryStatSet(ss, flag));
             user.getField().broadcastPacket(UserRemote.temporaryStatSet(user, ss, flag));
         }
@@ -1022,7 +1027,6 @@ public final class AdminCommands {
                     skillRecords.add(skillRecord);
                 }
             }
-            user.updatePassiveSkillData();
             user.validateStat();
             user.write(WvsContext.changeSkillRecordResult(skillRecords, true));
 
@@ -1056,18 +1060,123 @@ public final class AdminCommands {
         }
     }
 
+    @Command("reload")
+    @Arguments("item/reward/shop/cashshop")
+    public static void reload(User user, String[] args) {
+        reloadProvider(user, args[1].toLowerCase());
+    }
+
     @Command("reloaddrops")
     public static void reloadDrops(User user, String[] args) {
-        RewardProvider.initialize();
+        reloadProvider(user, "reward");
     }
 
     @Command("reloadshops")
     public static void reloadShops(User user, String[] args) {
-        ShopProvider.initialize();
+        reloadProvider(user, "shop");
     }
 
     @Command({"reloadcashshop", "reloadcs"})
     public static void reloadCashShop(User user, String[] args) {
-        CashShop.initialize();
+        reloadProvider(user, "cashshop");
+    }
+
+    @Command("reloadstats")
+    public static void reloadStats(User user, String[] args) {
+        user.write(MessagePacket.system("Reload stats (name : count | last ms | last time | failed)"));
+        for (String name : ProviderReloader.getNames()) {
+            final ProviderReloader.ReloadTarget target = ProviderReloader.getTarget(name).orElseThrow();
+            user.write(MessagePacket.system("%s : %d | %d | %s | %d", name, target.getReloadCount(), target.getLastDuration(),
+                    target.getLastReloadTime().map(Instant::toString).orElse("-"), target.getFailureCount()));
+        }
+    }
+
+    private static void reloadProvider(User user, String name) {
+        if (ProviderReloader.getTarget(name).isEmpty()) {
+            user.write(MessagePacket.system("Unknown reload target : %s", name));
+            return;
+        }
+        // Rebuild on the service executor, the new data is published once it is complete
+        ServerExecutor.submitService(() -> {
+            try {
+                final long duration = ProviderReloader.reload(name);
+                ServerExecutor.submit(user, () -> user.write(MessagePacket.system("Reloaded %s in %d milliseconds", name, duration)));
+            } catch (RuntimeException | ProviderError e) {
+                ServerExecutor.submit(user, () -> user.write(MessagePacket.system("Failed to reload %s", name)));
+            }
+        });
+    }
+
+    @Command("packetstats")
+    public static void packetStats(User user, String[] args) {
+        if (args.length > 1 && args[1].equalsIgnoreCase("reset")) {
+            OutPacketStats.reset();
+            user.write(MessagePacket.system("Reset packet stats"));
+            return;
+        }
+        final int count = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        final List<OutHeader> headers = Arrays.stream(OutHeader.values())
+                .filter((header) -> OutPacketStats.getPacketCount(header) > 0 || OutPacketStats.getDropCount(header) > 0)
+                .sorted(Comparator.comparingLong(OutPacketStats::getAverageSize).reversed())
+                .limit(count)
+                .toList();
+        user.write(MessagePacket.system("Packet stats (header : count | average size | resize count | size hint | dropped)"));
+        for (OutHeader header : headers) {
+            user.write(MessagePacket.system("%s : %d | %d | %d | %d | %d", header, OutPacketStats.getPacketCount(header),
+                    OutPacketStats.getAverageSize(header), OutPacketStats.getResizeCount(header), OutPacketStats.getSizeHint(header),
+                    OutPacketStats.getDropCount(header)));
+        }
+    }
+
+    @Command("handlerstats")
+    public static void handlerStats(User user, String[] args) {
+        if (args.length > 1 && args[1].equalsIgnoreCase("reset")) {
+            InPacketStats.reset();
+            user.write(MessagePacket.system("Reset handler stats"));
+            return;
+        }
+        final int count = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        final List<InHeader> headers = Arrays.stream(InHeader.values())
+                .filter((header) -> InPacketStats.getHandleCount(header) > 0 || InPacketStats.getThrottleCount(header) > 0)
+                .sorted(Comparator.comparingLong(InPacketStats::getTotalTime).reversed())
+                .limit(count)
+                .toList();
+        user.write(MessagePacket.system("Handler stats (header : count | total ms | average us | max us | throttled)"));
+        for (InHeader header : headers) {
+            user.write(MessagePacket.system("%s : %d | %d | %d | %d | %d", header, InPacketStats.getHandleCount(header),
+                    InPacketStats.getTotalTime(header) / 1_000_000, InPacketStats.getAverageTime(header) / 1_000, InPacketStats.getMaxTime(header) / 1_000,
+                    InPacketStats.getThrottleCount(header)));
+        }
+    }
+
+    @Command("fieldstats")
+    public static void fieldStats(User user, String[] args) {
+        final int count = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        final List<Field> fields = user.getConnectedServer().getFields().stream()
+                .filter((field) -> field.getUserPool().getUpdateStats().getTickCount() > 0)
+                .sorted(Comparator.comparingLong((Field field) -> field.getUserPool().getUpdateStats().getTotalTime()).reversed())
+                .limit(count)
+                .toList();
+        user.write(MessagePacket.system("User update stats (field : ticks | users per tick | updates per tick | average us | max us)"));
+        for (Field field : fields) {
+            final UserUpdateStats stats = field.getUserPool().getUpdateStats();
+            user.write(MessagePacket.system("%d : %d | %.2f | %.2f | %d | %d", field.getFieldId(), stats.getTickCount(),
+                    (double) stats.getUserCount() / stats.getTickCount(), (double) stats.getUpdateCount() / stats.getTickCount(),
+                    stats.getAverageTime() / 1_000, stats.getMaxTime() / 1_000));
+        }
+    }
+
+    @Command("outboundstats")
+    public static void outboundStats(User user, String[] args) {
+        final int count = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        final List<User> users = user.getConnectedServer().getConnectedUsers().stream()
+                .sorted(Comparator.comparingLong((User u) -> u.getClient().getPendingWriteBytes()).reversed())
+                .limit(count)
+                .toList();
+        user.write(MessagePacket.system("Outbound stats (character : pending bytes | dropped)"));
+        for (User target : users) {
+            user.write(MessagePacket.system("%s : %d | %d", target.getCharacterName(), target.getClient().getPendingWriteBytes(),
+                    target.getClient().getDroppedCount()));
+        }
     }
 }
@@ -4,6 +4,7 @@ import kinoko.provider.MapProvider;
 import kinoko.provider.map.MapInfo;
 import kinoko.world.field.Field;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -21,6 +22,10 @@ public final class ChannelFieldStorage implements FieldStorage {
         return fieldResult;
     }
 
+    public List<Field> getFields() {
+        return fieldMap.values().stream().toList();
+    }
+
     @Override
     public void clear() {
         final var iter = fieldMap.values().iterator();
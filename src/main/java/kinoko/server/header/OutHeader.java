@@ -562,6 +562,17 @@ public enum OutHeader {
             FuncKeyMappedInit
     );
 
+    private static final Set<OutHeader> droppableHeaders = Set.of(
+            UserMove,
+            UserEmotion,
+            UserChat,
+            PetMove,
+            DragonMove,
+            SummonedMove,
+            MobMove,
+            NpcMove
+    );
+
     static {
         final List<OutHeader> headerList = new ArrayList<>(Collections.nCopies(NO.getValue() + 1, null));
         for (OutHeader header : values()) {
@@ -584,6 +595,10 @@ public enum OutHeader {
         return ignoreHeaders.contains(this);
     }
 
+    public final boolean isDroppableHeader() {
+        return droppableHeaders.contains(this);
+    }
+
     public static OutHeader getByValue(short op) {
         if (op >= 0 && op < NO.getValue()) {
             return headers.get(op);
@@ -3,8 +3,8 @@ package kinoko.server.netty;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
+import kinoko.server.packet.ByteBufInPacket;
 import kinoko.server.packet.InPacket;
-import kinoko.server.packet.NioBufferInPacket;
 
 import java.util.List;
 
@@ -22,11 +22,10 @@ public final class CentralPacketDecoder extends ByteToMessageDecoder {
             final int length = in.readIntLE();
             c.setStoredLength(length);
         } else if (in.readableBytes() >= c.getStoredLength()) {
-            final byte[] data = new byte[c.getStoredLength()];
-            in.readBytes(data);
+            final ByteBuf data = in.readRetainedSlice(c.getStoredLength());
             c.setStoredLength(-1);
 
-            final InPacket inPacket = new NioBufferInPacket(data);
+            final InPacket inPacket = new ByteBufInPacket(data);
             out.add(inPacket);
         }
     }
@@ -10,6 +10,11 @@ import org.apache.logging.log4j.Logger;
 public final class CentralPacketEncoder extends MessageToByteEncoder<OutPacket> {
     private static final Logger log = LogManager.getLogger(CentralPacketEncoder.class);
 
+    @Override
+    protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, OutPacket outPacket, boolean preferDirect) {
+        return ctx.alloc().ioBuffer(4 + outPacket.getSize());
+    }
+
     @Override
     protected void encode(ChannelHandlerContext ctx, OutPacket outPacket, ByteBuf out) {
         final NettyContext c = ctx.channel().attr(NettyContext.CONTEXT_KEY).get();
@@ -19,7 +24,7 @@ public final class CentralPacketEncoder extends MessageToByteEncoder<OutPacket>
         c.acquireEncoderState();
         try {
             out.writeIntLE(outPacket.getSize());
-            out.writeBytes(outPacket.getData());
+            outPacket.writeTo(out);
         } finally {
             c.releaseEncoderState();
         }
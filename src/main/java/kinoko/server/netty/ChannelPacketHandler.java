@@ -11,12 +11,14 @@ import kinoko.handler.user.item.CashItemHandler;
 import kinoko.handler.user.item.ItemHandler;
 import kinoko.handler.user.item.UpgradeItemHandler;
 import kinoko.server.header.InHeader;
+import kinoko.server.node.Client;
+import kinoko.server.packet.InPacket;
 
-import java.lang.reflect.Method;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 public final class ChannelPacketHandler extends PacketHandler {
-    private static final Map<InHeader, Method> channelPacketHandlerMap = loadHandlers(
+    private static final Map<InHeader, BiConsumer<Client, InPacket>> channelPacketHandlerMap = loadHandlers(
             ClientHandler.class,
             CashShopHandler.class,
             MigrationHandler.class,
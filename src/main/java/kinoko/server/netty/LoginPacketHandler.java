@@ -3,12 +3,14 @@ package kinoko.server.netty;
 import kinoko.handler.ClientHandler;
 import kinoko.handler.stage.LoginHandler;
 import kinoko.server.header.InHeader;
+import kinoko.server.node.Client;
+import kinoko.server.packet.InPacket;
 
-import java.lang.reflect.Method;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 public final class LoginPacketHandler extends PacketHandler {
-    private static final Map<InHeader, Method> loginPacketHandlerMap = loadHandlers(
+    private static final Map<InHeader, BiConsumer<Client, InPacket>> loginPacketHandlerMap = loadHandlers(
             ClientHandler.class,
             LoginHandler.class
     );
@@ -3,6 +3,7 @@ package kinoko.server.netty;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import kinoko.packet.CentralPacket;
+import kinoko.server.Server;
 import kinoko.server.ServerConstants;
 import kinoko.server.header.CentralHeader;
 import kinoko.server.migration.TransferInfo;
@@ -30,37 +31,42 @@ public final class LoginServerHandler extends SimpleChannelInboundHandler<InPack
         final CentralHeader header = CentralHeader.getByValue(op);
         log.log(Level.TRACE, "[ChannelServerNode] | {}({}) {}", header, Util.opToString(op), inPacket);
         ServerExecutor.submitService(() -> {
-            switch (header) {
-                case InitializeRequest -> {
-                    ctx.channel().writeAndFlush(CentralPacket.initializeResult(GameConstants.CHANNEL_LOGIN, ServerConstants.SERVER_HOST, ServerConstants.LOGIN_PORT));
-                }
-                case InitializeComplete -> {
-                    final int size = inPacket.decodeInt();
-                    for (int i = 0; i < size; i++) {
-                        final int channelId = inPacket.decodeInt();
-                        final int userCount = inPacket.decodeInt();
-                        loginServerNode.setChannel(ChannelInfo.from(channelId, userCount));
+            try {
+                switch (header) {
+                    case InitializeRequest -> {
+                        ctx.channel().writeAndFlush(CentralPacket.initializeResult(GameConstants.CHANNEL_LOGIN, ServerConstants.SERVER_HOST, ServerConstants.LOGIN_PORT));
                     }
-                    loginServerNode.setInitialized(true);
-                }
-                case OnlineResult -> {
-                    final int requestId = inPacket.decodeInt();
-                    final boolean online = inPacket.decodeBoolean();
-                    loginServerNode.completeOnlineRequest(requestId, online);
-                }
-                case TransferResult -> {
-                    final int requestId = inPacket.decodeInt();
-                    final boolean success = inPacket.decodeBoolean();
-                    final TransferInfo transferResult = success ? TransferInfo.decode(inPacket) : null;
-                    loginServerNode.completeLoginRequest(requestId, transferResult);
-                }
-                case ShutdownRequest -> {
-                    try {
-                        loginServerNode.shutdown();
-                    } catch (InterruptedException e) {
-                        throw new RuntimeException(e);
+                    case InitializeComplete -> {
+                        final int size = inPacket.decodeInt();
+                        for (int i = 0; i < size; i++) {
+                            final int channelId = inPacket.decodeInt();
+                            final int userCount = inPacket.decodeInt();
+                            loginServerNode.setChannel(ChannelInfo.from(channelId, userCount));
+                        }
+                        loginServerNode.setInitialized(true);
+                        Server.onStartupComplete();
+                    }
+                    case OnlineResult -> {
+                        final int requestId = inPacket.decodeInt();
+                        final boolean online = inPacket.decodeBoolean();
+                        loginServerNode.completeOnlineRequest(requestId, online);
+                    }
+                    case TransferResult -> {
+                        final int requestId = inPacket.decodeInt();
+                        final boolean success = inPacket.decodeBoolean();
+                        final TransferInfo transferResult = success ? TransferInfo.decode(inPacket) : null;
+                        loginServerNode.completeLoginRequest(requestId, transferResult);
+                    }
+                    case ShutdownRequest -> {
+                        try {
+                            loginServerNode.shutdown();
+                        } catch (InterruptedException e) {
+                            throw new RuntimeException(e);
+                        }
                     }
                 }
+            } finally {
+                inPacket.release();
             }
         });
     }
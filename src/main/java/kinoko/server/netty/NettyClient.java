@@ -1,25 +1,29 @@
 package kinoko.server.netty;
 
-import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelConfig;
 import io.netty.util.AttributeKey;
 import kinoko.server.node.ServerNode;
 import kinoko.server.packet.OutPacket;
+import kinoko.server.packet.OutPacketStats;
 
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 public abstract class NettyClient {
     public static final AttributeKey<NettyClient> CLIENT_KEY = AttributeKey.valueOf("C");
     private final Lock encoderLock = new ReentrantLock();
+    private final AtomicLong droppedCount = new AtomicLong();
     private final ServerNode serverNode;
-    private final SocketChannel socketChannel;
+    private final Channel channel;
     private byte[] sendIv;
     private byte[] recvIv;
     private int storedLength = -1;
 
-    public NettyClient(ServerNode serverNode, SocketChannel socketChannel) {
+    public NettyClient(ServerNode serverNode, Channel channel) {
         this.serverNode = serverNode;
-        this.socketChannel = socketChannel;
+        this.channel = channel;
     }
 
     public ServerNode getServerNode() {
@@ -58,11 +62,31 @@ public abstract class NettyClient {
         encoderLock.unlock();
     }
 
+    public final long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public final long getPendingWriteBytes() {
+        // Derived from the distance to the write buffer water marks, the outbound buffer itself is transport-internal
+        final ChannelConfig config = channel.config();
+        if (channel.isWritable()) {
+            return Math.max(config.getWriteBufferHighWaterMark() - channel.bytesBeforeUnwritable(), 0);
+        } else {
+            return config.getWriteBufferLowWaterMark() + channel.bytesBeforeWritable();
+        }
+    }
+
     public final void write(OutPacket outPacket) {
-        socketChannel.writeAndFlush(outPacket);
+        // Drop non-critical packets while the outbound buffer is above the high water mark
+        if (!channel.isWritable() && outPacket.getHeader().isDroppableHeader()) {
+            droppedCount.incrementAndGet();
+            OutPacketStats.recordDrop(outPacket.getHeader());
+            return;
+        }
+        channel.writeAndFlush(outPacket);
     }
 
     public void close() {
-        socketChannel.close();
+        channel.close();
     }
 }
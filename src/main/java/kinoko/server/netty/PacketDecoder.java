@@ -5,8 +5,8 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import kinoko.server.ServerConstants;
 import kinoko.server.node.ServerExecutor;
+import kinoko.server.packet.ByteBufInPacket;
 import kinoko.server.packet.InPacket;
-import kinoko.server.packet.NioBufferInPacket;
 import kinoko.util.crypto.IGCipher;
 import kinoko.util.crypto.MapleCrypto;
 import kinoko.util.crypto.ShandaCrypto;
@@ -30,27 +30,25 @@ public final class PacketDecoder extends ByteToMessageDecoder {
             if (in.readableBytes() < 4) {
                 return;
             }
-            final byte[] header = new byte[4];
-            in.readBytes(header);
-
-            final int version = ((header[0] ^ iv[2]) & 0xFF) | (((header[1] ^ iv[3]) << 8) & 0xFF00);
+            final int header = in.readIntLE();
+            final int version = ((header ^ iv[2]) & 0xFF) | ((((header >>> 8) ^ iv[3]) << 8) & 0xFF00);
             if (version != RECV_VERSION) {
                 log.warn("Incorrect packet seq, dropping client");
                 ServerExecutor.submitService(c::close);
                 return;
             }
-            final int length = ((header[0] ^ header[2]) & 0xFF) | (((header[1] ^ header[3]) << 8) & 0xFF00);
+            final int length = (header ^ (header >>> 16)) & 0xFFFF;
             c.setStoredLength(length);
         } else if (in.readableBytes() >= c.getStoredLength()) {
-            final byte[] data = new byte[c.getStoredLength()];
-            in.readBytes(data);
+            final int length = c.getStoredLength();
+            final ByteBuf data = in.readRetainedSlice(length);
             c.setStoredLength(-1);
 
-            MapleCrypto.crypt(data, iv);
-            ShandaCrypto.decrypt(data);
+            MapleCrypto.crypt(data, 0, length, iv);
+            ShandaCrypto.decrypt(data, 0, length);
             c.setRecvIv(IGCipher.innoHash(iv));
 
-            final InPacket inPacket = new NioBufferInPacket(data);
+            final InPacket inPacket = new ByteBufInPacket(data);
             out.add(inPacket);
         }
     }
@@ -7,7 +7,6 @@ import kinoko.server.ServerConfig;
 import kinoko.server.ServerConstants;
 import kinoko.server.header.OutHeader;
 import kinoko.server.packet.OutPacket;
-import kinoko.util.Util;
 import kinoko.util.crypto.IGCipher;
 import kinoko.util.crypto.MapleCrypto;
 import kinoko.util.crypto.ShandaCrypto;
@@ -19,15 +18,21 @@ public final class PacketEncoder extends MessageToByteEncoder<OutPacket> {
     public static final short SEND_VERSION = (short) (0xFFFF - ServerConstants.GAME_VERSION);
     private static final Logger log = LogManager.getLogger(PacketEncoder.class);
 
+    @Override
+    protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, OutPacket outPacket, boolean preferDirect) {
+        // Exact size of the encoded packet, the data is encrypted in place so no other buffer is required
+        return ctx.alloc().ioBuffer(4 + outPacket.getSize());
+    }
+
     @Override
     protected void encode(ChannelHandlerContext ctx, OutPacket outPacket, ByteBuf out) {
         final NettyClient c = ctx.channel().attr(NettyClient.CLIENT_KEY).get();
         final OutHeader header = outPacket.getHeader();
-        final byte[] data = outPacket.getData();
+        final int length = outPacket.getSize();
         if (c == null) {
-            log.log(ServerConfig.DEBUG_MODE && !header.isIgnoreHeader() ? Level.DEBUG : Level.TRACE, "[Out] | Plain sending " + Util.readableByteArray(data));
-            out.writeShortLE(data.length);
-            out.writeBytes(data);
+            log.log(ServerConfig.DEBUG_MODE && !header.isIgnoreHeader() ? Level.DEBUG : Level.TRACE, "[Out] | Plain sending {}", outPacket);
+            out.writeShortLE(length);
+            outPacket.writeTo(out);
             return;
         }
         c.acquireEncoderState();
@@ -35,16 +40,16 @@ public final class PacketEncoder extends MessageToByteEncoder<OutPacket> {
             log.log(ServerConfig.DEBUG_MODE && !header.isIgnoreHeader() ? Level.DEBUG : Level.TRACE, "[Out] | {}", outPacket);
             final byte[] iv = c.getSendIv();
             final int rawSeq = ((iv[2] & 0xFF) | ((iv[3] << 8) & 0xFF00)) ^ SEND_VERSION;
-            final int dataLen = data.length ^ rawSeq;
+            final int dataLen = length ^ rawSeq;
 
             out.writeShortLE(rawSeq);
             out.writeShortLE(dataLen);
 
-            ShandaCrypto.encrypt(data);
-            MapleCrypto.crypt(data, iv);
+            final int index = out.writerIndex();
+            outPacket.writeTo(out);
+            ShandaCrypto.encrypt(out, index, length);
+            MapleCrypto.crypt(out, index, length, iv);
             c.setSendIv(IGCipher.innoHash(iv));
-
-            out.writeBytes(data);
         } finally {
             c.releaseEncoderState();
         }
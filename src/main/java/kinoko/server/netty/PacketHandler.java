@@ -2,29 +2,28 @@ package kinoko.server.netty;
 
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
-import kinoko.handler.Handler;
+import kinoko.handler.HandlerRegistry;
 import kinoko.server.ServerConfig;
 import kinoko.server.header.InHeader;
 import kinoko.server.node.Client;
 import kinoko.server.node.ServerExecutor;
 import kinoko.server.packet.InPacket;
+import kinoko.server.packet.InPacketStats;
 import kinoko.util.Util;
-import kinoko.world.user.User;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 public abstract class PacketHandler extends SimpleChannelInboundHandler<InPacket> {
     private static final Logger log = LogManager.getLogger(PacketHandler.class);
-    private final Map<InHeader, Method> handlerMap;
+    private final Map<InHeader, BiConsumer<Client, InPacket>> handlerMap;
 
-    protected PacketHandler(Map<InHeader, Method> handlerMap) {
+    protected PacketHandler(Map<InHeader, BiConsumer<Client, InPacket>> handlerMap) {
         this.handlerMap = handlerMap;
     }
 
@@ -35,26 +34,26 @@ public abstract class PacketHandler extends SimpleChannelInboundHandler<InPacket
         final InHeader header = InHeader.getByValue(op);
         if (header == null) {
             log.error("Unknown opcode {} | {}", Util.opToString(op), inPacket);
+            inPacket.release();
             return;
         }
-        final Method handler = handlerMap.get(header);
+        final BiConsumer<Client, InPacket> handler = handlerMap.get(header);
         if (handler == null) {
             log.log(!header.isIgnoreHeader() ? Level.DEBUG : Level.TRACE, "Unhandled header {}({}) | {}", header, Util.opToString(op), inPacket);
+            inPacket.release();
             return;
         }
         log.log(ServerConfig.DEBUG_MODE && !header.isIgnoreHeader() ? Level.DEBUG : Level.TRACE, "[In]  | {}({}) {}", header, Util.opToString(op), inPacket);
         ServerExecutor.submit(client, () -> {
+            final long start = System.nanoTime();
             try {
-                if (handler.getParameterTypes()[0] == Client.class) {
-                    handler.invoke(null, client, inPacket);
-                } else if (handler.getParameterTypes()[0] == User.class) {
-                    handler.invoke(null, client.getUser(), inPacket);
-                } else {
-                    throw new IllegalStateException("Handler with incorrect parameter types.");
-                }
-            } catch (IllegalAccessException | InvocationTargetException e) {
+                handler.accept(client, inPacket);
+            } catch (Throwable e) {
                 log.error("Exception caught while invoking packet handler", e);
                 e.printStackTrace();
+            } finally {
+                InPacketStats.recordHandle(header, System.nanoTime() - start);
+                inPacket.release();
             }
         });
     }
@@ -75,24 +74,19 @@ public abstract class PacketHandler extends SimpleChannelInboundHandler<InPacket
         cause.printStackTrace();
     }
 
-    protected static Map<InHeader, Method> loadHandlers(Class<?>... handlerClasses) {
-        final Map<InHeader, Method> handlerMap = new EnumMap<>(InHeader.class);
+    protected static Map<InHeader, BiConsumer<Client, InPacket>> loadHandlers(Class<?>... handlerClasses) {
+        final Map<InHeader, BiConsumer<Client, InPacket>> handlerMap = new EnumMap<>(InHeader.class);
         for (Class<?> clazz : handlerClasses) {
-            for (Method method : clazz.getDeclaredMethods()) {
-                if (!method.isAnnotationPresent(Handler.class)) {
-                    continue;
-                }
-                if (method.getParameterCount() != 2 || (method.getParameterTypes()[0] != Client.class && method.getParameterTypes()[0] != User.class) ||
-                        method.getParameterTypes()[1] != InPacket.class) {
-                    throw new RuntimeException(String.format("Incorrect parameters for handler method \"%s\"", method.getName()));
-                }
-                Handler annotation = method.getAnnotation(Handler.class);
-                for (InHeader header : annotation.value()) {
-                    if (handlerMap.containsKey(header)) {
-                        throw new RuntimeException(String.format("Multiple handlers found for InHeader \"%s\"", header.name()));
-                    }
-                    handlerMap.put(header, method);
+            // Handler methods are collected at compile time, see RegistryProcessor
+            final Map<InHeader, BiConsumer<Client, InPacket>> handlers = HandlerRegistry.getHandlers(clazz);
+            if (handlers.isEmpty()) {
+                throw new RuntimeException(String.format("No handlers registered for class \"%s\"", clazz.getName()));
+            }
+            for (var entry : handlers.entrySet()) {
+                if (handlerMap.containsKey(entry.getKey())) {
+                    throw new RuntimeException(String.format("Multiple handlers found for InHeader \"%s\"", entry.getKey().name()));
                 }
+                handlerMap.put(entry.getKey(), entry.getValue());
             }
         }
         return Collections.unmodifiableMap(handlerMap);
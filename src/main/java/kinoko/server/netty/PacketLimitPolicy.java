@@ -0,0 +1,31 @@
+package kinoko.server.netty;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public enum PacketLimitPolicy {
+    DROP,
+    DISCONNECT;
+
+    private static final Logger log = LogManager.getLogger(PacketLimitPolicy.class);
+
+    public static PacketLimitPolicy getByName(String name) {
+        for (PacketLimitPolicy policy : values()) {
+            if (policy.name().equalsIgnoreCase(name)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    public static PacketLimitPolicy getByName(String name, PacketLimitPolicy defaultPolicy) {
+        final PacketLimitPolicy policy = getByName(name);
+        if (policy != null) {
+            return policy;
+        }
+        if (name != null && !name.isEmpty()) {
+            log.error("Unknown packet limit policy {}, using {}", name, defaultPolicy);
+        }
+        return defaultPolicy;
+    }
+}
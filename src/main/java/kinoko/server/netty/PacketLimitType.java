@@ -0,0 +1,83 @@
+package kinoko.server.netty;
+
+import kinoko.server.ServerConfig;
+import kinoko.server.header.InHeader;
+import kinoko.util.Util;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Token bucket configuration for groups of {@link InHeader} operation codes. The rate (packets per second), burst and
+ * policy of each group can be overridden with the environment variables PACKET_LIMIT_{GROUP}_RATE,
+ * PACKET_LIMIT_{GROUP}_BURST and PACKET_LIMIT_{GROUP}_POLICY.
+ */
+public enum PacketLimitType {
+    MOVE(50, 100, Set.of(
+            InHeader.UserMove,
+            InHeader.PetMove,
+            InHeader.DragonMove,
+            InHeader.SummonedMove
+    )),
+    MOB_MOVE(200, 400, Set.of(
+            InHeader.MobMove,
+            InHeader.NpcMove
+    )),
+    ATTACK(20, 40, Set.of(
+            InHeader.UserMeleeAttack,
+            InHeader.UserShootAttack,
+            InHeader.UserMagicAttack,
+            InHeader.UserBodyAttack,
+            InHeader.SummonedAttack
+    )),
+    CHAT(5, 10, Set.of(
+            InHeader.UserChat,
+            InHeader.UserEmotion,
+            InHeader.GroupMessage,
+            InHeader.Whisper,
+            InHeader.Messenger
+    )),
+    DEFAULT(100, 200, Set.of());
+
+    private static final Map<InHeader, PacketLimitType> headerTypes;
+
+    static {
+        final Map<InHeader, PacketLimitType> typeMap = new EnumMap<>(InHeader.class);
+        for (PacketLimitType type : values()) {
+            for (InHeader header : type.headers) {
+                typeMap.put(header, type);
+            }
+        }
+        headerTypes = Collections.unmodifiableMap(typeMap);
+    }
+
+    private final int rate;
+    private final int burst;
+    private final PacketLimitPolicy policy;
+    private final Set<InHeader> headers;
+
+    PacketLimitType(int rate, int burst, Set<InHeader> headers) {
+        this.rate = Util.getEnv(String.format("PACKET_LIMIT_%s_RATE", name()), rate);
+        this.burst = Util.getEnv(String.format("PACKET_LIMIT_%s_BURST", name()), burst);
+        this.policy = PacketLimitPolicy.getByName(Util.getEnv(String.format("PACKET_LIMIT_%s_POLICY", name()), ""), ServerConfig.PACKET_LIMIT_POLICY);
+        this.headers = headers;
+    }
+
+    public final int getRate() {
+        return rate;
+    }
+
+    public final int getBurst() {
+        return burst;
+    }
+
+    public final PacketLimitPolicy getPolicy() {
+        return policy;
+    }
+
+    public static PacketLimitType getByHeader(InHeader header) {
+        return headerTypes.getOrDefault(header, DEFAULT);
+    }
+}
@@ -0,0 +1,78 @@
+package kinoko.server.netty;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import kinoko.server.header.InHeader;
+import kinoko.server.packet.InPacket;
+import kinoko.server.packet.InPacketStats;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket rate limiter for inbound packets, placed between the {@link PacketDecoder} and the {@link PacketHandler}
+ * so that throttled packets are never submitted to the game executors. A new instance is created for each connection,
+ * the state is only accessed from the channel's event loop.
+ */
+public final class PacketLimiter extends ChannelInboundHandlerAdapter {
+    private static final Logger log = LogManager.getLogger(PacketLimiter.class);
+    private static final PacketLimitType[] limitTypes = PacketLimitType.values();
+    private final double[] tokens = new double[limitTypes.length];
+    private final long[] updateTimes = new long[limitTypes.length];
+
+    public PacketLimiter() {
+        final long now = System.nanoTime();
+        for (int i = 0; i < limitTypes.length; i++) {
+            tokens[i] = limitTypes[i].getBurst();
+            updateTimes[i] = now;
+        }
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (!(msg instanceof InPacket inPacket)) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+        if (inPacket.getRemaining() < 2) {
+            // Frame too short to contain an opcode, never sent by a valid client
+            log.warn("Received malformed packet of length {} from {}, dropping client", inPacket.getRemaining(), ctx.channel().remoteAddress());
+            inPacket.release();
+            ctx.close();
+            return;
+        }
+        final InHeader header = InHeader.getByValue(inPacket.peekShort());
+        if (header == null) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+        final PacketLimitType limitType = PacketLimitType.getByHeader(header);
+        if (tryAcquire(limitType)) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+        // Packet throttled
+        InPacketStats.recordThrottle(header);
+        inPacket.release();
+        if (limitType.getPolicy() == PacketLimitPolicy.DISCONNECT) {
+            log.warn("Packet limit exceeded for {} by {}, dropping client", header, ctx.channel().remoteAddress());
+            ctx.close();
+        } else {
+            log.trace("Packet limit exceeded for {} by {}, dropping packet", header, ctx.channel().remoteAddress());
+        }
+    }
+
+    private boolean tryAcquire(PacketLimitType limitType) {
+        final int index = limitType.ordinal();
+        final long now = System.nanoTime();
+        final double elapsed = (double) (now - updateTimes[index]) / TimeUnit.SECONDS.toNanos(1);
+        tokens[index] = Math.min(tokens[index] + elapsed * limitType.getRate(), limitType.getBurst());
+        updateTimes[index] = now;
+        if (tokens[index] < 1) {
+            return false;
+        }
+        tokens[index] -= 1;
+        return true;
+    }
+}
@@ -0,0 +1,34 @@
+package kinoko.server.netty;
+
+import io.netty.channel.DefaultMessageSizeEstimator;
+import io.netty.channel.MessageSizeEstimator;
+import kinoko.server.packet.OutPacket;
+
+/**
+ * Estimates the size of pending {@link OutPacket} writes using the packet size, so that the channel writability reflects
+ * the packets that have not been encoded yet.
+ */
+public final class PacketSizeEstimator implements MessageSizeEstimator {
+    public static final PacketSizeEstimator INSTANCE = new PacketSizeEstimator();
+    private final Handle handle = new PacketSizeHandle();
+
+    private PacketSizeEstimator() {
+    }
+
+    @Override
+    public Handle newHandle() {
+        return handle;
+    }
+
+    private static final class PacketSizeHandle implements Handle {
+        private final Handle defaultHandle = DefaultMessageSizeEstimator.DEFAULT.newHandle();
+
+        @Override
+        public int size(Object msg) {
+            if (msg instanceof OutPacket outPacket) {
+                return outPacket.getSize();
+            }
+            return defaultHandle.size(msg);
+        }
+    }
+}
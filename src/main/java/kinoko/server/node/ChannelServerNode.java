@@ -230,6 +230,10 @@ public final class ChannelServerNode extends ServerNode {
         return fieldStorage.getFieldById(mapId);
     }
 
+    public List<Field> getFields() {
+        return fieldStorage.getFields();
+    }
+
 
     // INSTANCE METHODS ------------------------------------------------------------------------------------------------
 
@@ -262,7 +266,11 @@ public final class ChannelServerNode extends ServerNode {
         channelServerFuture = startServer(new ChannelInitializer<>() {
             @Override
             protected void initChannel(SocketChannel ch) {
-                ch.pipeline().addLast(new PacketDecoder(), new ChannelPacketHandler(), new PacketEncoder());
+                ch.pipeline().addLast(new PacketDecoder());
+                if (ServerConfig.PACKET_LIMIT_ENABLED) {
+                    ch.pipeline().addLast(new PacketLimiter());
+                }
+                ch.pipeline().addLast(new ChannelPacketHandler(), new PacketEncoder());
                 final Client c = new Client(self, ch);
                 c.setSendIv(getNewIv());
                 c.setRecvIv(getNewIv());
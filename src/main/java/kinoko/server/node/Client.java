@@ -1,6 +1,6 @@
 package kinoko.server.node;
 
-import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.Channel;
 import kinoko.database.DatabaseManager;
 import kinoko.packet.ClientPacket;
 import kinoko.server.netty.NettyClient;
@@ -13,8 +13,8 @@ public final class Client extends NettyClient {
     private byte[] machineId;
     private byte[] clientKey;
 
-    public Client(ServerNode serverNode, SocketChannel socketChannel) {
-        super(serverNode, socketChannel);
+    public Client(ServerNode serverNode, Channel channel) {
+        super(serverNode, channel);
     }
 
     public Account getAccount() {
@@ -97,7 +97,11 @@ public final class LoginServerNode extends ServerNode {
         loginServerFuture = startServer(new ChannelInitializer<>() {
             @Override
             protected void initChannel(SocketChannel ch) {
-                ch.pipeline().addLast(new PacketDecoder(), new LoginPacketHandler(), new PacketEncoder());
+                ch.pipeline().addLast(new PacketDecoder());
+                if (ServerConfig.PACKET_LIMIT_ENABLED) {
+                    ch.pipeline().addLast(new PacketLimiter());
+                }
+                ch.pipeline().addLast(new LoginPacketHandler(), new PacketEncoder());
                 if (!self.isInitialized()) {
                     ch.close();
                     return;
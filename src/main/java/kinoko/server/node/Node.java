@@ -6,10 +6,13 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
+import kinoko.server.ServerConfig;
+import kinoko.server.netty.PacketSizeEstimator;
 
 import java.net.InetAddress;
 import java.util.concurrent.CompletableFuture;
@@ -43,6 +46,8 @@ public abstract class Node {
         b.childHandler(initializer);
         b.childOption(ChannelOption.TCP_NODELAY, true);
         b.childOption(ChannelOption.SO_KEEPALIVE, true);
+        b.childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(ServerConfig.WRITE_BUFFER_LOW_WATER_MARK, ServerConfig.WRITE_BUFFER_HIGH_WATER_MARK));
+        b.childOption(ChannelOption.MESSAGE_SIZE_ESTIMATOR, PacketSizeEstimator.INSTANCE);
         return b.bind(port);
     }
 
@@ -43,13 +43,13 @@ public abstract class ServerNode extends Node {
 
     protected static byte[] getNewIv() {
         final byte[] iv = new byte[4];
-        Util.getRandom().nextBytes(iv);
+        Util.getSecureRandom().nextBytes(iv);
         return iv;
     }
 
     protected static byte[] getNewClientKey() {
         final byte[] clientKey = new byte[8];
-        Util.getRandom().nextBytes(clientKey);
+        Util.getSecureRandom().nextBytes(clientKey);
         return clientKey;
     }
 }
@@ -0,0 +1,99 @@
+package kinoko.server.packet;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import kinoko.util.Util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link InPacket} implementation backed by a slice of the channel's cumulation buffer. The slice is retained by the
+ * decoder, and must be released by the handler after the packet has been processed.
+ */
+public final class ByteBufInPacket implements InPacket {
+    private final ByteBuf buffer;
+
+    public ByteBufInPacket(ByteBuf buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public byte peekByte() {
+        return buffer.getByte(buffer.readerIndex());
+    }
+
+    @Override
+    public short peekShort() {
+        return buffer.getShortLE(buffer.readerIndex());
+    }
+
+    @Override
+    public byte decodeByte() {
+        return buffer.readByte();
+    }
+
+    @Override
+    public short decodeShort() {
+        return buffer.readShortLE();
+    }
+
+    @Override
+    public int decodeInt() {
+        return buffer.readIntLE();
+    }
+
+    @Override
+    public long decodeLong() {
+        return buffer.readLongLE();
+    }
+
+    @Override
+    public byte[] decodeArray(int length) {
+        final byte[] array = new byte[length];
+        buffer.readBytes(array);
+        return array;
+    }
+
+    @Override
+    public String decodeString(int length) {
+        final String value = buffer.toString(buffer.readerIndex(), length, StandardCharsets.US_ASCII);
+        buffer.skipBytes(length);
+        return value;
+    }
+
+    @Override
+    public String decodeString() {
+        final short length = decodeShort();
+        return decodeString(length);
+    }
+
+    @Override
+    public byte[] getData() {
+        return ByteBufUtil.getBytes(buffer, 0, buffer.writerIndex());
+    }
+
+    @Override
+    public byte[] getData(int position, int length) {
+        return ByteBufUtil.getBytes(buffer, position, length);
+    }
+
+    @Override
+    public int getPosition() {
+        return buffer.readerIndex();
+    }
+
+    @Override
+    public int getRemaining() {
+        return buffer.readableBytes();
+    }
+
+    @Override
+    public void release() {
+        buffer.release();
+    }
+
+    @Override
+    public String toString() {
+        return Util.readableByteArray(ByteBufUtil.getBytes(buffer, 2, buffer.writerIndex() - 2));
+    }
+}
@@ -0,0 +1,144 @@
+package kinoko.server.packet;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import kinoko.server.header.OutHeader;
+import kinoko.util.Util;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * {@link OutPacket} implementation backed by a single contiguous {@link ByteBuf}. The packet may be written to any number
+ * of clients, the encoder copies the contents directly into the pooled outbound buffer of each channel.
+ */
+public final class ByteBufOutPacket implements OutPacket {
+    public static final int DEFAULT_CAPACITY = 16;
+    private static final Logger log = LogManager.getLogger(OutPacket.class);
+    private static final AtomicIntegerFieldUpdater<ByteBufOutPacket> recordedUpdater = AtomicIntegerFieldUpdater.newUpdater(ByteBufOutPacket.class, "recorded");
+    private final ByteBuf buffer;
+    private final OutHeader header;
+    private int resizeCount;
+    private volatile int recorded;
+
+    public ByteBufOutPacket(OutHeader header, int initialCapacity) {
+        this.buffer = Unpooled.buffer(initialCapacity);
+        this.header = header;
+    }
+
+    public ByteBufOutPacket() {
+        this(null, DEFAULT_CAPACITY);
+    }
+
+    private void countResize(int size) {
+        // The buffer grows on write, only count the writes that exceed the current capacity
+        if (buffer.writableBytes() < size) {
+            resizeCount++;
+        }
+    }
+
+    @Override
+    public void encodeByte(byte value) {
+        countResize(1);
+        buffer.writeByte(value);
+    }
+
+    @Override
+    public void encodeShort(short value) {
+        countResize(2);
+        buffer.writeShortLE(value);
+    }
+
+    @Override
+    public void encodeInt(int value) {
+        countResize(4);
+        buffer.writeIntLE(value);
+    }
+
+    @Override
+    public void encodeLong(long value) {
+        countResize(8);
+        buffer.writeLongLE(value);
+    }
+
+    @Override
+    public void encodeDouble(double value) {
+        countResize(8);
+        buffer.writeDoubleLE(value);
+    }
+
+    @Override
+    public void encodeArray(byte[] value) {
+        countResize(value.length);
+        buffer.writeBytes(value);
+    }
+
+    @Override
+    public void encodeString(String value, int length) {
+        if (value == null) {
+            value = "";
+        }
+        countResize(length);
+        if (value.length() > length) {
+            log.error("Encoding a string that is too long, string will be truncated");
+            buffer.writeCharSequence(value.substring(0, length), StandardCharsets.US_ASCII);
+        } else {
+            buffer.writeCharSequence(value, StandardCharsets.US_ASCII);
+            buffer.writeZero(length - value.length());
+        }
+    }
+
+    @Override
+    public void encodeString(String value) {
+        if (value == null) {
+            value = "";
+        }
+        if (value.length() > Short.MAX_VALUE) {
+            log.error("Encoding a string that is too long, string will be truncated");
+        }
+        final int length = Math.min(value.length(), Short.MAX_VALUE);
+        countResize(2 + length);
+        buffer.writeShortLE(value.length());
+        buffer.writeCharSequence(value.substring(0, length), StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public int getSize() {
+        return buffer.writerIndex();
+    }
+
+    @Override
+    public OutHeader getHeader() {
+        if (header != null) {
+            return header;
+        }
+        if (buffer.writerIndex() < 2) {
+            return OutHeader.NO;
+        }
+        return OutHeader.getByValue(buffer.getShortLE(0));
+    }
+
+    @Override
+    public byte[] getData() {
+        return ByteBufUtil.getBytes(buffer, 0, buffer.writerIndex());
+    }
+
+    @Override
+    public void writeTo(ByteBuf out) {
+        // Packets can be written to multiple clients, only record the size once
+        if (header != null && recordedUpdater.compareAndSet(this, 0, 1)) {
+            OutPacketStats.record(header, buffer.writerIndex(), resizeCount);
+        }
+        out.writeBytes(buffer, 0, buffer.writerIndex());
+    }
+
+    @Override
+    public String toString() {
+        final OutHeader header = getHeader();
+        return String.format("%s(%s) | %s", header, Util.opToString(header.getValue()),
+                Util.readableByteArray(ByteBufUtil.getBytes(buffer, 2, buffer.writerIndex() - 2)));
+    }
+}
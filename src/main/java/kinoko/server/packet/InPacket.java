@@ -3,6 +3,8 @@ package kinoko.server.packet;
 public interface InPacket {
     byte peekByte();
 
+    short peekShort();
+
     byte decodeByte();
 
     default boolean decodeBoolean() {
@@ -23,5 +25,11 @@ public interface InPacket {
 
     byte[] getData();
 
+    byte[] getData(int position, int length);
+
+    int getPosition();
+
     int getRemaining();
+
+    void release();
 }
@@ -0,0 +1,58 @@
+package kinoko.server.packet;
+
+import kinoko.server.header.InHeader;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tracks the number of handled and throttled {@link InPacket} instances per {@link InHeader}, and the time spent in the
+ * handlers.
+ */
+public final class InPacketStats {
+    private static final int HEADER_COUNT = InHeader.values().length;
+    private static final AtomicLongArray handleCounts = new AtomicLongArray(HEADER_COUNT);
+    private static final AtomicLongArray totalTimes = new AtomicLongArray(HEADER_COUNT);
+    private static final AtomicLongArray maxTimes = new AtomicLongArray(HEADER_COUNT);
+    private static final AtomicLongArray throttleCounts = new AtomicLongArray(HEADER_COUNT);
+
+    public static long getHandleCount(InHeader header) {
+        return handleCounts.get(header.ordinal());
+    }
+
+    public static long getTotalTime(InHeader header) {
+        return totalTimes.get(header.ordinal());
+    }
+
+    public static long getAverageTime(InHeader header) {
+        final long count = getHandleCount(header);
+        return count != 0 ? getTotalTime(header) / count : 0;
+    }
+
+    public static long getMaxTime(InHeader header) {
+        return maxTimes.get(header.ordinal());
+    }
+
+    public static long getThrottleCount(InHeader header) {
+        return throttleCounts.get(header.ordinal());
+    }
+
+    public static void recordHandle(InHeader header, long time) {
+        final int index = header.ordinal();
+        handleCounts.incrementAndGet(index);
+        totalTimes.addAndGet(index, time);
+        maxTimes.accumulateAndGet(index, time, Math::max);
+    }
+
+    public static void recordThrottle(InHeader header) {
+        throttleCounts.incrementAndGet(header.ordinal());
+    }
+
+    public static void reset() {
+        for (int i = 0; i < HEADER_COUNT; i++) {
+            handleCounts.set(i, 0);
+            totalTimes.set(i, 0);
+            maxTimes.set(i, 0);
+            throttleCounts.set(i, 0);
+        }
+    }
+}
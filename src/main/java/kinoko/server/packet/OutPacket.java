@@ -1,5 +1,6 @@
 package kinoko.server.packet;
 
+import io.netty.buffer.ByteBuf;
 import kinoko.server.header.CentralHeader;
 import kinoko.server.header.OutHeader;
 import kinoko.util.FileTime;
@@ -62,8 +63,10 @@ public interface OutPacket {
 
     byte[] getData();
 
+    void writeTo(ByteBuf out);
+
     static OutPacket of() {
-        return new NioBufferOutPacket();
+        return new ByteBufOutPacket();
     }
 
     static OutPacket of(byte[] data) {
@@ -79,7 +82,7 @@ public interface OutPacket {
     }
 
     static OutPacket of(OutHeader op) {
-        final OutPacket outPacket = OutPacket.of();
+        final OutPacket outPacket = new ByteBufOutPacket(op, OutPacketStats.getSizeHint(op));
         outPacket.encodeShort(op.getValue());
         return outPacket;
     }
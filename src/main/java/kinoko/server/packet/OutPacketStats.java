@@ -0,0 +1,114 @@
+package kinoko.server.packet;
+
+import kinoko.server.header.OutHeader;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tracks the size of written {@link OutPacket} instances per {@link OutHeader}. A decaying histogram of the recent sizes
+ * is kept for each header, which is used to pick the initial buffer capacity for new packets with the same header. The
+ * number of packets dropped due to backpressure is also tracked.
+ */
+public final class OutPacketStats {
+    public static final int DEFAULT_SIZE_HINT = ByteBufOutPacket.DEFAULT_CAPACITY;
+    private static final int BUCKET_COUNT = 16; // 16 bytes -> 512 KB
+    private static final int MIN_BUCKET_SHIFT = 4;
+    private static final int UPDATE_INTERVAL = 32;
+    private static final int DECAY_THRESHOLD = 1024;
+    private static final double HINT_PERCENTILE = 0.9;
+
+    private static final int HEADER_COUNT = OutHeader.values().length;
+    private static final AtomicLongArray packetCounts = new AtomicLongArray(HEADER_COUNT);
+    private static final AtomicLongArray totalSizes = new AtomicLongArray(HEADER_COUNT);
+    private static final AtomicLongArray resizeCounts = new AtomicLongArray(HEADER_COUNT);
+    private static final AtomicLongArray dropCounts = new AtomicLongArray(HEADER_COUNT);
+    private static final AtomicIntegerArray histograms = new AtomicIntegerArray(HEADER_COUNT * BUCKET_COUNT);
+    private static final AtomicIntegerArray sizeHints = new AtomicIntegerArray(HEADER_COUNT);
+
+    static {
+        for (int i = 0; i < HEADER_COUNT; i++) {
+            sizeHints.set(i, DEFAULT_SIZE_HINT);
+        }
+    }
+
+    public static int getSizeHint(OutHeader header) {
+        return sizeHints.get(header.ordinal());
+    }
+
+    public static long getPacketCount(OutHeader header) {
+        return packetCounts.get(header.ordinal());
+    }
+
+    public static long getAverageSize(OutHeader header) {
+        final long count = getPacketCount(header);
+        return count != 0 ? totalSizes.get(header.ordinal()) / count : 0;
+    }
+
+    public static long getResizeCount(OutHeader header) {
+        return resizeCounts.get(header.ordinal());
+    }
+
+    public static long getDropCount(OutHeader header) {
+        return dropCounts.get(header.ordinal());
+    }
+
+    public static void record(OutHeader header, int size, int resizeCount) {
+        final int index = header.ordinal();
+        final long count = packetCounts.incrementAndGet(index);
+        totalSizes.addAndGet(index, size);
+        if (resizeCount > 0) {
+            resizeCounts.addAndGet(index, resizeCount);
+        }
+        histograms.incrementAndGet(index * BUCKET_COUNT + getBucket(size));
+        if (count % UPDATE_INTERVAL == 0) {
+            updateSizeHint(index);
+        }
+    }
+
+    public static void recordDrop(OutHeader header) {
+        dropCounts.incrementAndGet(header.ordinal());
+    }
+
+    public static void reset() {
+        for (int i = 0; i < HEADER_COUNT; i++) {
+            packetCounts.set(i, 0);
+            totalSizes.set(i, 0);
+            resizeCounts.set(i, 0);
+            dropCounts.set(i, 0);
+        }
+    }
+
+    private static void updateSizeHint(int index) {
+        final int offset = index * BUCKET_COUNT;
+        int total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            total += histograms.get(offset + i);
+        }
+        // Smallest bucket that fits the configured percentile of the recent sizes
+        final int threshold = (int) Math.ceil(total * HINT_PERCENTILE);
+        int cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += histograms.get(offset + i);
+            if (cumulative >= threshold) {
+                sizeHints.set(index, getBucketSize(i));
+                break;
+            }
+        }
+        // Decay histogram so that the hint follows the recent sizes
+        if (total >= DECAY_THRESHOLD) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                histograms.set(offset + i, histograms.get(offset + i) / 2);
+            }
+        }
+    }
+
+    private static int getBucket(int size) {
+        final int bits = 32 - Integer.numberOfLeadingZeros(Math.max(size - 1, 0));
+        return Math.min(Math.max(bits - MIN_BUCKET_SHIFT, 0), BUCKET_COUNT - 1);
+    }
+
+    private static int getBucketSize(int bucket) {
+        return 1 << (bucket + MIN_BUCKET_SHIFT);
+    }
+}
@@ -28,6 +28,23 @@ public final class BitFlag<T extends BitIndex> implements Encodable {
         flags[bitIndex.getArrayIndex()] |= bitIndex.getBitPosition();
     }
 
+    public void resetFlag(T bitIndex) {
+        if (bitIndex.getArrayIndex() >= flags.length) {
+            return;
+        }
+        flags[bitIndex.getArrayIndex()] &= ~bitIndex.getBitPosition();
+    }
+
+    public boolean intersects(BitFlag<T> other) {
+        final int length = Math.min(flags.length, other.flags.length);
+        for (int i = 0; i < length; i++) {
+            if ((flags[i] & other.flags[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public boolean isEmpty() {
         for (int i : flags) {
             if (i != 0) {
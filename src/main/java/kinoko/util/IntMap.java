@@ -0,0 +1,179 @@
+package kinoko.util;
+
+import java.util.*;
+
+/**
+ * Open-addressing hash map with primitive int keys, used for the provider registries. Lookups through {@link #get(int)}
+ * avoid boxing the key and resolve with linear probing over the key array.
+ * <p>
+ * The map is not thread-safe. A provider populates it on a single thread while loading and calls {@link #freeze()} once
+ * it is complete, after which {@link #put(int, Object)} and {@link #clear()} throw and the map can be read concurrently.
+ * The loaded map must be published safely, e.g. through a volatile field or the completion of the provider loading.
+ * Reloadable data is built into a new map instead of modifying the published one.
+ */
+public final class IntMap<V> extends AbstractMap<Integer, V> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private int[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+    private boolean frozen;
+
+    public IntMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntMap(int expectedSize) {
+        final int capacity = Math.max(Integer.highestOneBit(Math.max(expectedSize, 1) * 2 - 1) << 1, DEFAULT_CAPACITY);
+        this.keys = new int[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int index = getIndex(key);
+        Object value;
+        while ((value = values[index]) != null) {
+            if (keys[index] == key) {
+                return (V) value;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Prevents further modification of the map, returning the map itself.
+     */
+    public IntMap<V> freeze() {
+        frozen = true;
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        Objects.requireNonNull(value, "IntMap does not support null values");
+        checkModifiable();
+        int index = getIndex(key);
+        Object existing;
+        while ((existing = values[index]) != null) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return (V) existing;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size * 2 > values.length) {
+            resize(values.length * 2);
+        }
+        return null;
+    }
+
+    @Override
+    public V get(Object key) {
+        return key instanceof Integer intKey ? get(intKey.intValue()) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer intKey && containsKey(intKey.intValue());
+    }
+
+    @Override
+    public V put(Integer key, V value) {
+        return put(key.intValue(), value);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        checkModifiable();
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    @Override
+    public Set<Entry<Integer, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<Integer, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private void checkModifiable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("IntMap is frozen");
+        }
+    }
+
+    private int getIndex(int key) {
+        // Fibonacci hashing spreads sequential template ids across the table
+        return (key * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(mask);
+    }
+
+    private void resize(int capacity) {
+        final int[] oldKeys = keys;
+        final Object[] oldValues = values;
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == null) {
+                continue;
+            }
+            int index = getIndex(oldKeys[i]);
+            while (values[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = oldKeys[i];
+            values[index] = oldValues[i];
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<Integer, V>> {
+        private int index = nextIndex(0);
+
+        private int nextIndex(int start) {
+            for (int i = start; i < values.length; i++) {
+                if (values[i] != null) {
+                    return i;
+                }
+            }
+            return values.length;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < values.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<Integer, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Entry<Integer, V> entry = new SimpleImmutableEntry<>(keys[index], (V) values[index]);
+            index = nextIndex(index + 1);
+            return entry;
+        }
+    }
+}
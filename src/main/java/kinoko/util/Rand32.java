@@ -1,10 +1,14 @@
 package kinoko.util;
 
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Client-synchronized random number generator (CRand32). Instances are not thread-safe, and must only be used by one
+ * thread at a time, e.g. while holding the lock of the owning user. Concurrent use is detected when assertions are
+ * enabled.
+ */
 public final class Rand32 {
-    private final Lock lock = new ReentrantLock();
+    private final AtomicReference<Thread> accessThread = new AtomicReference<>();
     private int s1, s2, s3;
 
     public int getS1() {
@@ -20,25 +24,62 @@ public final class Rand32 {
     }
 
     public void setSeed(int s1, int s2, int s3) {
-        lock.lock();
-        try {
-            this.s1 = s1;
-            this.s2 = s2;
-            this.s3 = s3;
-        } finally {
-            lock.unlock();
-        }
+        assert enter();
+        this.s1 = s1;
+        this.s2 = s2;
+        this.s3 = s3;
+        assert exit();
     }
 
     public int random() {
-        lock.lock();
-        try {
-            this.s1 = (s1 << 12) ^ (s1 >>> 19) ^ ((short) (s1 >>> 6) ^ (short) (s1 << 12)) & 0x1FFF;
-            this.s2 = (16 * s2) ^ (s2 >>> 25) ^ ((byte) (16 * s2) ^ (byte) (s2 >>> 23)) & 0x7F;
-            this.s3 = (s3 >>> 11) ^ (s3 << 17) ^ ((s3 >>> 8) ^ (s3 << 17)) & 0x1FFFFF;
-            return this.s1 ^ this.s2 ^ this.s3;
-        } finally {
-            lock.unlock();
+        assert enter();
+        this.s1 = (s1 << 12) ^ (s1 >>> 19) ^ ((short) (s1 >>> 6) ^ (short) (s1 << 12)) & 0x1FFF;
+        this.s2 = (16 * s2) ^ (s2 >>> 25) ^ ((byte) (16 * s2) ^ (byte) (s2 >>> 23)) & 0x7F;
+        this.s3 = (s3 >>> 11) ^ (s3 << 17) ^ ((s3 >>> 8) ^ (s3 << 17)) & 0x1FFFFF;
+        final int result = this.s1 ^ this.s2 ^ this.s3;
+        assert exit();
+        return result;
+    }
+
+    /**
+     * Fills the buffer with the next random values as unsigned integers, equivalent to calling {@link #random()} for
+     * each element.
+     */
+    public void fill(long[] buffer) {
+        fill(buffer, 0, buffer.length);
+    }
+
+    /**
+     * Fills the given range of the buffer with the next random values as unsigned integers.
+     */
+    public void fill(long[] buffer, int offset, int length) {
+        assert enter();
+        int s1 = this.s1;
+        int s2 = this.s2;
+        int s3 = this.s3;
+        for (int i = offset; i < offset + length; i++) {
+            s1 = (s1 << 12) ^ (s1 >>> 19) ^ ((short) (s1 >>> 6) ^ (short) (s1 << 12)) & 0x1FFF;
+            s2 = (16 * s2) ^ (s2 >>> 25) ^ ((byte) (16 * s2) ^ (byte) (s2 >>> 23)) & 0x7F;
+            s3 = (s3 >>> 11) ^ (s3 << 17) ^ ((s3 >>> 8) ^ (s3 << 17)) & 0x1FFFFF;
+            buffer[i] = Integer.toUnsignedLong(s1 ^ s2 ^ s3);
         }
+        this.s1 = s1;
+        this.s2 = s2;
+        this.s3 = s3;
+        assert exit();
+    }
+
+    private boolean enter() {
+        final Thread current = Thread.currentThread();
+        final Thread existing = accessThread.compareAndExchange(null, current);
+        if (existing != null && existing != current) {
+            throw new IllegalStateException("Concurrent access to Rand32 from " + current.getName() + " and " + existing.getName());
+        }
+        return true;
+    }
+
+    private boolean exit() {
+        accessThread.set(null);
+        return true;
     }
 }
@@ -7,11 +7,12 @@ import java.util.Collection;
 import java.util.HexFormat;
 import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.ToDoubleFunction;
 
 public final class Util {
     private static final HexFormat hexFormat = HexFormat.ofDelimiter(" ").withUpperCase();
-    private static final Random random = new SecureRandom();
+    private static final SecureRandom secureRandom = new SecureRandom();
 
     public static String getEnv(String name, String defaultValue) {
         final String value = System.getenv(name);
@@ -48,28 +49,36 @@ public final class Util {
         return String.format("%d/0x%X", op, op);
     }
 
+    /**
+     * Returns the random number generator for the current thread, for randomness that is not synchronized with the
+     * client and does not need to be unpredictable. Use {@link #getSecureRandom()} for keys and seeds.
+     */
     public static Random getRandom() {
-        return random;
+        return ThreadLocalRandom.current();
+    }
+
+    public static SecureRandom getSecureRandom() {
+        return secureRandom;
     }
 
     public static int getRandom(int toInclusive) {
-        return random.nextInt(toInclusive + 1);
+        return ThreadLocalRandom.current().nextInt(toInclusive + 1);
     }
 
     public static int getRandom(int fromInclusive, int toInclusive) {
-        return random.nextInt(fromInclusive, toInclusive + 1);
+        return ThreadLocalRandom.current().nextInt(fromInclusive, toInclusive + 1);
     }
 
     public static double getRandom(double origin, double bound) {
-        return random.nextDouble(origin, bound);
+        return ThreadLocalRandom.current().nextDouble(origin, bound);
     }
 
     public static boolean succeedProp(int chance) {
-        return random.nextInt(0, 100) < chance;
+        return ThreadLocalRandom.current().nextInt(0, 100) < chance;
     }
 
     public static boolean succeedDouble(double chance) {
-        return random.nextDouble() < chance;
+        return ThreadLocalRandom.current().nextDouble() < chance;
     }
 
     public static <T> Optional<T> getRandomFromCollection(Collection<T> collection) {
@@ -81,7 +90,7 @@ public final class Util {
             return Optional.empty();
         }
         final double totalWeight = collection.stream().mapToDouble(weightFunction).sum();
-        double r = random.nextDouble() * totalWeight;
+        double r = ThreadLocalRandom.current().nextDouble() * totalWeight;
         for (T item : collection) {
             r -= weightFunction.applyAsDouble(item);
             if (r <= 0.0) {
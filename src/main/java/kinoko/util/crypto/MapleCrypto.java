@@ -1,5 +1,8 @@
 package kinoko.util.crypto;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
 import javax.crypto.*;
 import javax.crypto.spec.SecretKeySpec;
 import java.security.InvalidKeyException;
@@ -35,10 +38,14 @@ public final class MapleCrypto {
     }
 
     public static void crypt(byte[] data, byte[] iv) {
+        crypt(Unpooled.wrappedBuffer(data), 0, data.length, iv);
+    }
+
+    public static void crypt(ByteBuf data, int index, int length, byte[] iv) {
         final byte[] cipher = new byte[BLOCK_SIZE];
-        int a = data.length;
+        int a = length;
         int b = 0x5B0;
-        int c = 0;
+        int c = index;
         while (a > 0) {
             final byte[] block = expandIv(iv);
             if (a < b) {
@@ -53,7 +60,7 @@ public final class MapleCrypto {
                         throw new RuntimeException(e);
                     }
                 }
-                data[i] ^= block[(i - c) % BLOCK_SIZE];
+                data.setByte(i, data.getByte(i) ^ block[(i - c) % BLOCK_SIZE]);
             }
             c += b;
             a -= b;
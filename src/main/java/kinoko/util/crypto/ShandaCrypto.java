@@ -1,5 +1,8 @@
 package kinoko.util.crypto;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
 public final class ShandaCrypto {
     private static byte rotateLeft(byte x, int y) {
         final int tmp = (x & 0xFF) << (y % 8);
@@ -12,39 +15,49 @@ public final class ShandaCrypto {
     }
 
     public static void encrypt(byte[] data) {
+        encrypt(Unpooled.wrappedBuffer(data), 0, data.length);
+    }
+
+    public static void decrypt(byte[] data) {
+        decrypt(Unpooled.wrappedBuffer(data), 0, data.length);
+    }
+
+    public static void encrypt(ByteBuf data, int index, int length) {
+        final int end = index + length;
         for (int i = 0; i < 3; i++) {
-            int a = data.length;
+            int a = length;
             byte b = 0;
-            for (int j = 0; j < data.length; j++) {
-                b ^= (byte) (a + rotateLeft(data[j], 3));
-                data[j] = (byte) (0x47 - rotateRight(b, a));
+            for (int j = index; j < end; j++) {
+                b ^= (byte) (a + rotateLeft(data.getByte(j), 3));
+                data.setByte(j, (byte) (0x47 - rotateRight(b, a)));
                 a -= 1;
             }
-            a = data.length;
+            a = length;
             b = 0;
-            for (int j = data.length - 1; j >= 0; j--) {
-                b ^= (byte) (a + rotateLeft(data[j], 4));
-                data[j] = rotateRight((byte) (b ^ 0x13), 3);
+            for (int j = end - 1; j >= index; j--) {
+                b ^= (byte) (a + rotateLeft(data.getByte(j), 4));
+                data.setByte(j, rotateRight((byte) (b ^ 0x13), 3));
                 a -= 1;
             }
         }
     }
 
-    public static void decrypt(byte[] data) {
+    public static void decrypt(ByteBuf data, int index, int length) {
+        final int end = index + length;
         for (int i = 0; i < 3; i++) {
-            int a = data.length;
+            int a = length;
             byte b = 0;
-            for (int j = data.length - 1; j >= 0; j--) {
-                final byte c = (byte) (rotateLeft(data[j], 3) ^ 0x13);
-                data[j] = rotateRight((byte) ((b ^ c) - a), 4);
+            for (int j = end - 1; j >= index; j--) {
+                final byte c = (byte) (rotateLeft(data.getByte(j), 3) ^ 0x13);
+                data.setByte(j, rotateRight((byte) ((b ^ c) - a), 4));
                 b = c;
                 a -= 1;
             }
-            a = data.length;
+            a = length;
             b = 0;
-            for (int j = 0; j < data.length; j++) {
-                final byte c = rotateLeft((byte) ~(data[j] - 0x48), a);
-                data[j] = rotateRight((byte) ((b ^ c) - a), 3);
+            for (int j = index; j < end; j++) {
+                final byte c = rotateLeft((byte) ~(data.getByte(j) - 0x48), a);
+                data.setByte(j, rotateRight((byte) ((b ^ c) - a), 3));
                 b = c;
                 a -= 1;
             }
@@ -0,0 +1,273 @@
+package kinoko.util.processor;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+
+/**
+ * Annotation processor that generates the static registries for {@code @Handler} and {@code @Script} methods, so that
+ * they do not have to be discovered using reflection at startup. Methods with incorrect signatures and duplicate
+ * registrations are reported as compile errors.
+ * <p>
+ * The registries are generated from every class containing annotated methods, not only the classes compiled in the
+ * current round. The names of these classes are recorded in an index in the class output, and on a partial compile
+ * (e.g. an IDE rebuilding a few changed files) the classes from the previous index are read back from their class files
+ * and scanned again, so that the registries are never missing handlers or scripts that were not recompiled. Classes
+ * that no longer exist are dropped from the index. Deleting or renaming a class only takes effect once its stale class
+ * file is gone, so a full rebuild ({@code mvn clean compile}) is required after removing a handler or script class.
+ * <p>
+ * This class is compiled in a separate step before the main sources, see the maven-compiler-plugin configuration.
+ */
+@SupportedAnnotationTypes({RegistryProcessor.HANDLER_ANNOTATION, RegistryProcessor.SCRIPT_ANNOTATION})
+public final class RegistryProcessor extends AbstractProcessor {
+    public static final String HANDLER_ANNOTATION = "kinoko.handler.Handler";
+    public static final String SCRIPT_ANNOTATION = "kinoko.script.common.Script";
+    private static final String HANDLER_REGISTRY = "kinoko.handler.HandlerRegistry";
+    private static final String SCRIPT_REGISTRY = "kinoko.script.common.ScriptRegistry";
+    private static final String REGISTRY_INDEX = "META-INF/kinoko/registry.idx";
+
+    private static final String CLIENT_TYPE = "kinoko.server.node.Client";
+    private static final String USER_TYPE = "kinoko.world.user.User";
+    private static final String IN_PACKET_TYPE = "kinoko.server.packet.InPacket";
+    private static final String SCRIPT_MANAGER_TYPE = "kinoko.script.common.ScriptManager";
+
+    private final Map<String, Map<String, String>> handlers = new TreeMap<>(); // handler class -> (header -> handler)
+    private final Map<String, String> scripts = new TreeMap<>(); // script name -> script method
+    private boolean generated = false;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (generated || roundEnv.processingOver()) {
+            return false;
+        }
+        // Classes containing annotated methods, from the previous index and the current round
+        final Set<String> classNames = new TreeSet<>(readIndex());
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getEnclosingElement() instanceof TypeElement typeElement) {
+                    classNames.add(typeElement.getQualifiedName().toString());
+                }
+            }
+        }
+        final Set<String> indexedClassNames = new TreeSet<>();
+        for (String className : classNames) {
+            final TypeElement typeElement = processingEnv.getElementUtils().getTypeElement(className);
+            if (typeElement == null) {
+                continue; // Class was removed
+            }
+            boolean annotated = false;
+            for (Element element : typeElement.getEnclosedElements()) {
+                if (!(element instanceof ExecutableElement method)) {
+                    continue;
+                }
+                final boolean isHandler = hasAnnotation(method, HANDLER_ANNOTATION);
+                final boolean isScript = hasAnnotation(method, SCRIPT_ANNOTATION);
+                if ((!isHandler && !isScript) || !validateModifiers(method)) {
+                    continue;
+                }
+                if (isHandler) {
+                    processHandler(method);
+                }
+                if (isScript) {
+                    processScript(method);
+                }
+                annotated = true;
+            }
+            if (annotated) {
+                indexedClassNames.add(className);
+            }
+        }
+        try {
+            writeHandlerRegistry();
+            writeScriptRegistry();
+            writeIndex(indexedClassNames);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write registry : " + e.getMessage());
+        }
+        generated = true;
+        return true;
+    }
+
+    private void processHandler(ExecutableElement method) {
+        final List<? extends VariableElement> parameters = method.getParameters();
+        if (parameters.size() != 2 ||
+                !(isType(parameters.get(0).asType(), CLIENT_TYPE) || isType(parameters.get(0).asType(), USER_TYPE)) ||
+                !isType(parameters.get(1).asType(), IN_PACKET_TYPE)) {
+            error(method, "Incorrect parameters for handler method \"%s\"", method.getSimpleName());
+            return;
+        }
+        final String className = getClassName(method);
+        final String handler = isType(parameters.get(0).asType(), CLIENT_TYPE) ?
+                String.format("%s::%s", className, method.getSimpleName()) :
+                String.format("(client, inPacket) -> %s.%s(client.getUser(), inPacket)", className, method.getSimpleName());
+        final Map<String, String> classHandlers = handlers.computeIfAbsent(className, (key) -> new LinkedHashMap<>());
+        for (AnnotationValue value : getValues(method, HANDLER_ANNOTATION)) {
+            final String header = ((VariableElement) value.getValue()).getSimpleName().toString();
+            if (classHandlers.containsKey(header)) {
+                error(method, "Multiple handlers found for InHeader \"%s\"", header);
+                continue;
+            }
+            classHandlers.put(header, handler);
+        }
+    }
+
+    private void processScript(ExecutableElement method) {
+        final List<? extends VariableElement> parameters = method.getParameters();
+        if (parameters.size() != 1 || !isType(parameters.get(0).asType(), SCRIPT_MANAGER_TYPE)) {
+            error(method, "Incorrect parameters for script method \"%s\"", method.getSimpleName());
+            return;
+        }
+        for (AnnotationValue value : getValues(method, SCRIPT_ANNOTATION)) {
+            final String scriptName = (String) value.getValue();
+            if (scripts.containsKey(scriptName)) {
+                error(method, "Multiple methods found for script name \"%s\"", scriptName);
+                continue;
+            }
+            scripts.put(scriptName, getClassName(method) + "::" + method.getSimpleName());
+        }
+    }
+
+    private void writeHandlerRegistry() throws IOException {
+        try (final PrintWriter out = createSourceFile(HANDLER_REGISTRY)) {
+            out.println("import kinoko.server.header.InHeader;");
+            out.println("import kinoko.server.node.Client;");
+            out.println("import kinoko.server.packet.InPacket;");
+            out.println();
+            out.println("import java.util.EnumMap;");
+            out.println("import java.util.Map;");
+            out.println("import java.util.function.BiConsumer;");
+            out.println();
+            out.printf("@javax.annotation.processing.Generated(\"%s\")%n", RegistryProcessor.class.getName());
+            out.println("public final class HandlerRegistry {");
+            out.println("    public static Map<InHeader, BiConsumer<Client, InPacket>> getHandlers(Class<?> handlerClass) {");
+            out.println("        final Map<InHeader, BiConsumer<Client, InPacket>> handlers = new EnumMap<>(InHeader.class);");
+            boolean first = true;
+            for (var classEntry : handlers.entrySet()) {
+                out.printf("        %sif (handlerClass == %s.class) {%n", first ? "" : "} else ", classEntry.getKey());
+                for (var entry : classEntry.getValue().entrySet()) {
+                    out.printf("            handlers.put(InHeader.%s, %s);%n", entry.getKey(), entry.getValue());
+                }
+                first = false;
+            }
+            if (!first) {
+                out.println("        }");
+            }
+            out.println("        return handlers;");
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    private void writeScriptRegistry() throws IOException {
+        try (final PrintWriter out = createSourceFile(SCRIPT_REGISTRY)) {
+            out.println("import java.util.HashMap;");
+            out.println("import java.util.Map;");
+            out.println("import java.util.function.Consumer;");
+            out.println();
+            out.printf("@javax.annotation.processing.Generated(\"%s\")%n", RegistryProcessor.class.getName());
+            out.println("public final class ScriptRegistry {");
+            out.println("    public static Map<String, Consumer<ScriptManager>> getScripts() {");
+            out.printf("        final Map<String, Consumer<ScriptManager>> scripts = new HashMap<>(%d);%n", scripts.size() * 2);
+            for (var entry : scripts.entrySet()) {
+                out.printf("        scripts.put(%s, %s);%n", processingEnv.getElementUtils().getConstantExpression(entry.getKey()), entry.getValue());
+            }
+            out.println("        return scripts;");
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    private Set<String> readIndex() {
+        final Set<String> classNames = new HashSet<>();
+        try {
+            final FileObject index = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", REGISTRY_INDEX);
+            try (final BufferedReader reader = new BufferedReader(index.openReader(true))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        classNames.add(line.strip());
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // No previous index, full compilation
+        }
+        return classNames;
+    }
+
+    private void writeIndex(Set<String> classNames) throws IOException {
+        final FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", REGISTRY_INDEX);
+        try (final PrintWriter out = new PrintWriter(index.openWriter())) {
+            for (String className : classNames) {
+                out.println(className);
+            }
+        }
+    }
+
+    private PrintWriter createSourceFile(String qualifiedName) throws IOException {
+        final int index = qualifiedName.lastIndexOf('.');
+        final PrintWriter out = new PrintWriter(processingEnv.getFiler().createSourceFile(qualifiedName).openWriter());
+        out.printf("package %s;%n%n", qualifiedName.substring(0, index));
+        return out;
+    }
+
+    private boolean validateModifiers(ExecutableElement method) {
+        if (!method.getModifiers().contains(Modifier.PUBLIC) || !method.getModifiers().contains(Modifier.STATIC)) {
+            error(method, "Method \"%s\" should be public static", method.getSimpleName());
+            return false;
+        }
+        return true;
+    }
+
+    private boolean hasAnnotation(ExecutableElement method, String annotationName) {
+        for (AnnotationMirror mirror : method.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<? extends AnnotationValue> getValues(ExecutableElement method, String annotationName) {
+        for (AnnotationMirror mirror : method.getAnnotationMirrors()) {
+            if (!((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName)) {
+                continue;
+            }
+            for (var entry : mirror.getElementValues().entrySet()) {
+                if (!entry.getKey().getSimpleName().contentEquals("value")) {
+                    continue;
+                }
+                if (entry.getValue().getValue() instanceof List<?> values) {
+                    return values.stream().map(AnnotationValue.class::cast).toList();
+                }
+                return List.of(entry.getValue());
+            }
+        }
+        return List.of();
+    }
+
+    private String getClassName(ExecutableElement method) {
+        return ((TypeElement) method.getEnclosingElement()).getQualifiedName().toString();
+    }
+
+    private boolean isType(TypeMirror type, String typeName) {
+        return processingEnv.getTypeUtils().erasure(type).toString().equals(typeName);
+    }
+
+    private void error(Element element, String format, Object... args) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format(format, args), element);
+    }
+}
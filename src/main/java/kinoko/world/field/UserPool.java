@@ -11,6 +11,7 @@ import kinoko.provider.map.PortalInfo;
 import kinoko.provider.quest.QuestInfo;
 import kinoko.server.ServerConfig;
 import kinoko.server.packet.OutPacket;
+import kinoko.util.BitFlag;
 import kinoko.world.field.drop.DropEnterType;
 import kinoko.world.field.summoned.Summoned;
 import kinoko.world.item.*;
@@ -33,6 +34,9 @@ import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 public final class UserPool extends FieldObjectPool<User> {
+    private static final BitFlag<CharacterTemporaryStat> UPDATE_STAT_FLAG = BitFlag.from(CharacterTemporaryStat.UPDATE_STAT, CharacterTemporaryStat.FLAG_SIZE);
+    private final UserUpdateStats updateStats = new UserUpdateStats();
+
     public UserPool(Field field) {
         super(field);
     }
@@ -203,12 +207,20 @@ public final class UserPool extends FieldObjectPool<User> {
     }
 
     public void updateUsers(Instant now) {
-        for (User user : getObjects()) {
+        final long start = System.nanoTime();
+        final List<User> users = getObjects();
+        int updateCount = 0;
+        for (User user : users) {
+            // Skip users without any buffs, cooltimes, summons, gates or item checks due
+            if (now.isBefore(user.getNextUpdateTime())) {
+                continue;
+            }
+            updateCount++;
             try (var locked = user.acquire()) {
                 // Handle CTS updates on tick
                 SkillProcessor.processUpdate(locked, now);
                 // Expire temporary stat
-                user.resetTemporaryStat((cts, option) -> now.isAfter(option.getExpireTime()));
+                user.resetExpiredTemporaryStat(now);
                 // Expire skill cooltimes
                 final Set<Integer> resetCooltimes = user.getSkillManager().expireSkillCooltime(now);
                 for (int skillId : resetCooltimes) {
@@ -290,8 +302,43 @@ public final class UserPool extends FieldObjectPool<User> {
                         user.validateStat();
                     }
                 }
+                // Schedule next update
+                user.setNextUpdateTime(getNextUpdateTime(user, now));
+            }
+        }
+        updateStats.record(users.size(), updateCount, System.nanoTime() - start);
+    }
+
+    public UserUpdateStats getUpdateStats() {
+        return updateStats;
+    }
+
+    private static Instant getNextUpdateTime(User user, Instant now) {
+        if (user.getSecondaryStat().hasTemporaryStat(UPDATE_STAT_FLAG)) {
+            return now;
+        }
+        Instant nextUpdateTime = min(user.getNextCheckItemExpire(), user.getSecondaryStat().getNextExpireTime());
+        for (var entry : user.getSkillManager().getSkillCooltimes().entrySet()) {
+            if (entry.getKey() != SkillConstants.BATTLESHIP_DURABILITY) {
+                nextUpdateTime = min(nextUpdateTime, entry.getValue());
             }
         }
+        for (List<Summoned> summonedList : user.getSummoned().values()) {
+            for (Summoned summoned : summonedList) {
+                nextUpdateTime = min(nextUpdateTime, summoned.getExpireTime());
+            }
+        }
+        if (user.getTownPortal() != null) {
+            nextUpdateTime = min(nextUpdateTime, user.getTownPortal().getExpireTime());
+        }
+        if (user.getOpenGate() != null) {
+            nextUpdateTime = min(nextUpdateTime, user.getOpenGate().getExpireTime());
+        }
+        return nextUpdateTime;
+    }
+
+    private static Instant min(Instant a, Instant b) {
+        return a.isBefore(b) ? a : b;
     }
 
 
@@ -0,0 +1,48 @@
+package kinoko.world.field;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the cost of {@link UserPool#updateUsers(java.time.Instant)} for a field, and the number of users that were due
+ * for an update out of the users in the field.
+ */
+public final class UserUpdateStats {
+    private final AtomicLong tickCount = new AtomicLong();
+    private final AtomicLong userCount = new AtomicLong();
+    private final AtomicLong updateCount = new AtomicLong();
+    private final AtomicLong totalTime = new AtomicLong();
+    private final AtomicLong maxTime = new AtomicLong();
+
+    public long getTickCount() {
+        return tickCount.get();
+    }
+
+    public long getUserCount() {
+        return userCount.get();
+    }
+
+    public long getUpdateCount() {
+        return updateCount.get();
+    }
+
+    public long getTotalTime() {
+        return totalTime.get();
+    }
+
+    public long getAverageTime() {
+        final long count = getTickCount();
+        return count != 0 ? getTotalTime() / count : 0;
+    }
+
+    public long getMaxTime() {
+        return maxTime.get();
+    }
+
+    public void record(int users, int updates, long time) {
+        tickCount.incrementAndGet();
+        userCount.addAndGet(users);
+        updateCount.addAndGet(updates);
+        totalTime.addAndGet(time);
+        maxTime.accumulateAndGet(time, Math::max);
+    }
+}
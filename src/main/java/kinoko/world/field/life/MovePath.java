@@ -4,22 +4,37 @@ import kinoko.server.packet.InPacket;
 import kinoko.server.packet.OutPacket;
 import kinoko.util.Encodable;
 
-import java.util.ArrayList;
-import java.util.List;
-
+/**
+ * Movement path received from the client, relayed to other clients as the raw bytes from the inbound packet. Only the
+ * state resulting from the last move elements is retained to update the moving {@link Life}.
+ */
 public final class MovePath implements Encodable {
     private final short x;
     private final short y;
-    private final short vx;
-    private final short vy;
-    private final List<MoveElem> moveElems;
-
-    public MovePath(short x, short y, short vx, short vy, List<MoveElem> moveElems) {
+    private final byte[] data; // CMovePath::Encode, from x to the last move element
+    private final int count;
+    private final int duration;
+    private final boolean hasPosition;
+    private final short lastX;
+    private final short lastY;
+    private final boolean hasFoothold;
+    private final short lastFoothold;
+    private final boolean hasMoveAction;
+    private final byte lastMoveAction;
+
+    private MovePath(short x, short y, byte[] data, int count, int duration, boolean hasPosition, short lastX, short lastY, boolean hasFoothold, short lastFoothold, boolean hasMoveAction, byte lastMoveAction) {
         this.x = x;
         this.y = y;
-        this.vx = vx;
-        this.vy = vy;
-        this.moveElems = moveElems;
+        this.data = data;
+        this.count = count;
+        this.duration = duration;
+        this.hasPosition = hasPosition;
+        this.lastX = lastX;
+        this.lastY = lastY;
+        this.hasFoothold = hasFoothold;
+        this.lastFoothold = lastFoothold;
+        this.hasMoveAction = hasMoveAction;
+        this.lastMoveAction = lastMoveAction;
     }
 
     public short getX() {
@@ -30,170 +45,110 @@ public final class MovePath implements Encodable {
         return y;
     }
 
-    public short getVx() {
-        return vx;
-    }
-
-    public short getVy() {
-        return vy;
-    }
-
-    public List<MoveElem> getElems() {
-        return moveElems;
+    public int getCount() {
+        return count;
     }
 
     public int getDuration() {
-        return moveElems.stream().mapToInt(MoveElem::getElapse).sum();
+        return duration;
     }
 
     public void applyTo(Life life) {
-        for (MoveElem elem : getElems()) {
-            switch (MoveType.fromAttr(elem.getAttr())) {
-                case NORMAL, TELEPORT -> {
-                    life.setX(elem.getX());
-                    life.setY(elem.getY());
-                    life.setFoothold(elem.getFh());
-                }
-                case JUMP, START_FALL_DOWN, FLYING_BLOCK -> {
-                    life.setX(elem.getX());
-                    life.setY(elem.getY());
-                }
-                case STAT_CHANGE -> {
-                    continue;
-                }
-                case ACTION -> {
-                    // noop
-                }
-            }
-            life.setMoveAction(elem.getMoveAction());
+        if (hasPosition) {
+            life.setX(lastX);
+            life.setY(lastY);
+        }
+        if (hasFoothold) {
+            life.setFoothold(lastFoothold);
+        }
+        if (hasMoveAction) {
+            life.setMoveAction(lastMoveAction);
         }
     }
 
     @Override
     public void encode(OutPacket outPacket) {
-        outPacket.encodeShort(getX());
-        outPacket.encodeShort(getY());
-        outPacket.encodeShort(getVx());
-        outPacket.encodeShort(getVy());
-        outPacket.encodeByte(getElems().size());
-        for (MoveElem elem : getElems()) {
-            outPacket.encodeByte(elem.getAttr());
-            switch (MoveType.fromAttr(elem.getAttr())) {
-                case NORMAL -> {
-                    outPacket.encodeShort(elem.getX()); // x
-                    outPacket.encodeShort(elem.getY()); // y
-                    outPacket.encodeShort(elem.getVx()); // vx
-                    outPacket.encodeShort(elem.getVy()); // vy
-                    outPacket.encodeShort(elem.getFh()); // fh
-                    if (elem.getAttr() == 12) { // FALL_DOWN
-                        outPacket.encodeShort(elem.getFhFallStart()); // fhFallStart
-                    }
-                    outPacket.encodeShort(elem.getXOffset()); // xOffset
-                    outPacket.encodeShort(elem.getYOffset()); // yOffset
-                }
-                case JUMP -> {
-                    outPacket.encodeShort(elem.getVx()); // vx
-                    outPacket.encodeShort(elem.getVy()); // vy
-                }
-                case TELEPORT -> {
-                    outPacket.encodeShort(elem.getX()); // x
-                    outPacket.encodeShort(elem.getY()); // y
-                    outPacket.encodeShort(elem.getFh()); // fh
-                }
-                case STAT_CHANGE -> {
-                    outPacket.encodeByte(elem.getStat()); // bStat
-                    continue; // moveAction and elapse not encoded
-                }
-                case START_FALL_DOWN -> {
-                    outPacket.encodeShort(elem.getVx()); // vx
-                    outPacket.encodeShort(elem.getVy()); // vy
-                    outPacket.encodeShort(elem.getFhFallStart()); // fhFallStart
-                }
-                case FLYING_BLOCK -> {
-                    outPacket.encodeShort(elem.getX()); // x
-                    outPacket.encodeShort(elem.getY()); // y
-                    outPacket.encodeShort(elem.getVx()); // vx
-                    outPacket.encodeShort(elem.getVy()); // vy
-                }
-                case ACTION -> {
-                    // noop
-                }
-            }
-            outPacket.encodeByte(elem.getMoveAction()); // bMoveAction
-            outPacket.encodeShort(elem.getElapse()); // tElapse
-            // if (CClientOptMan::GetOpt(2)) short (usRandCnt), short (usActualRandCnt)
-        }
+        outPacket.encodeArray(data);
         // Follow Mode: if (bPassive) byte * byte, short, short, short, short
     }
 
     public static MovePath decode(InPacket inPacket) {
+        final int start = inPacket.getPosition();
         final short x = inPacket.decodeShort();
         final short y = inPacket.decodeShort();
-        final short vx = inPacket.decodeShort();
-        final short vy = inPacket.decodeShort();
-
-        final List<MoveElem> moveElems = new ArrayList<>();
-        final int count = inPacket.decodeByte();
+        inPacket.decodeShort(); // vx
+        inPacket.decodeShort(); // vy
+
+        int duration = 0;
+        boolean hasPosition = false;
+        short lastX = x;
+        short lastY = y;
+        boolean hasFoothold = false;
+        short lastFoothold = 0;
+        boolean hasMoveAction = false;
+        byte lastMoveAction = 0;
+        final int count = inPacket.decodeByte() & 0xFF;
         for (int i = 0; i < count; i++) {
             final byte attr = inPacket.decodeByte(); // nAttr
-            final MoveElem elem = new MoveElem(attr);
             switch (MoveType.fromAttr(attr)) {
                 case NORMAL -> {
-                    elem.setX(inPacket.decodeShort()); // x
-                    elem.setY(inPacket.decodeShort()); // y
-                    elem.setVx(inPacket.decodeShort()); // vx
-                    elem.setVy(inPacket.decodeShort()); // vy
-                    elem.setFh(inPacket.decodeShort()); // fh
+                    lastX = inPacket.decodeShort(); // x
+                    lastY = inPacket.decodeShort(); // y
+                    inPacket.decodeShort(); // vx
+                    inPacket.decodeShort(); // vy
+                    lastFoothold = inPacket.decodeShort(); // fh
                     if (attr == 12) {
-                        elem.setFhFallStart(inPacket.decodeShort()); // fhFallStart
+                        inPacket.decodeShort(); // fhFallStart
                     }
-                    elem.setXOffset(inPacket.decodeShort()); // xOffset
-                    elem.setYOffset(inPacket.decodeShort()); // yOffset
+                    inPacket.decodeShort(); // xOffset
+                    inPacket.decodeShort(); // yOffset
+                    hasPosition = true;
+                    hasFoothold = true;
                 }
                 case JUMP -> {
-                    elem.setX(x);
-                    elem.setY(y);
-                    elem.setVx(inPacket.decodeShort()); // vx
-                    elem.setVy(inPacket.decodeShort()); // vy
+                    inPacket.decodeShort(); // vx
+                    inPacket.decodeShort(); // vy
+                    lastX = x;
+                    lastY = y;
+                    hasPosition = true;
                 }
                 case TELEPORT -> {
-                    elem.setX(inPacket.decodeShort()); // x
-                    elem.setY(inPacket.decodeShort()); // y
-                    elem.setFh(inPacket.decodeShort()); // fh
+                    lastX = inPacket.decodeShort(); // x
+                    lastY = inPacket.decodeShort(); // y
+                    lastFoothold = inPacket.decodeShort(); // fh
+                    hasPosition = true;
+                    hasFoothold = true;
                 }
                 case STAT_CHANGE -> {
-                    elem.setStat(inPacket.decodeByte()); // bStat
-                    elem.setX(x);
-                    elem.setY(y);
-                    moveElems.add(elem);
+                    inPacket.decodeByte(); // bStat
                     continue; // moveAction and elapse not decoded
                 }
                 case START_FALL_DOWN -> {
-                    elem.setX(x);
-                    elem.setY(y);
-                    elem.setVx(inPacket.decodeShort()); // vx
-                    elem.setVy(inPacket.decodeShort()); // vy
-                    elem.setFhFallStart(inPacket.decodeShort()); // fhFallStart
+                    inPacket.decodeShort(); // vx
+                    inPacket.decodeShort(); // vy
+                    inPacket.decodeShort(); // fhFallStart
+                    lastX = x;
+                    lastY = y;
+                    hasPosition = true;
                 }
                 case FLYING_BLOCK -> {
-                    elem.setX(inPacket.decodeShort()); // x
-                    elem.setY(inPacket.decodeShort()); // y
-                    elem.setVx(inPacket.decodeShort()); // vx
-                    elem.setVy(inPacket.decodeShort()); // vy
+                    lastX = inPacket.decodeShort(); // x
+                    lastY = inPacket.decodeShort(); // y
+                    inPacket.decodeShort(); // vx
+                    inPacket.decodeShort(); // vy
+                    hasPosition = true;
                 }
                 case ACTION -> {
-                    elem.setX(x);
-                    elem.setY(y);
-                    elem.setVy(vx);
-                    elem.setVy(vy);
+                    // noop
                 }
             }
-            elem.setMoveAction(inPacket.decodeByte()); // bMoveAction
-            elem.setElapse(inPacket.decodeShort()); // tElapse
+            lastMoveAction = inPacket.decodeByte(); // bMoveAction
+            hasMoveAction = true;
+            duration += inPacket.decodeShort(); // tElapse
             // if (CClientOptMan::GetOpt(2)) short (usRandCnt), short (usActualRandCnt)
-            moveElems.add(elem);
         }
-        return new MovePath(x, y, vx, vy, moveElems);
+        final byte[] data = inPacket.getData(start, inPacket.getPosition() - start);
+        return new MovePath(x, y, data, count, duration, hasPosition, lastX, lastY, hasFoothold, lastFoothold, hasMoveAction, lastMoveAction);
     }
 
     private enum MoveType {
@@ -2,14 +2,12 @@ package kinoko.world.field.mob;
 
 import kinoko.packet.field.MobPacket;
 import kinoko.packet.world.BroadcastPacket;
-import kinoko.packet.world.MessagePacket;
 import kinoko.provider.*;
 import kinoko.provider.item.ItemInfo;
 import kinoko.provider.mob.DamagedAttribute;
 import kinoko.provider.mob.MobAttack;
 import kinoko.provider.mob.MobSkill;
 import kinoko.provider.mob.MobTemplate;
-import kinoko.provider.quest.QuestInfo;
 import kinoko.provider.reward.Reward;
 import kinoko.provider.skill.ElementAttribute;
 import kinoko.provider.skill.SkillInfo;
@@ -30,7 +28,6 @@ import kinoko.world.field.life.Life;
 import kinoko.world.item.Item;
 import kinoko.world.job.explorer.Thief;
 import kinoko.world.job.resistance.WildHunter;
-import kinoko.world.quest.QuestRecord;
 import kinoko.world.user.User;
 import kinoko.world.user.stat.CharacterTemporaryStat;
 
@@ -291,7 +288,10 @@ public final class Mob extends Life implements ControlledObject, Encodable, Lock
         if (ownerResult.isEmpty()) {
             return;
         }
-        dropRewards(ownerResult.get(), 0);
+        final List<Drop> drops = createDrops(ownerResult.get());
+        if (!drops.isEmpty()) {
+            getField().getDropPool().addDrops(drops, DropEnterType.CREATE, getX(), getY() - GameConstants.DROP_HEIGHT, 0, 0);
+        }
         itemDropCount++;
         nextDropItem = now.plus(template.getDropItemPeriod(), ChronoUnit.SECONDS);
         switch (template.getId()) {
@@ -363,6 +363,16 @@ public final class Mob extends Life implements ControlledObject, Encodable, Lock
     }
 
     public void damage(User attacker, int totalDamage, int delay, MobLeaveType leaveType) {
+        final MobKillBatch batch = new MobKillBatch(getField());
+        damage(attacker, totalDamage, delay, leaveType, batch);
+        batch.flush();
+    }
+
+    public void damage(User attacker, int totalDamage, int delay, MobKillBatch batch) {
+        damage(attacker, totalDamage, delay, MobLeaveType.ETC, batch);
+    }
+
+    public void damage(User attacker, int totalDamage, int delay, MobLeaveType leaveType, MobKillBatch batch) {
         // Apply damage
         final int actualDamage = Math.min(getHp(), totalDamage);
         setHp(getHp() - actualDamage);
@@ -376,8 +386,11 @@ public final class Mob extends Life implements ControlledObject, Encodable, Lock
                 getController().write(changeControllerPacket(false));
             }
             if (getField().getMobPool().removeMob(this, leaveType)) {
-                distributeExp();
-                dropRewards(attacker, delay);
+                distributeExp(batch);
+                final List<Drop> drops = createDrops(attacker);
+                if (!drops.isEmpty()) {
+                    batch.addDrops(drops, getX(), getY() - GameConstants.DROP_HEIGHT, delay);
+                }
                 spawnRevives(delay);
             }
             if (spawnPoint != null) {
@@ -390,12 +403,14 @@ public final class Mob extends Life implements ControlledObject, Encodable, Lock
         if (stolenReward != null) {
             return;
         }
-        final List<Reward> possibleRewards = RewardProvider.getMobRewards(getTemplateId());
-        final Optional<Reward> stealResult = Util.getRandomFromCollection(possibleRewards, Reward::getProb);
+        final Optional<Reward> stealResult = RewardProvider.getRewardTable(getTemplateId()).pick();
         if (stealResult.isEmpty()) {
             return;
         }
         final Reward reward = stealResult.get();
+        if (!Util.succeedDouble(reward.getProb() * getDropRateMultiplier(attacker))) {
+            return;
+        }
         final Optional<Drop> dropResult = createDrop(attacker, reward);
         if (dropResult.isPresent()) {
             getField().getDropPool().addDrop(dropResult.get(), DropEnterType.CREATE, getX(), getY() - GameConstants.DROP_HEIGHT, 0);
@@ -417,7 +432,7 @@ public final class Mob extends Life implements ControlledObject, Encodable, Lock
      * Exp for other members : (0.4 * level / totalPartyLevel) + partyBonus
      * </pre>
      */
-    private void distributeExp() {
+    private void distributeExp(MobKillBatch batch) {
         // Calculate exp split based on damage dealt
         final int totalExp = getExp();
         final Map<User, Integer> expSplit = new HashMap<>(); // user -> exp
@@ -481,56 +496,11 @@ public final class Mob extends Life implements ControlledObject, Encodable, Lock
             final int exp = entry.getValue();
             final int memberCount = partyMembers.getOrDefault(user.getPartyId(), Set.of()).size();
             final int partyBonus = GameConstants.getPartyBonusExp(exp, memberCount);
-            ServerExecutor.submit(getField(), () -> {
-                try (var locked = user.acquire()) {
-                    // Distribute exp
-                    if (locked.get().getField() != getField()) {
-                        return;
-                    }
-                    int finalExp = exp;
-                    int finalPartyBonus = partyBonus;
-                    if (user.getSecondaryStat().hasOption(CharacterTemporaryStat.HolySymbol)) {
-                        final int bonus = GameConstants.getHolySymbolBonus(user.getSecondaryStat().getOption(CharacterTemporaryStat.HolySymbol).nOption, memberCount);
-                        final double multiplier = (bonus + 100) / 100.0;
-                        finalExp = (int) (finalExp * multiplier);
-                        finalPartyBonus = (int) (finalPartyBonus * multiplier);
-                    }
-                    if (user.getSecondaryStat().hasOption(CharacterTemporaryStat.ExpBuffRate)) {
-                        final double multiplier = user.getSecondaryStat().getOption(CharacterTemporaryStat.ExpBuffRate).nOption / 100.0;
-                        finalExp = (int) (finalExp * multiplier);
-                        finalPartyBonus = (int) (finalPartyBonus * multiplier);
-                    }
-                    if (user.getSecondaryStat().hasOption(CharacterTemporaryStat.Dice)) {
-                        final int expR = user.getSecondaryStat().getOption(CharacterTemporaryStat.Dice).getDiceInfo().getInfoArray()[17];
-                        if (expR > 0) {
-                            final double multiplier = (expR + 100) / 100.0;
-                            finalExp = (int) (finalExp * multiplier);
-                            finalPartyBonus = (int) (finalPartyBonus * multiplier);
-                        }
-                    }
-                    if (finalExp + finalPartyBonus > 0) {
-                        user.addExp(finalExp + finalPartyBonus);
-                        user.write(MessagePacket.incExp(finalExp, finalPartyBonus, user == highestDamageDone, false));
-                    }
-                    // Process mob kill for quest
-                    for (QuestRecord qr : user.getQuestManager().getStartedQuests()) {
-                        final Optional<QuestInfo> questInfoResult = QuestProvider.getQuestInfo(qr.getQuestId());
-                        if (questInfoResult.isEmpty()) {
-                            continue;
-                        }
-                        final Optional<QuestRecord> questProgressResult = questInfoResult.get().progressQuest(qr, getTemplateId());
-                        if (questProgressResult.isEmpty()) {
-                            continue;
-                        }
-                        user.write(MessagePacket.questRecord(questProgressResult.get()));
-                        user.validateStat();
-                    }
-                }
-            });
+            batch.addExp(user, getTemplateId(), exp, partyBonus, memberCount, user == highestDamageDone);
         }
     }
 
-    private void dropRewards(User lastAttacker, int delay) {
+    private List<Drop> createDrops(User lastAttacker) {
         // Sort damageDone by highest damage, assign owner to the highest damage attacker present in the field
         User owner = lastAttacker;
         final var iter = damageDone.entrySet().stream()
@@ -545,33 +515,28 @@ public final class Mob extends Life implements ControlledObject, Encodable, Lock
         }
         // Create drops from possible rewards
         final List<Drop> drops = new ArrayList<>();
-        for (Reward reward : RewardProvider.getMobRewards(getTemplateId())) {
+        for (Reward reward : RewardProvider.getRewardTable(getTemplateId()).roll(getDropRateMultiplier(owner))) {
             if (stolenReward == reward) {
                 continue;
             }
             final Optional<Drop> dropResult = createDrop(owner, reward);
             dropResult.ifPresent(drops::add);
         }
-        // Add drops to field if any
-        if (!drops.isEmpty()) {
-            getField().getDropPool().addDrops(drops, DropEnterType.CREATE, getX(), getY() - GameConstants.DROP_HEIGHT, delay, 0);
-        }
+        return drops;
     }
 
-    private Optional<Drop> createDrop(User owner, Reward reward) {
-        // Drop probability
-        double probability = reward.getProb();
+    private double getDropRateMultiplier(User owner) {
+        double multiplier = 1.0;
         if (owner.getSecondaryStat().hasOption(CharacterTemporaryStat.ItemUpByItem)) {
-            final double multiplier = (owner.getSecondaryStat().getOption(CharacterTemporaryStat.ItemUpByItem).nOption + 100) / 100.0;
-            probability = probability * multiplier;
+            multiplier = multiplier * (owner.getSecondaryStat().getOption(CharacterTemporaryStat.ItemUpByItem).nOption + 100) / 100.0;
         }
         if (getMobStat().hasOption(MobTemporaryStat.Showdown) && getMobStat().getOption(MobTemporaryStat.Showdown).rOption != WildHunter.STINK_BOMB_SHOT) {
-            final double multiplier = (getMobStat().getOption(MobTemporaryStat.Showdown).nOption + 100) / 100.0;
-            probability = probability * multiplier;
-        }
-        if (!Util.succeedDouble(probability)) {
-            return Optional.empty();
+            multiplier = multiplier * (getMobStat().getOption(MobTemporaryStat.Showdown).nOption + 100) / 100.0;
         }
+        return multiplier;
+    }
+
+    private Optional<Drop> createDrop(User owner, Reward reward) {
         // Create drop
         if (reward.isMoney()) {
             int money = Util.getRandom(reward.getMin(), reward.getMax());
@@ -0,0 +1,158 @@
+package kinoko.world.field.mob;
+
+import kinoko.packet.world.MessagePacket;
+import kinoko.provider.QuestProvider;
+import kinoko.provider.quest.QuestInfo;
+import kinoko.server.node.ServerExecutor;
+import kinoko.world.GameConstants;
+import kinoko.world.field.Field;
+import kinoko.world.field.drop.Drop;
+import kinoko.world.field.drop.DropEnterType;
+import kinoko.world.quest.QuestRecord;
+import kinoko.world.user.User;
+import kinoko.world.user.stat.CharacterTemporaryStat;
+
+import java.util.*;
+
+/**
+ * Collects the exp, quest progress and drops of the mobs killed by a single attack, so that they are processed in one
+ * pass once the damage has been applied to every target, instead of once per killed mob. Each user receives a single
+ * exp gain and a single update per progressed quest regardless of the number of kills.
+ */
+public final class MobKillBatch {
+    private final Map<User, UserKills> userKills = new LinkedHashMap<>();
+    private final List<MobDrops> mobDrops = new ArrayList<>();
+    private final Field field;
+
+    public MobKillBatch(Field field) {
+        this.field = field;
+    }
+
+    void addExp(User user, int templateId, int exp, int partyBonus, int memberCount, boolean highest) {
+        final UserKills kills = userKills.computeIfAbsent(user, (key) -> new UserKills());
+        kills.expGains.add(new ExpGain(exp, partyBonus, memberCount, highest));
+        kills.mobCounts.merge(templateId, 1, Integer::sum);
+    }
+
+    void addDrops(List<Drop> drops, int x, int y, int delay) {
+        mobDrops.add(new MobDrops(drops, x, y, delay));
+    }
+
+    public void flush() {
+        // Add drops to field
+        for (MobDrops drops : mobDrops) {
+            field.getDropPool().addDrops(drops.drops, DropEnterType.CREATE, drops.x, drops.y, drops.delay, 0);
+        }
+        mobDrops.clear();
+        // Distribute exp and process quest progress, acquiring each user once
+        for (var entry : userKills.entrySet()) {
+            final User user = entry.getKey();
+            final UserKills kills = entry.getValue();
+            ServerExecutor.submit(field, () -> {
+                try (var locked = user.acquire()) {
+                    if (locked.get().getField() != field) {
+                        return;
+                    }
+                    distributeExp(user, kills);
+                    progressQuests(user, kills);
+                }
+            });
+        }
+        userKills.clear();
+    }
+
+    private static void distributeExp(User user, UserKills kills) {
+        int totalExp = 0;
+        int totalPartyBonus = 0;
+        boolean highest = false;
+        for (ExpGain gain : kills.expGains) {
+            int finalExp = gain.exp;
+            int finalPartyBonus = gain.partyBonus;
+            if (user.getSecondaryStat().hasOption(CharacterTemporaryStat.HolySymbol)) {
+                final int bonus = GameConstants.getHolySymbolBonus(user.getSecondaryStat().getOption(CharacterTemporaryStat.HolySymbol).nOption, gain.memberCount);
+                final double multiplier = (bonus + 100) / 100.0;
+                finalExp = (int) (finalExp * multiplier);
+                finalPartyBonus = (int) (finalPartyBonus * multiplier);
+            }
+            if (user.getSecondaryStat().hasOption(CharacterTemporaryStat.ExpBuffRate)) {
+                final double multiplier = user.getSecondaryStat().getOption(CharacterTemporaryStat.ExpBuffRate).nOption / 100.0;
+                finalExp = (int) (finalExp * multiplier);
+                finalPartyBonus = (int) (finalPartyBonus * multiplier);
+            }
+            if (user.getSecondaryStat().hasOption(CharacterTemporaryStat.Dice)) {
+                final int expR = user.getSecondaryStat().getOption(CharacterTemporaryStat.Dice).getDiceInfo().getInfoArray()[17];
+                if (expR > 0) {
+                    final double multiplier = (expR + 100) / 100.0;
+                    finalExp = (int) (finalExp * multiplier);
+                    finalPartyBonus = (int) (finalPartyBonus * multiplier);
+                }
+            }
+            totalExp += finalExp;
+            totalPartyBonus += finalPartyBonus;
+            highest |= gain.highest;
+        }
+        if (totalExp + totalPartyBonus > 0) {
+            user.addExp(totalExp + totalPartyBonus);
+            user.write(MessagePacket.incExp(totalExp, totalPartyBonus, highest, false));
+        }
+    }
+
+    private static void progressQuests(User user, UserKills kills) {
+        final Map<Integer, QuestRecord> updatedRecords = new LinkedHashMap<>();
+        for (var entry : kills.mobCounts.entrySet()) {
+            final int templateId = entry.getKey();
+            for (QuestRecord qr : user.getQuestManager().getStartedMobQuests(templateId)) {
+                final Optional<QuestInfo> questInfoResult = QuestProvider.getQuestInfo(qr.getQuestId());
+                if (questInfoResult.isEmpty()) {
+                    continue;
+                }
+                for (int i = 0; i < entry.getValue(); i++) {
+                    final Optional<QuestRecord> questProgressResult = questInfoResult.get().progressQuest(qr, templateId);
+                    if (questProgressResult.isEmpty()) {
+                        break;
+                    }
+                    updatedRecords.put(qr.getQuestId(), questProgressResult.get());
+                }
+            }
+        }
+        for (QuestRecord qr : updatedRecords.values()) {
+            user.write(MessagePacket.questRecord(qr));
+        }
+        if (!updatedRecords.isEmpty()) {
+            user.validateStat();
+        }
+    }
+
+    private static final class UserKills {
+        private final List<ExpGain> expGains = new ArrayList<>();
+        private final Map<Integer, Integer> mobCounts = new LinkedHashMap<>(); // template id -> kill count
+    }
+
+    private static final class ExpGain {
+        private final int exp;
+        private final int partyBonus;
+        private final int memberCount;
+        private final boolean highest;
+
+        private ExpGain(int exp, int partyBonus, int memberCount, boolean highest) {
+            this.exp = exp;
+            this.partyBonus = partyBonus;
+            this.memberCount = memberCount;
+            this.highest = highest;
+        }
+    }
+
+    private static final class MobDrops {
+        private final List<Drop> drops;
+        private final int x;
+        private final int y;
+        private final int delay;
+
+        private MobDrops(List<Drop> drops, int x, int y, int delay) {
+            this.drops = drops;
+            this.x = x;
+            this.y = y;
+            this.delay = delay;
+        }
+    }
+}
@@ -1,15 +1,14 @@
 package kinoko.world.quest;
 
 import kinoko.provider.EtcProvider;
+import kinoko.provider.QuestProvider;
 
 import java.time.Instant;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.util.*;
 
 public final class QuestManager {
     private final Map<Integer, QuestRecord> questRecords = new HashMap<>();
+    private final Map<Integer, QuestRecord> startedMobQuests = new HashMap<>(); // started quests with mob requirements
 
     public List<QuestRecord> getQuestRecords() {
         return questRecords.values().stream().toList();
@@ -21,6 +20,24 @@ public final class QuestManager {
                 .toList();
     }
 
+    /**
+     * Returns the started quests that require the given mob, using the mob index from {@link QuestProvider} so that
+     * only the quests referencing the mob are checked.
+     */
+    public List<QuestRecord> getStartedMobQuests(int mobId) {
+        if (startedMobQuests.isEmpty()) {
+            return List.of();
+        }
+        final List<QuestRecord> result = new ArrayList<>();
+        for (int questId : QuestProvider.getQuestIdsByMob(mobId)) {
+            final QuestRecord qr = startedMobQuests.get(questId);
+            if (qr != null && qr.getState() == QuestState.PERFORM) {
+                result.add(qr);
+            }
+        }
+        return result;
+    }
+
     public List<QuestRecord> getCompletedQuests() {
         return questRecords.values().stream()
                 .filter(qr -> qr.getState() == QuestState.COMPLETE)
@@ -41,9 +58,15 @@ public final class QuestManager {
 
     public void addQuestRecord(QuestRecord questRecord) {
         questRecords.put(questRecord.getQuestId(), questRecord);
+        if (questRecord.getState() == QuestState.PERFORM && QuestProvider.hasMobRequirement(questRecord.getQuestId())) {
+            startedMobQuests.put(questRecord.getQuestId(), questRecord);
+        } else {
+            startedMobQuests.remove(questRecord.getQuestId());
+        }
     }
 
     public Optional<QuestRecord> removeQuestRecord(int questId) {
+        startedMobQuests.remove(questId);
         return Optional.ofNullable(questRecords.remove(questId));
     }
 
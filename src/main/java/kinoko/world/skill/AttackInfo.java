@@ -18,7 +18,7 @@ public final class AttackInfo {
     public byte[] critical = new byte[15];
     public int[] damage = new int[15];
 
-    public long[] random;
+    public int randomIndex; // index of the attack randoms in CalcDamage
     public Locked<Mob> lockedMob;
 
     @Override
@@ -33,7 +33,7 @@ public final class AttackInfo {
                 ", delay=" + delay +
                 ", critical=" + Arrays.toString(critical) +
                 ", damage=" + Arrays.toString(damage) +
-                ", random=" + Arrays.toString(random) +
+                ", randomIndex=" + randomIndex +
                 ", lockedMob=" + lockedMob +
                 '}';
     }
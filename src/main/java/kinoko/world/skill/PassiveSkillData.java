@@ -6,13 +6,21 @@ import kinoko.provider.skill.SkillStat;
 import kinoko.world.job.JobConstants;
 import kinoko.world.job.resistance.Mechanic;
 import kinoko.world.user.stat.BasicStat;
+import kinoko.world.user.stat.CharacterTemporaryStat;
 import kinoko.world.user.stat.SecondaryStat;
+import kinoko.world.user.stat.StatInputKey;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
+/**
+ * Passive skill layer of the user stats. {@link #update(BasicStat, SecondaryStat, SkillManager)} only recomputes the
+ * data when one of its inputs has changed : the skill records, the job, the riding vehicle, the combat orders level and
+ * the dice info.
+ */
 public final class PassiveSkillData {
+    private final StatInputKey inputKey = new StatInputKey();
     private final Map<Integer, AdditionPsd> additionPsd = new HashMap<>();
     private int mhpR;
     private int mmpR;
@@ -165,6 +173,30 @@ public final class PassiveSkillData {
         return apsd != null ? apsd.cr : 0;
     }
 
+    /**
+     * Recomputes the passive skill data if any of the inputs have changed.
+     *
+     * @return true if the data was recomputed
+     */
+    public boolean update(BasicStat bs, SecondaryStat ss, SkillManager sm) {
+        inputKey.reset();
+        inputKey.add(bs.getJob());
+        inputKey.add(ss.getRidingVehicle());
+        inputKey.add(ss.getOption(CharacterTemporaryStat.CombatOrders).nOption);
+        for (int value : ss.getDiceInfo().getInfoArray()) {
+            inputKey.add(value);
+        }
+        for (SkillRecord skillRecord : sm.getSkillRecordValues()) {
+            inputKey.add(skillRecord.getSkillId());
+            inputKey.add(skillRecord.getSkillLevel());
+        }
+        if (!inputKey.update()) {
+            return false;
+        }
+        setFrom(bs, ss, sm);
+        return true;
+    }
+
     public void setFrom(BasicStat bs, SecondaryStat ss, SkillManager sm) {
         clearData();
         // No guild skills in v95
@@ -19,6 +19,11 @@ public final class SkillManager {
         return skillRecords.values().stream().toList();
     }
 
+    Collection<SkillRecord> getSkillRecordValues() {
+        // Live view for the passive skill data key, avoids copying the records on every validateStat
+        return skillRecords.values();
+    }
+
     public Optional<SkillRecord> getSkill(int skillId) {
         return Optional.ofNullable(skillRecords.get(skillId));
     }
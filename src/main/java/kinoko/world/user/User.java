@@ -32,7 +32,6 @@ import kinoko.world.field.life.Life;
 import kinoko.world.field.summoned.Summoned;
 import kinoko.world.field.summoned.SummonedLeaveType;
 import kinoko.world.item.InventoryManager;
-import kinoko.world.item.Item;
 import kinoko.world.quest.QuestManager;
 import kinoko.world.skill.PassiveSkillData;
 import kinoko.world.skill.SkillConstants;
@@ -64,6 +63,8 @@ public final class User extends Life implements Lockable<User> {
     private final SecondaryStat secondaryStat = new SecondaryStat();
     private final PassiveSkillData passiveSkillData = new PassiveSkillData();
     private final CalcDamage calcDamage = new CalcDamage();
+    private final SetItemCounts equippedSetItems = new SetItemCounts();
+    private final EquipStatLayer equipStatLayer = new EquipStatLayer();
 
     private final List<Pet> pets = new ArrayList<>();
     private final Map<Integer, List<Summoned>> summoned = new HashMap<>(); // skill id -> list of summons
@@ -82,11 +83,13 @@ public final class User extends Life implements Lockable<User> {
     private String adBoard;
     private boolean inTransfer;
     private Instant nextCheckItemExpire;
+    private volatile Instant nextUpdateTime;
 
     public User(Client client, CharacterData characterData) {
         this.client = client;
         this.characterData = characterData;
         this.nextCheckItemExpire = Instant.MIN;
+        this.nextUpdateTime = Instant.MIN;
     }
 
     public Client getClient() {
@@ -173,6 +176,10 @@ public final class User extends Life implements Lockable<User> {
         return passiveSkillData;
     }
 
+    public SetItemCounts getEquippedSetItems() {
+        return equippedSetItems;
+    }
+
     public CalcDamage getCalcDamage() {
         return calcDamage;
     }
@@ -293,6 +300,9 @@ public final class User extends Life implements Lockable<User> {
 
     public void setTownPortal(TownPortal townPortal) {
         this.townPortal = townPortal;
+        if (townPortal != null) {
+            scheduleUpdate(townPortal.getExpireTime());
+        }
     }
 
     public int getTownPortalIndex() {
@@ -305,6 +315,9 @@ public final class User extends Life implements Lockable<User> {
 
     public void setOpenGate(OpenGate openGate) {
         this.openGate = openGate;
+        if (openGate != null) {
+            scheduleUpdate(openGate.getExpireTime());
+        }
     }
 
     public int getEffectItemId() {
@@ -347,6 +360,24 @@ public final class User extends Life implements Lockable<User> {
         this.nextCheckItemExpire = nextCheckItemExpire;
     }
 
+    public Instant getNextUpdateTime() {
+        return nextUpdateTime;
+    }
+
+    public void setNextUpdateTime(Instant nextUpdateTime) {
+        this.nextUpdateTime = nextUpdateTime;
+    }
+
+    /**
+     * Makes sure that the user is updated in the field tick at or after the given time, used when a buff, cooltime,
+     * summon or gate with an expire time is added.
+     */
+    public void scheduleUpdate(Instant updateTime) {
+        if (updateTime.isBefore(nextUpdateTime)) {
+            nextUpdateTime = updateTime;
+        }
+    }
+
     // STAT METHODS ----------------------------------------------------------------------------------------------------
 
     public int getGender() {
@@ -439,19 +470,18 @@ public final class User extends Life implements Lockable<User> {
         return SkillProvider.getSkillInfoById(skillId).map(skillInfo -> skillInfo.getValue(stat, slv)).orElse(0);
     }
 
-    public void updatePassiveSkillData() {
-        getPassiveSkillData().setFrom(getBasicStat(), getSecondaryStat(), getSkillManager());
-    }
-
     public void validateStat() {
-        // get_real_equip
-        final Map<Integer, Item> realEquip = EquipStat.getRealEquip(this);
+        // get_real_equip, only recomputed if the equips or requirements have changed
+        equipStatLayer.update(this);
+
+        // CUserLocal::UpdatePassiveSkillData, only recomputed if the skills, riding vehicle or dice info have changed
+        getPassiveSkillData().update(getBasicStat(), getSecondaryStat(), getSkillManager());
 
         // BasicStat::SetFrom
-        getBasicStat().setFrom(getCharacterStat(), getForcedStat(), getSecondaryStat(), getSkillManager(), getPassiveSkillData(), realEquip);
+        getBasicStat().setFrom(getCharacterStat(), getForcedStat(), getSecondaryStat(), getSkillManager(), getPassiveSkillData(), equipStatLayer);
 
         // SecondaryStat::SetFrom
-        getSecondaryStat().setFrom(getBasicStat(), getForcedStat(), getSecondaryStat(), getSkillManager(), realEquip);
+        getSecondaryStat().setFrom(getBasicStat(), getForcedStat(), getSecondaryStat(), getSkillManager(), equipStatLayer);
 
         // CWvsContext::ValidateAdditionalItemEffect - ignore
 
@@ -475,12 +505,13 @@ public final class User extends Life implements Lockable<User> {
     }
 
     public void setTemporaryStat(Map<CharacterTemporaryStat, TemporaryStatOption> setStats) {
+        final BitFlag<CharacterTemporaryStat> flag = new BitFlag<>(CharacterTemporaryStat.FLAG_SIZE);
         for (var entry : setStats.entrySet()) {
-            getSecondaryStat().getTemporaryStats().put(entry.getKey(), entry.getValue());
+            getSecondaryStat().setTemporaryStat(entry.getKey(), entry.getValue());
+            scheduleUpdate(CharacterTemporaryStat.UPDATE_STAT.contains(entry.getKey()) ? Instant.MIN : entry.getValue().getExpireTime());
+            flag.setFlag(entry.getKey());
         }
-        updatePassiveSkillData();
         validateStat();
-        final BitFlag<CharacterTemporaryStat> flag = BitFlag.from(setStats.keySet(), CharacterTemporaryStat.FLAG_SIZE);
         if (!flag.isEmpty()) {
             write(WvsContext.temporaryStatSet(getSecondaryStat(), flag));
             getField().broadcastPacket(UserRemote.temporaryStatSet(this, getSecondaryStat(), flag), this);
@@ -496,21 +527,26 @@ public final class User extends Life implements Lockable<User> {
     }
 
     public void resetTemporaryStat(BiPredicate<CharacterTemporaryStat, TemporaryStatOption> predicate) {
-        final Set<CharacterTemporaryStat> resetStats = getSecondaryStat().resetTemporaryStat(predicate);
-        if (!resetStats.isEmpty()) {
-            updatePassiveSkillData();
+        onTemporaryStatReset(getSecondaryStat().resetTemporaryStat(predicate));
+    }
+
+    public void resetExpiredTemporaryStat(Instant now) {
+        onTemporaryStatReset(getSecondaryStat().resetExpiredTemporaryStat(now));
+    }
+
+    private void onTemporaryStatReset(BitFlag<CharacterTemporaryStat> flag) {
+        if (!flag.isEmpty()) {
             validateStat();
-            final BitFlag<CharacterTemporaryStat> flag = BitFlag.from(resetStats, CharacterTemporaryStat.FLAG_SIZE);
-            if (!flag.isEmpty()) {
-                write(WvsContext.temporaryStatReset(flag));
-                getField().broadcastPacket(UserRemote.temporaryStatReset(this, flag), this);
-            }
+            write(WvsContext.temporaryStatReset(flag));
+            getField().broadcastPacket(UserRemote.temporaryStatReset(this, flag), this);
         }
     }
 
     public void setSkillCooltime(int skillId, int cooltime) {
         if (cooltime > 0) {
-            getSkillManager().setSkillCooltime(skillId, Instant.now().plus(cooltime, ChronoUnit.SECONDS));
+            final Instant nextAvailable = Instant.now().plus(cooltime, ChronoUnit.SECONDS);
+            getSkillManager().setSkillCooltime(skillId, nextAvailable);
+            scheduleUpdate(nextAvailable);
         } else {
             getSkillManager().getSkillCooltimes().remove(skillId);
         }
@@ -681,6 +717,7 @@ public final class User extends Life implements Lockable<User> {
         }
         summonedList.add(summoned);
         getField().getSummonedPool().addSummoned(this, summoned);
+        scheduleUpdate(summoned.getExpireTime());
     }
 
     public void removeSummoned(Summoned summoned) {
@@ -1,6 +1,5 @@
 package kinoko.world.user.stat;
 
-import kinoko.provider.EtcProvider;
 import kinoko.provider.ItemProvider;
 import kinoko.provider.SkillProvider;
 import kinoko.provider.item.ItemInfo;
@@ -19,8 +18,6 @@ import kinoko.world.skill.SkillManager;
 
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 public final class BasicStat {
     private int gender;
@@ -34,6 +31,9 @@ public final class BasicStat {
     private int maxHp;
     private int maxMp;
 
+    private int equipVersion = -1;
+    private BasicStatEquipOption equipOption;
+
     public int getGender() {
         return gender;
     }
@@ -77,7 +77,7 @@ public final class BasicStat {
 
     // VALIDATE STAT METHODS -------------------------------------------------------------------------------------------
 
-    public void setFrom(CharacterStat cs, ForcedStat fs, SecondaryStat ss, SkillManager sm, PassiveSkillData psd, Map<Integer, Item> realEquip) {
+    public void setFrom(CharacterStat cs, ForcedStat fs, SecondaryStat ss, SkillManager sm, PassiveSkillData psd, EquipStatLayer equipLayer) {
         this.gender = cs.getGender();
         this.level = cs.getLevel();
         this.job = cs.getJob();
@@ -89,46 +89,23 @@ public final class BasicStat {
         this.maxHp = cs.getMaxHp();
         this.maxMp = cs.getMaxMp();
 
-        final BasicStatRateOption option = new BasicStatRateOption();
-        int incMaxHpR = 0;
-        int incMaxMpR = 0;
-
-        // Equip stats
-        for (var item : realEquip.values()) {
-            final Optional<ItemInfo> itemInfoResult = ItemProvider.getItemInfo(item.getItemId());
-            if (itemInfoResult.isEmpty()) {
-                continue;
-            }
-            final ItemInfo ii = itemInfoResult.get();
-
-            // Apply stats
-            final EquipData ed = item.getEquipData();
-            this.str += ed.getIncStr();
-            this.int_ += ed.getIncInt();
-            this.dex += ed.getIncDex();
-            this.luk += ed.getIncLuk();
-            this.maxHp += ed.getIncMaxHp();
-            this.maxMp += ed.getIncMaxMp();
-
-            incMaxHpR += ii.getInfo(ItemInfoType.incMHPr);
-            incMaxMpR += ii.getInfo(ItemInfoType.incMMPr);
-
-            final int optionLevel = ii.getOptionLevel(); // no sockets in v95
-            if (ed.isReleased()) {
-                this.applyItemOption(ed.getOption1(), optionLevel);
-                this.applyItemOption(ed.getOption2(), optionLevel);
-                this.applyItemOption(ed.getOption3(), optionLevel);
-                option.applyItemOptionR(ed.getOption1(), optionLevel);
-                option.applyItemOptionR(ed.getOption2(), optionLevel);
-                option.applyItemOptionR(ed.getOption3(), optionLevel);
-            }
+        // Equip stats, only summed again after the equipment layer has changed
+        if (equipVersion != equipLayer.getVersion()) {
+            equipOption = BasicStatEquipOption.from(equipLayer.getRealEquip());
+            equipVersion = equipLayer.getVersion();
         }
+        final BasicStatEquipOption option = equipOption;
+        this.str += option.str;
+        this.dex += option.dex;
+        this.int_ += option.int_;
+        this.luk += option.luk;
+        this.maxHp += option.maxHp;
+        this.maxMp += option.maxMp;
 
         // Set items
-        for (SetItemInfo setItemInfo : EtcProvider.getSetItemInfos()) {
-            final Set<Integer> equippedItems = realEquip.values().stream().map(Item::getItemId).collect(Collectors.toSet());
-            equippedItems.retainAll(setItemInfo.getItems());
-            for (int itemCount = 0; itemCount <= equippedItems.size(); itemCount++) {
+        for (var setEntry : equipLayer.getSetItems().entrySet()) {
+            final SetItemInfo setItemInfo = setEntry.getKey();
+            for (int itemCount = 0; itemCount <= setEntry.getValue(); itemCount++) {
                 final Map<ItemInfoType, Integer> effect = setItemInfo.getEffect().get(itemCount);
                 if (effect == null) {
                     continue;
@@ -184,31 +161,14 @@ public final class BasicStat {
         mpIncRateFromCts += ss.getOption(CharacterTemporaryStat.MaxMP).nOption;
 
         // Max hp/mp rate increases
-        this.maxHp += this.maxHp * (incMaxHpR + option.incMaxHpR + hpIncRateFromCts + psd.getMhpR()) / 100;
-        this.maxMp += this.maxMp * (incMaxMpR + option.incMaxMpR + mpIncRateFromCts + psd.getMmpR()) / 100;
+        this.maxHp += this.maxHp * (option.itemMaxHpR + option.incMaxHpR + hpIncRateFromCts + psd.getMhpR()) / 100;
+        this.maxMp += this.maxMp * (option.itemMaxMpR + option.incMaxMpR + mpIncRateFromCts + psd.getMmpR()) / 100;
 
         // Max hp/mp cap
         this.maxHp = Math.min(this.maxHp, GameConstants.HP_MAX);
         this.maxMp = Math.min(this.maxMp, GameConstants.MP_MAX);
     }
 
-    private void applyItemOption(int itemOptionId, int optionLevel) {
-        final Optional<ItemOptionLevelData> itemOptionResult = ItemProvider.getItemOptionInfo(itemOptionId, optionLevel);
-        if (itemOptionResult.isEmpty()) {
-            return;
-        }
-        for (var entry : itemOptionResult.get().getStats().entrySet()) {
-            switch (entry.getKey()) {
-                case incSTR -> this.str += entry.getValue();
-                case incDEX -> this.dex += entry.getValue();
-                case incINT -> this.int_ += entry.getValue();
-                case incLUK -> this.luk += entry.getValue();
-                case incMHP -> this.maxHp += entry.getValue();
-                case incMMP -> this.maxMp += entry.getValue();
-            }
-        }
-    }
-
     private int getJaguarRidingMaxHpUp(SecondaryStat ss, SkillManager sm) {
         if (!SkillConstants.WILD_HUNTER_JAGUARS.contains(ss.getRidingVehicle())) {
             return 0;
@@ -222,7 +182,15 @@ public final class BasicStat {
         return si.getValue(SkillStat.z, slv);
     }
 
-    private static class BasicStatRateOption {
+    private static class BasicStatEquipOption {
+        private int str;
+        private int dex;
+        private int int_;
+        private int luk;
+        private int maxHp;
+        private int maxMp;
+        private int itemMaxHpR;
+        private int itemMaxMpR;
         private int strR;
         private int dexR;
         private int intR;
@@ -230,13 +198,19 @@ public final class BasicStat {
         private int incMaxHpR;
         private int incMaxMpR;
 
-        private void applyItemOptionR(int itemOptionId, int optionLevel) {
+        private void applyItemOption(int itemOptionId, int optionLevel) {
             final Optional<ItemOptionLevelData> itemOptionResult = ItemProvider.getItemOptionInfo(itemOptionId, optionLevel);
             if (itemOptionResult.isEmpty()) {
                 return;
             }
             for (var entry : itemOptionResult.get().getStats().entrySet()) {
                 switch (entry.getKey()) {
+                    case incSTR -> this.str += entry.getValue();
+                    case incDEX -> this.dex += entry.getValue();
+                    case incINT -> this.int_ += entry.getValue();
+                    case incLUK -> this.luk += entry.getValue();
+                    case incMHP -> this.maxHp += entry.getValue();
+                    case incMMP -> this.maxMp += entry.getValue();
                     case incSTRr -> this.strR += entry.getValue();
                     case incDEXr -> this.dexR += entry.getValue();
                     case incINTr -> this.intR += entry.getValue();
@@ -246,5 +220,36 @@ public final class BasicStat {
                 }
             }
         }
+
+        private static BasicStatEquipOption from(Map<Integer, Item> realEquip) {
+            final BasicStatEquipOption option = new BasicStatEquipOption();
+            for (var item : realEquip.values()) {
+                final Optional<ItemInfo> itemInfoResult = ItemProvider.getItemInfo(item.getItemId());
+                if (itemInfoResult.isEmpty()) {
+                    continue;
+                }
+                final ItemInfo ii = itemInfoResult.get();
+
+                // Apply stats
+                final EquipData ed = item.getEquipData();
+                option.str += ed.getIncStr();
+                option.int_ += ed.getIncInt();
+                option.dex += ed.getIncDex();
+                option.luk += ed.getIncLuk();
+                option.maxHp += ed.getIncMaxHp();
+                option.maxMp += ed.getIncMaxMp();
+
+                option.itemMaxHpR += ii.getInfo(ItemInfoType.incMHPr);
+                option.itemMaxMpR += ii.getInfo(ItemInfoType.incMMPr);
+
+                final int optionLevel = ii.getOptionLevel(); // no sockets in v95
+                if (ed.isReleased()) {
+                    option.applyItemOption(ed.getOption1(), optionLevel);
+                    option.applyItemOption(ed.getOption2(), optionLevel);
+                    option.applyItemOption(ed.getOption3(), optionLevel);
+                }
+            }
+            return option;
+        }
     }
 }
@@ -31,12 +31,15 @@ import kinoko.world.user.User;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 public final class CalcDamage {
     private static final Logger log = LogManager.getLogger(CalcDamage.class);
+    private static final int ATTACK_RANDOM_COUNT = 7;
     private final Rand32 rndGenForCharacter = new Rand32();
+    private long[] attackRandom = new long[ATTACK_RANDOM_COUNT * 15];
     private boolean nextAttackCritical;
 
     public void setSeed(int s1, int s2, int s3) {
@@ -55,12 +58,23 @@ public final class CalcDamage {
         this.nextAttackCritical = nextAttackCritical;
     }
 
-    public long[] getNextAttackRandom() {
-        final long[] random = new long[7];
-        for (int i = 0; i < 7; i++) {
-            random[i] = Integer.toUnsignedLong(rndGenForCharacter.random());
+    /**
+     * Assigns the next attack randoms to each attacked mob, in the order the client generates them. The values are
+     * written to a buffer reused for every attack, which is only accessed while the user is locked.
+     */
+    public void setNextAttackRandom(List<AttackInfo> attackInfo) {
+        final int length = attackInfo.size() * ATTACK_RANDOM_COUNT;
+        if (attackRandom.length < length) {
+            attackRandom = new long[length];
         }
-        return random;
+        rndGenForCharacter.fill(attackRandom, 0, length);
+        for (int i = 0; i < attackInfo.size(); i++) {
+            attackInfo.get(i).randomIndex = i * ATTACK_RANDOM_COUNT;
+        }
+    }
+
+    private long getAttackRandom(AttackInfo ai, int counter) {
+        return attackRandom[ai.randomIndex + counter % ATTACK_RANDOM_COUNT];
     }
 
 
@@ -69,6 +83,7 @@ public final class CalcDamage {
     public static void calcPDamage(Locked<User> locked, Locked<Mob> lockedMob, Attack attack, AttackInfo ai) {
         // CalcDamage::PDamage
         final User user = locked.get();
+        final CalcDamage calcDamage = user.getCalcDamage();
         final SecondaryStat ss = user.getSecondaryStat();
         final PassiveSkillData psd = user.getPassiveSkillData();
         final Mob mob = lockedMob.get();
@@ -93,7 +108,7 @@ public final class CalcDamage {
                 continue;
             }
             if (!ms.hasOption(MobTemporaryStat.Freeze) || ms.getOption(MobTemporaryStat.Freeze).rOption != Aran.COMBO_TEMPEST) {
-                if (ms.hasOption(MobTemporaryStat.PImmune) && (ai.random[counter++ % 7] % 100) > ss.getOption(CharacterTemporaryStat.RespectPImmune).nOption) {
+                if (ms.hasOption(MobTemporaryStat.PImmune) && (calcDamage.getAttackRandom(ai, counter++) % 100) > ss.getOption(CharacterTemporaryStat.RespectPImmune).nOption) {
                     assertDamage(1, ai.damage[i]);
                     continue;
                 }
@@ -104,7 +119,7 @@ public final class CalcDamage {
                 }
                 if (skillId == Bowman.SNIPE) { // 33121003 does not exist
                     if (!mob.isBoss()) {
-                        final int fixDamage = (int) (999_999.0 - getRand(ai.random[counter++ % 7], 10000.0, 0.0));
+                        final int fixDamage = (int) (999_999.0 - getRand(calcDamage.getAttackRandom(ai, counter++), 10000.0, 0.0));
                         assertDamage(fixDamage, ai.damage[i]);
                     } else {
                         assertDamage(500_000, ai.damage[i]);
@@ -112,7 +127,7 @@ public final class CalcDamage {
                     continue;
                 }
                 if (skillId == Thief.NINJA_STORM || skillId == Aran.ROLLING_SPIN) {
-                    final double rand = getRand(ai.random[counter % 7], 100.0, 0.0);
+                    final double rand = getRand(calcDamage.getAttackRandom(ai, counter), 100.0, 0.0);
                     final int prop = user.getSkillStatValue(skillId, SkillStat.prop);
                     if (prop <= rand) {
                         assertDamage(0, ai.damage[i]);
@@ -122,7 +137,7 @@ public final class CalcDamage {
                 counter++;
                 if ((ms.hasOption(MobTemporaryStat.Freeze) && skillId == Bowman.STRAFE_MM && attack.isShootAttack() && i == 0 && !mob.isBoss()) ||
                         (skillId == Thief.OWL_SPIRIT && i == 0 && !mob.isBoss())) {
-                    final double rand = getRand(ai.random[counter++ % 7], 0.0, 100.0);
+                    final double rand = getRand(calcDamage.getAttackRandom(ai, counter++), 0.0, 100.0);
                     final int prop = user.getSkillStatValue(skillId, SkillStat.prop);
                     if (rand < prop) {
                         // assertDamage(mob.getMaxHp(), ai.damage[i]);
@@ -135,7 +150,7 @@ public final class CalcDamage {
                 final int mobEva = Math.clamp(mob.getTemplate().getEva() + mob.getMobStat().getOption(MobTemporaryStat.EVA).nOption, 0, 9999);
                 final int accR = calcAccR(user, mobEva, mob.getLevel());
                 if (!JobConstants.isAdminJob(user.getJob())) {
-                    final double rand = getRand(ai.random[counter++ % 7], 100.0, 0.0);
+                    final double rand = getRand(calcDamage.getAttackRandom(ai, counter++), 100.0, 0.0);
                     if (accR < rand) {
                         assertDamage(0, ai.damage[i]);
                         continue;
@@ -152,10 +167,10 @@ public final class CalcDamage {
                     }
                 }
                 if (ss.hasOption(CharacterTemporaryStat.Darkness)) {
-                    final double rand = getRand(ai.random[counter++ % 7], 100.0, 0.0);
+                    final double rand = getRand(calcDamage.getAttackRandom(ai, counter++), 100.0, 0.0);
                     if (rand > 20.0) {
                         assertDamage(0, ai.damage[i]);
-                        counter += (int) getRand(ai.random[counter % 7], 0.0, 5.0) + 1;
+                        counter += (int) getRand(calcDamage.getAttackRandom(ai, counter), 0.0, 5.0) + 1;
                         continue;
                     }
                 }
@@ -178,7 +193,7 @@ public final class CalcDamage {
                 // Check Critical
                 if (attack.skillId != Thief.ASSASSINATE || attack.getAction() != ActionType.ASSASSINATIONS.getValue()) {
                     if (user.getCalcDamage().isNextAttackCritical() || (criticalRate > 0 &&
-                            criticalRate > getRand(ai.random[counter++ % 7], 0.0, 100.0))) {
+                            criticalRate > getRand(calcDamage.getAttackRandom(ai, counter++), 0.0, 100.0))) {
                         ai.critical[i] = 1;
                         // Adjust Critical Damage
                         counter++;
@@ -210,6 +225,7 @@ public final class CalcDamage {
     public static void calcMDamage(Locked<User> locked, Locked<Mob> lockedMob, Attack attack, AttackInfo ai) {
         // CalcDamage::MDamage
         final User user = locked.get();
+        final CalcDamage calcDamage = user.getCalcDamage();
         final SecondaryStat ss = user.getSecondaryStat();
         final Mob mob = lockedMob.get();
         final MobStat ms = mob.getMobStat();
@@ -225,7 +241,7 @@ public final class CalcDamage {
                 continue;
             }
             if (ms.hasOption(MobTemporaryStat.MImmune)) {
-                final double rand = ai.random[counter % 7] % 100;
+                final double rand = calcDamage.getAttackRandom(ai, counter) % 100;
                 if (rand > ss.getOption(CharacterTemporaryStat.RespectMImmune).nOption) {
                     assertDamage(1, ai.damage[i]);
                     continue;
@@ -237,7 +253,7 @@ public final class CalcDamage {
             }
             final int mobEva = Math.clamp(mob.getTemplate().getEva() + mob.getMobStat().getOption(MobTemporaryStat.EVA).nOption, 0, 9999);
             final int accR = calcAccR(user, mobEva, mob.getLevel());
-            final double rand = getRand(ai.random[counter++ % 7], 100.0, 0.0);
+            final double rand = getRand(calcDamage.getAttackRandom(ai, counter++), 100.0, 0.0);
             if (accR < rand) {
                 assertDamage(0, ai.damage[i]);
                 continue;
@@ -253,7 +269,7 @@ public final class CalcDamage {
             counter++;
             // Check Critical
             if (user.getCalcDamage().isNextAttackCritical() || (criticalRate > 0 &&
-                    criticalRate > getRand(ai.random[counter++ % 7], 0.0, 100.0))) {
+                    criticalRate > getRand(calcDamage.getAttackRandom(ai, counter++), 0.0, 100.0))) {
                 ai.critical[i] = 1;
                 // Adjust Critical Damage
                 counter++;
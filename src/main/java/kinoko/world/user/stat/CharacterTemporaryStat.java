@@ -183,6 +183,9 @@ public enum CharacterTemporaryStat implements BitIndex {
             Speed, Jump, Stun, Weakness, Slow, Morph, Ghost, BasicStatUp, Attract, RideVehicle, Dash_Speed, Dash_Jump,
             Flying, Frozen, YellowAura
     );
+    public static final Set<CharacterTemporaryStat> UPDATE_STAT = Set.of(
+            Regen, DragonBlood, Infinity, Aura, Mechanic
+    ); // handled in SkillProcessor.processUpdate
 
     private final int value;
     private final int arrayIndex;
@@ -1,6 +1,5 @@
 package kinoko.world.user.stat;
 
-import kinoko.provider.EtcProvider;
 import kinoko.provider.ItemProvider;
 import kinoko.provider.item.ItemInfo;
 import kinoko.provider.item.ItemInfoType;
@@ -12,7 +11,6 @@ import kinoko.world.user.User;
 
 import java.time.Instant;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Utility class for resolving valid equipped items for a User. This is only instantiated for computing and checking the
@@ -168,10 +166,9 @@ public final class EquipStat {
         }
 
         // Set items
-        for (SetItemInfo setItemInfo : EtcProvider.getSetItemInfos()) {
-            final Set<Integer> equippedItems = equipped.getItems().values().stream().map(Item::getItemId).collect(Collectors.toSet());
-            equippedItems.retainAll(setItemInfo.getItems());
-            for (int itemCount = 0; itemCount <= equippedItems.size(); itemCount++) {
+        for (var setEntry : user.getEquippedSetItems().update(equipped.getItems().values()).entrySet()) {
+            final SetItemInfo setItemInfo = setEntry.getKey();
+            for (int itemCount = 0; itemCount <= setEntry.getValue(); itemCount++) {
                 final Map<ItemInfoType, Integer> effect = setItemInfo.getEffect().get(itemCount);
                 if (effect == null) {
                     continue;
@@ -0,0 +1,110 @@
+package kinoko.world.user.stat;
+
+import kinoko.provider.ItemProvider;
+import kinoko.provider.item.SetItemInfo;
+import kinoko.world.item.*;
+import kinoko.world.user.Pet;
+import kinoko.world.user.User;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Equipment layer of the user stats, holding the real equip list from {@link EquipStat#getRealEquip(User)} and the set
+ * item counts for those equips. The layer is only recomputed when one of its inputs has changed since the last update,
+ * and the version is incremented so that {@link BasicStat} and {@link SecondaryStat} can keep their summed equip stats
+ * until the next change.
+ * <p>
+ * The inputs are the equipped items with their equip data and item info, the character stats used for the equip
+ * requirements, the BasicStatUp option, the equipped pets and the expiry of the extended pendant slot.
+ */
+public final class EquipStatLayer {
+    private final StatInputKey inputKey = new StatInputKey();
+    private final SetItemCounts setItemCounts = new SetItemCounts();
+    private Map<Integer, Item> realEquip = Map.of();
+    private Map<SetItemInfo, Integer> setItems = Map.of();
+    private int version;
+
+    public Map<Integer, Item> getRealEquip() {
+        return realEquip;
+    }
+
+    public Map<SetItemInfo, Integer> getSetItems() {
+        return setItems;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Recomputes the real equip list if any of the inputs have changed.
+     *
+     * @return true if the layer was recomputed
+     */
+    public boolean update(User user) {
+        buildKey(user);
+        if (!inputKey.update()) {
+            return false;
+        }
+        // Recompute layer
+        realEquip = EquipStat.getRealEquip(user);
+        setItems = setItemCounts.update(realEquip.values());
+        version++;
+        return true;
+    }
+
+    private void buildKey(User user) {
+        inputKey.reset();
+        final CharacterStat cs = user.getCharacterStat();
+        inputKey.add(cs.getGender());
+        inputKey.add(cs.getLevel());
+        inputKey.add(cs.getJob());
+        inputKey.add(cs.getSubJob());
+        inputKey.add(cs.getBaseStr());
+        inputKey.add(cs.getBaseDex());
+        inputKey.add(cs.getBaseInt());
+        inputKey.add(cs.getBaseLuk());
+        inputKey.add(cs.getPop());
+        inputKey.add(user.getSecondaryStat().getOption(CharacterTemporaryStat.BasicStatUp).nOption);
+        final InventoryManager im = user.getInventoryManager();
+        for (Pet pet : user.getPets()) {
+            inputKey.add(pet.getTemplateId());
+        }
+        inputKey.add(user.getPets().size());
+        for (var entry : im.getEquipped().getItems().entrySet()) {
+            final Item item = entry.getValue();
+            inputKey.add(entry.getKey());
+            inputKey.add(item.getItemId());
+            inputKey.addReference(item);
+            if (entry.getKey() == BodyPart.EXT_PENDANT1.getValue()) {
+                inputKey.add(im.getExtSlotExpire().isBefore(Instant.now()) ? 1 : 0);
+            }
+            if (item.getItemType() != ItemType.EQUIP) {
+                continue;
+            }
+            inputKey.addReference(ItemProvider.getItemInfo(item.getItemId()).orElse(null));
+            final EquipData ed = item.getEquipData();
+            inputKey.add(ed.getIncStr());
+            inputKey.add(ed.getIncDex());
+            inputKey.add(ed.getIncInt());
+            inputKey.add(ed.getIncLuk());
+            inputKey.add(ed.getIncMaxHp());
+            inputKey.add(ed.getIncMaxMp());
+            inputKey.add(ed.getIncPad());
+            inputKey.add(ed.getIncMad());
+            inputKey.add(ed.getIncPdd());
+            inputKey.add(ed.getIncMdd());
+            inputKey.add(ed.getIncAcc());
+            inputKey.add(ed.getIncEva());
+            inputKey.add(ed.getIncCraft());
+            inputKey.add(ed.getIncSpeed());
+            inputKey.add(ed.getIncJump());
+            inputKey.add(ed.getGrade());
+            inputKey.add(ed.getOption1());
+            inputKey.add(ed.getOption2());
+            inputKey.add(ed.getOption3());
+            inputKey.add(ed.getDurability());
+        }
+    }
+}
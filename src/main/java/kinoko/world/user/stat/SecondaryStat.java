@@ -1,6 +1,5 @@
 package kinoko.world.user.stat;
 
-import kinoko.provider.EtcProvider;
 import kinoko.provider.ItemProvider;
 import kinoko.provider.SkillProvider;
 import kinoko.provider.item.ItemInfo;
@@ -28,12 +27,15 @@ import kinoko.world.job.resistance.WildHunter;
 import kinoko.world.skill.SkillConstants;
 import kinoko.world.skill.SkillManager;
 
+import java.time.Instant;
 import java.util.*;
 import java.util.function.BiPredicate;
-import java.util.stream.Collectors;
 
 public final class SecondaryStat {
-    private final Map<CharacterTemporaryStat, TemporaryStatOption> temporaryStats = new EnumMap<>(CharacterTemporaryStat.class);
+    private static final CharacterTemporaryStat[] TEMPORARY_STATS = CharacterTemporaryStat.values();
+    private final TemporaryStatOption[] temporaryStats = new TemporaryStatOption[TEMPORARY_STATS.length]; // indexed by ordinal
+    private final long[] expireTimes = new long[TEMPORARY_STATS.length]; // epoch millis, Long.MAX_VALUE if not set
+    private final BitFlag<CharacterTemporaryStat> temporaryStatFlag = new BitFlag<>(CharacterTemporaryStat.FLAG_SIZE);
     private int pad;
     private int pdd;
     private int mad;
@@ -51,8 +53,32 @@ public final class SecondaryStat {
     private int speed;
     private int jump;
 
+    private int equipVersion = -1;
+    private SecondaryStatEquipOption equipOption;
+
+    public SecondaryStat() {
+        Arrays.fill(expireTimes, Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns a copy of the active temporary stats, use {@link #setTemporaryStat} and {@link #resetTemporaryStat} for
+     * modifications.
+     */
     public Map<CharacterTemporaryStat, TemporaryStatOption> getTemporaryStats() {
-        return temporaryStats;
+        final Map<CharacterTemporaryStat, TemporaryStatOption> result = new EnumMap<>(CharacterTemporaryStat.class);
+        for (int i = 0; i < temporaryStats.length; i++) {
+            if (temporaryStats[i] != null) {
+                result.put(TEMPORARY_STATS[i], temporaryStats[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Flag of the active temporary stats, must not be modified.
+     */
+    public BitFlag<CharacterTemporaryStat> getTemporaryStatFlag() {
+        return temporaryStatFlag;
     }
 
     public int getPad() {
@@ -123,17 +149,24 @@ public final class SecondaryStat {
     // TEMPORARY STAT METHODS ------------------------------------------------------------------------------------------
 
     public void clear() {
-        temporaryStats.clear();
+        Arrays.fill(temporaryStats, null);
+        Arrays.fill(expireTimes, Long.MAX_VALUE);
+        temporaryStatFlag.clear();
     }
 
     public TemporaryStatOption getOption(CharacterTemporaryStat cts) {
-        return temporaryStats.getOrDefault(cts, TemporaryStatOption.EMPTY);
+        final TemporaryStatOption option = temporaryStats[cts.ordinal()];
+        return option != null ? option : TemporaryStatOption.EMPTY;
     }
 
     public boolean hasOption(CharacterTemporaryStat cts) {
         return getOption(cts).nOption > 0;
     }
 
+    public boolean hasTemporaryStat(BitFlag<CharacterTemporaryStat> flag) {
+        return temporaryStatFlag.intersects(flag);
+    }
+
     public int getRidingVehicle() {
         return getOption(CharacterTemporaryStat.RideVehicle).nOption;
     }
@@ -142,19 +175,61 @@ public final class SecondaryStat {
         return getOption(CharacterTemporaryStat.Dice).diceInfo;
     }
 
-    public Set<CharacterTemporaryStat> resetTemporaryStat(BiPredicate<CharacterTemporaryStat, TemporaryStatOption> predicate) {
-        final Set<CharacterTemporaryStat> resetStats = new HashSet<>();
-        final var iter = getTemporaryStats().entrySet().iterator();
-        while (iter.hasNext()) {
-            final Map.Entry<CharacterTemporaryStat, TemporaryStatOption> entry = iter.next();
-            final CharacterTemporaryStat cts = entry.getKey();
-            final TemporaryStatOption option = entry.getValue();
-            if (predicate.test(cts, option)) {
-                iter.remove();
-                resetStats.add(cts);
+    public void setTemporaryStat(CharacterTemporaryStat cts, TemporaryStatOption option) {
+        temporaryStats[cts.ordinal()] = option;
+        expireTimes[cts.ordinal()] = toEpochMilli(option.getExpireTime());
+        temporaryStatFlag.setFlag(cts);
+    }
+
+    public void setTemporaryStat(Map<CharacterTemporaryStat, TemporaryStatOption> setStats) {
+        for (var entry : setStats.entrySet()) {
+            setTemporaryStat(entry.getKey(), entry.getValue());
+        }
+    }
+
+    public BitFlag<CharacterTemporaryStat> resetTemporaryStat(BiPredicate<CharacterTemporaryStat, TemporaryStatOption> predicate) {
+        final BitFlag<CharacterTemporaryStat> resetFlag = new BitFlag<>(CharacterTemporaryStat.FLAG_SIZE);
+        for (int i = 0; i < temporaryStats.length; i++) {
+            final TemporaryStatOption option = temporaryStats[i];
+            if (option != null && predicate.test(TEMPORARY_STATS[i], option)) {
+                removeTemporaryStat(i);
+                resetFlag.setFlag(TEMPORARY_STATS[i]);
+            }
+        }
+        return resetFlag;
+    }
+
+    public BitFlag<CharacterTemporaryStat> resetExpiredTemporaryStat(Instant now) {
+        final BitFlag<CharacterTemporaryStat> resetFlag = new BitFlag<>(CharacterTemporaryStat.FLAG_SIZE);
+        final long nowMillis = now.toEpochMilli();
+        for (int i = 0; i < expireTimes.length; i++) {
+            if (nowMillis >= expireTimes[i]) {
+                removeTemporaryStat(i);
+                resetFlag.setFlag(TEMPORARY_STATS[i]);
             }
         }
-        return resetStats;
+        return resetFlag;
+    }
+
+    public Instant getNextExpireTime() {
+        long nextExpireTime = Long.MAX_VALUE;
+        for (long expireTime : expireTimes) {
+            nextExpireTime = Math.min(nextExpireTime, expireTime);
+        }
+        return nextExpireTime != Long.MAX_VALUE ? Instant.ofEpochMilli(nextExpireTime) : Instant.MAX;
+    }
+
+    private void removeTemporaryStat(int ordinal) {
+        temporaryStats[ordinal] = null;
+        expireTimes[ordinal] = Long.MAX_VALUE;
+        temporaryStatFlag.resetFlag(TEMPORARY_STATS[ordinal]);
+    }
+
+    private static long toEpochMilli(Instant instant) {
+        if (instant == null || instant.getEpochSecond() >= Long.MAX_VALUE / 1000 - 1) {
+            return Long.MAX_VALUE;
+        }
+        return instant.toEpochMilli();
     }
 
     public void encodeForLocal(BitFlag<CharacterTemporaryStat> flag, OutPacket outPacket) {
@@ -187,14 +262,14 @@ public final class SecondaryStat {
 
         for (CharacterTemporaryStat cts : CharacterTemporaryStat.TWO_STATE_ORDER) {
             if (flag.hasFlag(cts)) {
-                temporaryStats.getOrDefault(cts, TwoStateTemporaryStat.DEFAULT.get(cts)).encode(outPacket);
+                final TemporaryStatOption option = temporaryStats[cts.ordinal()];
+                (option != null ? option : TwoStateTemporaryStat.DEFAULT.get(cts)).encode(outPacket);
             }
         }
     }
 
     public void encodeForRemote(OutPacket outPacket) {
-        final BitFlag<CharacterTemporaryStat> flag = BitFlag.from(getTemporaryStats().keySet(), CharacterTemporaryStat.FLAG_SIZE);
-        encodeForRemote(flag, outPacket);
+        encodeForRemote(temporaryStatFlag, outPacket);
     }
 
     public void encodeForRemote(BitFlag<CharacterTemporaryStat> flag, OutPacket outPacket) {
@@ -231,7 +306,8 @@ public final class SecondaryStat {
 
         for (CharacterTemporaryStat cts : CharacterTemporaryStat.TWO_STATE_ORDER) {
             if (flag.hasFlag(cts)) {
-                temporaryStats.getOrDefault(cts, TwoStateTemporaryStat.DEFAULT.get(cts)).encode(outPacket);
+                final TemporaryStatOption option = temporaryStats[cts.ordinal()];
+                (option != null ? option : TwoStateTemporaryStat.DEFAULT.get(cts)).encode(outPacket);
             }
         }
     }
@@ -239,7 +315,7 @@ public final class SecondaryStat {
 
     // VALIDATE STAT METHODS -------------------------------------------------------------------------------------------
 
-    public void setFrom(BasicStat bs, ForcedStat fs, SecondaryStat ss, SkillManager sm, Map<Integer, Item> realEquip) {
+    public void setFrom(BasicStat bs, ForcedStat fs, SecondaryStat ss, SkillManager sm, EquipStatLayer equipLayer) {
         this.pad = 0;
         this.pdd = 0;
         this.mad = 0;
@@ -258,10 +334,9 @@ public final class SecondaryStat {
         this.jump = 100;
 
         // Set items
-        for (SetItemInfo setItemInfo : EtcProvider.getSetItemInfos()) {
-            final Set<Integer> equippedItems = realEquip.values().stream().map(Item::getItemId).collect(Collectors.toSet());
-            equippedItems.retainAll(setItemInfo.getItems());
-            for (int itemCount = 0; itemCount <= equippedItems.size(); itemCount++) {
+        for (var setEntry : equipLayer.getSetItems().entrySet()) {
+            final SetItemInfo setItemInfo = setEntry.getKey();
+            for (int itemCount = 0; itemCount <= setEntry.getValue(); itemCount++) {
                 final Map<ItemInfoType, Integer> effect = setItemInfo.getEffect().get(itemCount);
                 if (effect == null) {
                     continue;
@@ -282,7 +357,7 @@ public final class SecondaryStat {
         }
 
         // Bare hands for pirates
-        final Item weapon = realEquip.get(BodyPart.WEAPON.getValue());
+        final Item weapon = equipLayer.getRealEquip().get(BodyPart.WEAPON.getValue());
         if (weapon == null && JobConstants.getJobCategory(bs.getJob()) == 5) {
             if (bs.getLevel() > 30) {
                 this.pad = 31;
@@ -291,38 +366,21 @@ public final class SecondaryStat {
             }
         }
 
-        // Equip stats
-        final SecondaryStatRateOption option = new SecondaryStatRateOption();
-        for (var item : realEquip.values()) {
-            // Resolve item and item info
-            final Optional<ItemInfo> itemInfoResult = ItemProvider.getItemInfo(item.getItemId());
-            if (itemInfoResult.isEmpty()) {
-                continue;
-            }
-            final ItemInfo ii = itemInfoResult.get();
-
-            // Apply stats
-            final EquipData ed = item.getEquipData();
-            this.pad += ed.getIncPad();
-            this.pdd += ed.getIncPdd();
-            this.mad += ed.getIncMad();
-            this.mdd += ed.getIncMdd();
-            this.acc += ed.getIncAcc();
-            this.eva += ed.getIncEva();
-            this.craft += ed.getIncCraft();
-            this.speed += ed.getIncSpeed();
-            this.jump += ed.getIncJump();
-
-            final int optionLevel = ii.getOptionLevel();
-            if (ed.isReleased()) {
-                this.applyItemOption(ed.getOption1(), optionLevel);
-                this.applyItemOption(ed.getOption2(), optionLevel);
-                this.applyItemOption(ed.getOption3(), optionLevel);
-                option.applyItemOptionR(ed.getOption1(), optionLevel);
-                option.applyItemOptionR(ed.getOption2(), optionLevel);
-                option.applyItemOptionR(ed.getOption3(), optionLevel);
-            }
+        // Equip stats, only summed again after the equipment layer has changed
+        if (equipVersion != equipLayer.getVersion()) {
+            equipOption = SecondaryStatEquipOption.from(equipLayer.getRealEquip());
+            equipVersion = equipLayer.getVersion();
         }
+        final SecondaryStatEquipOption option = equipOption;
+        this.pad += option.pad;
+        this.pdd += option.pdd;
+        this.mad += option.mad;
+        this.mdd += option.mdd;
+        this.acc += option.acc;
+        this.eva += option.eva;
+        this.craft += option.craft;
+        this.speed += option.speed;
+        this.jump += option.jump;
 
         // Passive skills
         for (int skillId : SkillConstants.SECONDARY_STAT_SKILLS) {
@@ -376,7 +434,7 @@ public final class SecondaryStat {
                 getStatFromSkill(ss, sm, Warrior.WEAPON_MASTERY_PALADIN);
             }
             case DAGGER -> {
-                final Item shield = realEquip.get(BodyPart.SHIELD.getValue());
+                final Item shield = equipLayer.getRealEquip().get(BodyPart.SHIELD.getValue());
                 if (shield != null && WeaponType.getByItemId(shield.getItemId()) == WeaponType.SUB_DAGGER) {
                     getStatFromSkill(ss, sm, Thief.KATARA_MASTERY);
                 } else {
@@ -513,25 +571,6 @@ public final class SecondaryStat {
         this.jump = Math.clamp(this.jump, GameConstants.JUMP_MIN, GameConstants.JUMP_MAX);
     }
 
-    private void applyItemOption(int itemOptionId, int optionLevel) {
-        final Optional<ItemOptionLevelData> itemOptionResult = ItemProvider.getItemOptionInfo(itemOptionId, optionLevel);
-        if (itemOptionResult.isEmpty()) {
-            return;
-        }
-        for (var entry : itemOptionResult.get().getStats().entrySet()) {
-            switch (entry.getKey()) {
-                case incPAD -> this.pad += entry.getValue();
-                case incPDD -> this.pdd += entry.getValue();
-                case incMAD -> this.mad += entry.getValue();
-                case incMDD -> this.mdd += entry.getValue();
-                case incACC -> this.acc += entry.getValue();
-                case incEVA -> this.eva += entry.getValue();
-                case incSpeed -> this.speed += entry.getValue();
-                case incJump -> this.jump += entry.getValue();
-            }
-        }
-    }
-
     private void getStatFromSkill(SecondaryStat ss, SkillManager sm, int... skillIds) {
         for (int skillId : skillIds) {
             final Optional<SkillInfo> skillInfoResult = SkillProvider.getSkillInfoById(skillId);
@@ -569,7 +608,16 @@ public final class SecondaryStat {
     }
 
 
-    private static class SecondaryStatRateOption {
+    private static class SecondaryStatEquipOption {
+        private int pad;
+        private int pdd;
+        private int mad;
+        private int mdd;
+        private int acc;
+        private int eva;
+        private int craft;
+        private int speed;
+        private int jump;
         private int padR;
         private int pddR;
         private int madR;
@@ -578,13 +626,21 @@ public final class SecondaryStat {
         private int evaR;
         private int criR;
 
-        private void applyItemOptionR(short itemOptionId, int optionLevel) {
+        private void applyItemOption(int itemOptionId, int optionLevel) {
             final Optional<ItemOptionLevelData> itemOptionResult = ItemProvider.getItemOptionInfo(itemOptionId, optionLevel);
             if (itemOptionResult.isEmpty()) {
                 return;
             }
             for (var entry : itemOptionResult.get().getStats().entrySet()) {
                 switch (entry.getKey()) {
+                    case incPAD -> this.pad += entry.getValue();
+                    case incPDD -> this.pdd += entry.getValue();
+                    case incMAD -> this.mad += entry.getValue();
+                    case incMDD -> this.mdd += entry.getValue();
+                    case incACC -> this.acc += entry.getValue();
+                    case incEVA -> this.eva += entry.getValue();
+                    case incSpeed -> this.speed += entry.getValue();
+                    case incJump -> this.jump += entry.getValue();
                     case incPADr -> this.padR += entry.getValue();
                     case incPDDr -> this.pddR += entry.getValue();
                     case incMADr -> this.madR += entry.getValue();
@@ -595,5 +651,37 @@ public final class SecondaryStat {
                 }
             }
         }
+
+        private static SecondaryStatEquipOption from(Map<Integer, Item> realEquip) {
+            final SecondaryStatEquipOption option = new SecondaryStatEquipOption();
+            for (var item : realEquip.values()) {
+                // Resolve item and item info
+                final Optional<ItemInfo> itemInfoResult = ItemProvider.getItemInfo(item.getItemId());
+                if (itemInfoResult.isEmpty()) {
+                    continue;
+                }
+                final ItemInfo ii = itemInfoResult.get();
+
+                // Apply stats
+                final EquipData ed = item.getEquipData();
+                option.pad += ed.getIncPad();
+                option.pdd += ed.getIncPdd();
+                option.mad += ed.getIncMad();
+                option.mdd += ed.getIncMdd();
+                option.acc += ed.getIncAcc();
+                option.eva += ed.getIncEva();
+                option.craft += ed.getIncCraft();
+                option.speed += ed.getIncSpeed();
+                option.jump += ed.getIncJump();
+
+                final int optionLevel = ii.getOptionLevel();
+                if (ed.isReleased()) {
+                    option.applyItemOption(ed.getOption1(), optionLevel);
+                    option.applyItemOption(ed.getOption2(), optionLevel);
+                    option.applyItemOption(ed.getOption3(), optionLevel);
+                }
+            }
+            return option;
+        }
     }
 }
@@ -0,0 +1,43 @@
+package kinoko.world.user.stat;
+
+import kinoko.provider.EtcProvider;
+import kinoko.provider.item.SetItemInfo;
+import kinoko.world.item.Item;
+
+import java.util.*;
+
+/**
+ * Number of distinct equipped items for each set with at least one equipped item. The sets are resolved through the
+ * item ID index in {@link EtcProvider}, and the counts are only recomputed when the equipped item IDs change.
+ */
+public final class SetItemCounts {
+    private int[] itemIds = new int[0]; // sorted distinct item IDs
+    private Map<SetItemInfo, Integer> counts = Map.of(); // set item info -> equipped count
+
+    public Map<SetItemInfo, Integer> update(Collection<Item> items) {
+        final int[] newItemIds = new int[items.size()];
+        int size = 0;
+        for (Item item : items) {
+            newItemIds[size++] = item.getItemId();
+        }
+        Arrays.sort(newItemIds);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || newItemIds[distinct - 1] != newItemIds[i]) {
+                newItemIds[distinct++] = newItemIds[i];
+            }
+        }
+        if (Arrays.equals(newItemIds, 0, distinct, itemIds, 0, itemIds.length)) {
+            return counts;
+        }
+        final Map<SetItemInfo, Integer> newCounts = new IdentityHashMap<>();
+        for (int i = 0; i < distinct; i++) {
+            for (SetItemInfo setItemInfo : EtcProvider.getSetItemInfos(newItemIds[i])) {
+                newCounts.merge(setItemInfo, 1, Integer::sum);
+            }
+        }
+        itemIds = Arrays.copyOf(newItemIds, distinct);
+        counts = Collections.unmodifiableMap(newCounts);
+        return counts;
+    }
+}
@@ -0,0 +1,70 @@
+package kinoko.world.user.stat;
+
+import java.util.Arrays;
+
+/**
+ * Key built from the inputs of a cached stat layer. The values and references added since {@link #reset()} are compared
+ * against the previous key by {@link #update()}, references are compared by identity.
+ */
+public final class StatInputKey {
+    private int[] keys = new int[64];
+    private Object[] references = new Object[32];
+    private int[] newKeys = new int[64];
+    private Object[] newReferences = new Object[32];
+    private int keySize = -1;
+    private int referenceSize = -1;
+    private int newKeySize;
+    private int newReferenceSize;
+
+    public void reset() {
+        newKeySize = 0;
+        newReferenceSize = 0;
+    }
+
+    public void add(int value) {
+        if (newKeySize == newKeys.length) {
+            newKeys = Arrays.copyOf(newKeys, newKeys.length * 2);
+        }
+        newKeys[newKeySize++] = value;
+    }
+
+    public void addReference(Object value) {
+        if (newReferenceSize == newReferences.length) {
+            newReferences = Arrays.copyOf(newReferences, newReferences.length * 2);
+        }
+        newReferences[newReferenceSize++] = value;
+    }
+
+    /**
+     * Replaces the previous key with the key built since the last reset.
+     *
+     * @return true if the key has changed
+     */
+    public boolean update() {
+        if (newKeySize == keySize && newReferenceSize == referenceSize &&
+                Arrays.equals(newKeys, 0, newKeySize, keys, 0, keySize) &&
+                isSameReferences()) {
+            return false;
+        }
+        // Swap key buffers
+        final int[] oldKeys = keys;
+        final Object[] oldReferences = references;
+        keys = newKeys;
+        references = newReferences;
+        keySize = newKeySize;
+        referenceSize = newReferenceSize;
+        newKeys = oldKeys;
+        newReferences = oldReferences;
+        Arrays.fill(newReferences, null);
+        return true;
+    }
+
+    private boolean isSameReferences() {
+        for (int i = 0; i < newReferenceSize; i++) {
+            if (newReferences[i] != references[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
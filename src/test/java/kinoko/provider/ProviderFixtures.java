@@ -0,0 +1,28 @@
+package kinoko.provider;
+
+import kinoko.provider.item.ItemInfo;
+import kinoko.provider.item.ItemOptionInfo;
+import kinoko.provider.quest.QuestInfo;
+
+import java.util.List;
+
+/**
+ * Installs provider data for tests that cannot load the WZ files.
+ */
+public final class ProviderFixtures {
+    public static void setItemInfos(List<ItemInfo> itemInfos, List<ItemOptionInfo> itemOptionInfos) {
+        ItemProvider.initialize(itemInfos, itemOptionInfos);
+    }
+
+    public static void clearItemInfos() {
+        ItemProvider.initialize(List.of(), List.of());
+    }
+
+    public static void setQuestInfos(QuestInfo... questInfos) {
+        QuestProvider.initialize(List.of(questInfos));
+    }
+
+    public static void clearQuestInfos() {
+        QuestProvider.initialize(List.of());
+    }
+}
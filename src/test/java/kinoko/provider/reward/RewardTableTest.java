@@ -0,0 +1,67 @@
+package kinoko.provider.reward;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public final class RewardTableTest {
+    private static final int ROLLS = 200_000;
+    private static final List<Reward> REWARDS = List.of(
+            Reward.money(1, 1, 0.6),
+            Reward.item(1002067, 1, 1, 0.05),
+            Reward.item(2000000, 1, 1, 0.2),
+            Reward.item(2010009, 1, 1, 0.2),
+            Reward.item(2040002, 1, 1, 0.05),
+            Reward.item(4000019, 1, 1, 0.4),
+            Reward.item(4010000, 1, 1, 1.0)
+    );
+
+    @Test
+    public void testRoll() {
+        final RewardTable table = RewardTable.from(REWARDS);
+        final int[] counts = new int[REWARDS.size()];
+        for (int i = 0; i < ROLLS; i++) {
+            int last = -1;
+            for (Reward reward : table.roll(1.0)) {
+                final int index = REWARDS.indexOf(reward);
+                Assertions.assertTrue(index > last, "Rewards should be returned in table order");
+                counts[index]++;
+                last = index;
+            }
+        }
+        for (int i = 0; i < REWARDS.size(); i++) {
+            Assertions.assertEquals(REWARDS.get(i).getProb(), (double) counts[i] / ROLLS, 0.01);
+        }
+    }
+
+    @Test
+    public void testRollMultiplier() {
+        final RewardTable table = RewardTable.from(REWARDS);
+        final int[] counts = new int[REWARDS.size()];
+        for (int i = 0; i < ROLLS; i++) {
+            for (Reward reward : table.roll(2.0)) {
+                counts[REWARDS.indexOf(reward)]++;
+            }
+        }
+        for (int i = 0; i < REWARDS.size(); i++) {
+            Assertions.assertEquals(Math.min(REWARDS.get(i).getProb() * 2.0, 1.0), (double) counts[i] / ROLLS, 0.01);
+        }
+        Assertions.assertTrue(table.roll(0.0).isEmpty());
+    }
+
+    @Test
+    public void testPick() {
+        final RewardTable table = RewardTable.from(REWARDS);
+        final double totalWeight = REWARDS.stream().mapToDouble(Reward::getProb).sum();
+        final int[] counts = new int[REWARDS.size()];
+        for (int i = 0; i < ROLLS; i++) {
+            counts[REWARDS.indexOf(table.pick().orElseThrow())]++;
+        }
+        for (int i = 0; i < REWARDS.size(); i++) {
+            Assertions.assertEquals(REWARDS.get(i).getProb() / totalWeight, (double) counts[i] / ROLLS, 0.01);
+        }
+        Assertions.assertTrue(RewardTable.EMPTY.pick().isEmpty());
+        Assertions.assertTrue(RewardTable.EMPTY.roll(1.0).isEmpty());
+    }
+}
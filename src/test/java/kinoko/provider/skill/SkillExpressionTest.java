@@ -0,0 +1,82 @@
+package kinoko.provider.skill;
+
+import net.objecthunter.exp4j.Expression;
+import net.objecthunter.exp4j.ExpressionBuilder;
+import net.objecthunter.exp4j.function.Function;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+public final class SkillExpressionTest {
+    private static final List<String> FORMULAS = List.of(
+            "x",
+            "10+2*x",
+            "-5+d(x/3)",
+            "100-u(x/2)",
+            "u(x/2)*5",
+            "d(x*1.5)",
+            "2x",
+            "3(x+1)",
+            "x(2)",
+            "-x",
+            "-2^2",
+            "2^3^2",
+            "x^2/10",
+            "2*-x",
+            "10 + 3 * x",
+            "x%3",
+            "5+u(x/3)+d(x/4)",
+            "(x+1)(x+2)",
+            ".5x",
+            "150+5*u(x/2)",
+            "1000000",
+            "-x*2"
+    );
+
+    @Test
+    public void testMatchesExp4j() {
+        for (String formula : FORMULAS) {
+            final Expression expression = new ExpressionBuilder(formula)
+                    .functions(new Function("u", 1) {
+                        @Override
+                        public double apply(double... doubles) {
+                            return Math.ceil(doubles[0]);
+                        }
+                    }, new Function("d", 1) {
+                        @Override
+                        public double apply(double... doubles) {
+                            return Math.floor(doubles[0]);
+                        }
+                    })
+                    .variables("x")
+                    .build();
+            final SkillExpression skillExpression = SkillExpression.from(formula);
+            for (int x = 0; x <= 32; x++) {
+                Assertions.assertEquals((int) expression.setVariable("x", x).evaluate(), skillExpression.evaluate(x), formula + " for x = " + x);
+            }
+        }
+    }
+
+    @Test
+    public void testFallback() {
+        Assertions.assertEquals(3, SkillExpression.from("floor(x/2)").evaluate(7));
+        Assertions.assertThrows(ArithmeticException.class, () -> SkillExpression.from("x/0").evaluate(1));
+    }
+
+    @Test
+    public void testConcurrentEvaluation() {
+        final SkillExpression skillExpression = SkillExpression.from("10+u(x/3)");
+        Assertions.assertSame(skillExpression, SkillExpression.from("10+u(x/3)"));
+        final ConcurrentLinkedQueue<String> errors = new ConcurrentLinkedQueue<>();
+        IntStream.range(0, 100_000).parallel().forEach((i) -> {
+            final int x = i % 31;
+            if (skillExpression.evaluate(x) != 10 + (x + 2) / 3) {
+                errors.add("x = " + x);
+            }
+        });
+        Assertions.assertTrue(errors.isEmpty(), errors::toString);
+    }
+}
@@ -2,9 +2,11 @@ package kinoko.provider.wz;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 
 public final class WzReaderTest {
@@ -16,6 +18,20 @@ public final class WzReaderTest {
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
+        try (WzReader reader = WzReader.build(file, new WzReaderConfig(iv, version, WzReadMode.PARALLEL))) {
+            Assertions.assertDoesNotThrow(() -> reader.readPackage());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        try (WzReader reader = WzReader.build(file, new WzReaderConfig(iv, version, WzReadMode.LAZY, 1))) {
+            final WzPackage wzPackage = Assertions.assertDoesNotThrow(() -> reader.readPackage());
+            for (WzImage image : wzPackage.getDirectory().getImages().values()) {
+                Assertions.assertNotNull(image.getProperty());
+                Assertions.assertSame(image.getProperty(), image.getProperty());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     @Test
@@ -32,4 +48,23 @@ public final class WzReaderTest {
 //        readWzFile("TamingMob_SEA_211.wz", GameConstants.WZ_EMPTY_IV, 211);
 //        readWzFile("TamingMob_SEA_212.wz", GameConstants.WZ_EMPTY_IV, 212);
     }
+
+    @Test
+    public void testSnapshot(@TempDir Path snapshotDirectory) throws IOException {
+        final File file = Path.of("src", "test", "resources", "wz", "TamingMob_GMS_95.wz").toFile();
+        final WzReaderConfig config = new WzReaderConfig(WzConstants.WZ_GMS_IV, 95, WzReadMode.LAZY, 0, snapshotDirectory);
+        try (WzReader reader = WzReader.build(file, new WzReaderConfig(WzConstants.WZ_GMS_IV, 95));
+             WzReader firstReader = WzReader.build(file, config);
+             WzReader secondReader = WzReader.build(file, config)) {
+            final WzPackage expected = reader.readPackage();
+            firstReader.readPackage();
+            Assertions.assertTrue(Files.exists(snapshotDirectory.resolve("TamingMob_GMS_95.wz.snapshot")));
+            final WzPackage actual = secondReader.readPackage();
+            Assertions.assertEquals(expected.getDirectory().getImages().keySet(), actual.getDirectory().getImages().keySet());
+            for (var entry : expected.getDirectory().getImages().entrySet()) {
+                final WzImage image = actual.getDirectory().getImages().get(entry.getKey());
+                Assertions.assertEquals(entry.getValue().getProperty().getItems().keySet(), image.getProperty().getItems().keySet());
+            }
+        }
+    }
 }
@@ -0,0 +1,45 @@
+package kinoko.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public final class IntMapTest {
+    @Test
+    public void testIntMap() {
+        final IntMap<String> intMap = new IntMap<>();
+        final Map<Integer, String> expected = new HashMap<>();
+        final Random random = new Random(0);
+        for (int i = 0; i < 10000; i++) {
+            final int key = i % 2 == 0 ? random.nextInt() : 1000000 + i; // random and sequential ids
+            intMap.put(key, String.valueOf(i));
+            expected.put(key, String.valueOf(i));
+        }
+        intMap.put(0, "zero");
+        expected.put(0, "zero");
+        Assertions.assertEquals(expected.size(), intMap.size());
+        Assertions.assertEquals(expected, intMap);
+        for (var entry : expected.entrySet()) {
+            Assertions.assertEquals(entry.getValue(), intMap.get(entry.getKey().intValue()));
+        }
+        Assertions.assertNull(intMap.get(-1));
+        Assertions.assertFalse(intMap.containsKey(999999));
+        Assertions.assertEquals("zero", intMap.put(0, "0"));
+        Assertions.assertEquals("0", intMap.get(0));
+    }
+
+    @Test
+    public void testFreeze() {
+        final IntMap<String> intMap = new IntMap<>();
+        intMap.put(1, "one");
+        Assertions.assertSame(intMap, intMap.freeze());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> intMap.put(2, "two"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> intMap.put(1, "1"));
+        Assertions.assertThrows(UnsupportedOperationException.class, intMap::clear);
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> intMap.remove(1));
+        Assertions.assertEquals(Map.of(1, "one"), intMap);
+    }
+}
@@ -35,4 +35,42 @@ public final class Rand32Test {
         Assertions.assertEquals(0xCCCCFFFF, random.getS2());
         Assertions.assertEquals(0x4FFFFFF3, random.getS3());
     }
+
+    @Test
+    public void testFill() {
+        final Rand32 expected = new Rand32();
+        final Rand32 random = new Rand32();
+        expected.setSeed(0x12345678 | 0x100000, 0x9ABCDEF0 | 0x1000, 0x0FEDCBA9 | 0x10);
+        random.setSeed(0x12345678 | 0x100000, 0x9ABCDEF0 | 0x1000, 0x0FEDCBA9 | 0x10);
+        final long[] buffer = new long[7];
+        for (int i = 0; i < 3; i++) {
+            random.fill(buffer);
+            for (long value : buffer) {
+                Assertions.assertEquals(Integer.toUnsignedLong(expected.random()), value);
+            }
+        }
+        Assertions.assertEquals(expected.getS1(), random.getS1());
+        Assertions.assertEquals(expected.getS2(), random.getS2());
+        Assertions.assertEquals(expected.getS3(), random.getS3());
+    }
+
+    @Test
+    public void testFillRange() {
+        final Rand32 expected = new Rand32();
+        final Rand32 random = new Rand32();
+        expected.setSeed(0x12345678 | 0x100000, 0x9ABCDEF0 | 0x1000, 0x0FEDCBA9 | 0x10);
+        random.setSeed(0x12345678 | 0x100000, 0x9ABCDEF0 | 0x1000, 0x0FEDCBA9 | 0x10);
+        final long[] buffer = new long[21];
+        random.fill(buffer, 7, 7);
+        for (int i = 0; i < buffer.length; i++) {
+            if (i < 7 || i >= 14) {
+                Assertions.assertEquals(0, buffer[i]);
+            } else {
+                Assertions.assertEquals(Integer.toUnsignedLong(expected.random()), buffer[i]);
+            }
+        }
+        Assertions.assertEquals(expected.getS1(), random.getS1());
+        Assertions.assertEquals(expected.getS2(), random.getS2());
+        Assertions.assertEquals(expected.getS3(), random.getS3());
+    }
 }
@@ -0,0 +1,118 @@
+package kinoko.world.field.life;
+
+import io.netty.buffer.Unpooled;
+import kinoko.server.packet.ByteBufInPacket;
+import kinoko.server.packet.InPacket;
+import kinoko.server.packet.OutPacket;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public final class MovePathTest {
+    @Test
+    public void testRelay() {
+        final OutPacket path = OutPacket.of();
+        path.encodeShort(100); // x
+        path.encodeShort(200); // y
+        path.encodeShort(1); // vx
+        path.encodeShort(2); // vy
+        path.encodeByte(5); // count
+        // NORMAL
+        path.encodeByte(0);
+        path.encodeShort(110); // x
+        path.encodeShort(210); // y
+        path.encodeShort(3); // vx
+        path.encodeShort(4); // vy
+        path.encodeShort(7); // fh
+        path.encodeShort(0); // xOffset
+        path.encodeShort(0); // yOffset
+        path.encodeByte(2); // bMoveAction
+        path.encodeShort(30); // tElapse
+        // STAT_CHANGE
+        path.encodeByte(9);
+        path.encodeByte(1); // bStat
+        // FLYING_BLOCK
+        path.encodeByte(17);
+        path.encodeShort(120); // x
+        path.encodeShort(220); // y
+        path.encodeShort(5); // vx
+        path.encodeShort(6); // vy
+        path.encodeByte(4); // bMoveAction
+        path.encodeShort(40); // tElapse
+        // FALL_DOWN
+        path.encodeByte(12);
+        path.encodeShort(130); // x
+        path.encodeShort(230); // y
+        path.encodeShort(0); // vx
+        path.encodeShort(0); // vy
+        path.encodeShort(8); // fh
+        path.encodeShort(7); // fhFallStart
+        path.encodeShort(0); // xOffset
+        path.encodeShort(0); // yOffset
+        path.encodeByte(6); // bMoveAction
+        path.encodeShort(50); // tElapse
+        // ACTION
+        path.encodeByte(20);
+        path.encodeByte(9); // bMoveAction
+        path.encodeShort(60); // tElapse
+        final byte[] pathData = path.getData();
+
+        final OutPacket packet = OutPacket.of();
+        packet.encodeInt(1234); // preceding data
+        packet.encodeArray(pathData);
+        packet.encodeByte(1); // trailing data
+        final InPacket inPacket = new ByteBufInPacket(Unpooled.wrappedBuffer(packet.getData()));
+        Assertions.assertEquals(1234, inPacket.decodeInt());
+        final MovePath movePath = MovePath.decode(inPacket);
+        Assertions.assertEquals(1, inPacket.decodeByte());
+        Assertions.assertEquals(0, inPacket.getRemaining());
+
+        // Relayed bytes match the inbound path
+        final OutPacket outPacket = OutPacket.of();
+        movePath.encode(outPacket);
+        Assertions.assertArrayEquals(pathData, outPacket.getData());
+        Assertions.assertEquals(5, movePath.getCount());
+        Assertions.assertEquals(180, movePath.getDuration());
+
+        // Final state is applied
+        final Life life = new Life() {
+        };
+        movePath.applyTo(life);
+        Assertions.assertEquals(130, life.getX());
+        Assertions.assertEquals(230, life.getY());
+        Assertions.assertEquals(8, life.getFoothold());
+        Assertions.assertEquals(9, life.getMoveAction());
+    }
+
+    @Test
+    public void testJumpUsesStartPosition() {
+        final OutPacket path = OutPacket.of();
+        path.encodeShort(100); // x
+        path.encodeShort(200); // y
+        path.encodeShort(0); // vx
+        path.encodeShort(0); // vy
+        path.encodeByte(2); // count
+        // TELEPORT
+        path.encodeByte(3);
+        path.encodeShort(500); // x
+        path.encodeShort(600); // y
+        path.encodeShort(11); // fh
+        path.encodeByte(1); // bMoveAction
+        path.encodeShort(0); // tElapse
+        // JUMP
+        path.encodeByte(1);
+        path.encodeShort(10); // vx
+        path.encodeShort(-20); // vy
+        path.encodeByte(3); // bMoveAction
+        path.encodeShort(90); // tElapse
+
+        final MovePath movePath = MovePath.decode(new ByteBufInPacket(Unpooled.wrappedBuffer(path.getData())));
+        final Life life = new Life() {
+        };
+        life.setFoothold(1);
+        movePath.applyTo(life);
+        Assertions.assertEquals(100, life.getX());
+        Assertions.assertEquals(200, life.getY());
+        Assertions.assertEquals(11, life.getFoothold());
+        Assertions.assertEquals(3, life.getMoveAction());
+    }
+}
@@ -0,0 +1,195 @@
+package kinoko.world.field.mob;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import kinoko.packet.world.MessageType;
+import kinoko.provider.ProviderFixtures;
+import kinoko.provider.map.FieldType;
+import kinoko.provider.map.Foothold;
+import kinoko.provider.map.MapInfo;
+import kinoko.provider.quest.QuestInfo;
+import kinoko.provider.quest.QuestMobData;
+import kinoko.provider.quest.check.QuestMobCheck;
+import kinoko.server.header.OutHeader;
+import kinoko.server.node.Client;
+import kinoko.server.node.ServerExecutor;
+import kinoko.server.packet.ByteBufInPacket;
+import kinoko.server.packet.InPacket;
+import kinoko.server.packet.OutPacket;
+import kinoko.world.field.Field;
+import kinoko.world.field.drop.Drop;
+import kinoko.world.field.drop.DropOwnType;
+import kinoko.world.user.User;
+import kinoko.world.user.UserFixtures;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public final class MobKillBatchTest {
+    private static final int MOB_A = 100100;
+    private static final int MOB_B = 100101;
+    private static final int QUEST_SINGLE = 1000; // 3 x MOB_A
+    private static final int QUEST_DOUBLE = 1001; // 10 x MOB_A, 10 x MOB_B
+
+    private Field field;
+    private EmbeddedChannel channel;
+    private User user;
+    private MobKillBatch batch;
+
+    @BeforeAll
+    public static void setUpQuestData() {
+        ProviderFixtures.setQuestInfos(
+                createQuest(QUEST_SINGLE, new QuestMobData(0, MOB_A, 3)),
+                createQuest(QUEST_DOUBLE, new QuestMobData(0, MOB_A, 10), new QuestMobData(1, MOB_B, 10))
+        );
+    }
+
+    @AfterAll
+    public static void tearDownQuestData() {
+        ProviderFixtures.clearQuestInfos();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        final Foothold foothold = new Foothold(0, 0, 1, -1000, 0, 1000, 0, 0, 0, 0, 0, 0, 0);
+        field = new Field(null, new MapInfo(100000000, false, false, false, false, false, 0, 0, 0, Set.of(), FieldType.DEFAULT, 1.0f, "", "", List.of(), List.of(foothold), List.of(), List.of(), List.of(), List.of()));
+        channel = new EmbeddedChannel();
+        user = UserFixtures.createUser(new Client(null, channel));
+        user.setField(field);
+        batch = new MobKillBatch(field);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        field.getFieldEventFuture().cancel(false);
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testExpAggregated() throws Exception {
+        batch.addExp(user, MOB_A, 10, 5, 2, false);
+        batch.addExp(user, MOB_A, 10, 5, 2, false);
+        batch.addExp(user, MOB_B, 20, 0, 1, true);
+        flush();
+        Assertions.assertEquals(50, user.getCharacterStat().getExp());
+
+        // Single exp gain with the summed exp and party bonus
+        final List<InPacket> incExp = getMessages(MessageType.IncEXP);
+        Assertions.assertEquals(1, incExp.size());
+        final InPacket inPacket = incExp.get(0);
+        Assertions.assertTrue(inPacket.decodeBoolean()); // white
+        Assertions.assertEquals(40, inPacket.decodeInt()); // exp
+        inPacket.decodeByte(); // bOnQuest
+        inPacket.decodeInt(); // bonus event exp
+        inPacket.decodeByte(); // nMobEventBonusPercentage
+        inPacket.decodeByte(); // ignored
+        inPacket.decodeInt(); // nWeddingBonusEXP
+        inPacket.decodeByte(); // nPartyBonusEventRate
+        Assertions.assertEquals(10, inPacket.decodeInt()); // nPartyBonusExp
+
+        // Kills are cleared by the flush
+        flush();
+        Assertions.assertTrue(getMessages(MessageType.IncEXP).isEmpty());
+    }
+
+    @Test
+    public void testQuestCountCapped() throws Exception {
+        user.getQuestManager().forceStartQuest(QUEST_SINGLE);
+        user.getQuestManager().forceStartQuest(QUEST_DOUBLE);
+        for (int i = 0; i < 5; i++) {
+            batch.addExp(user, MOB_A, 0, 0, 1, false);
+        }
+        flush();
+        Assertions.assertEquals("003", getQuestValue(QUEST_SINGLE));
+        Assertions.assertEquals("005000", getQuestValue(QUEST_DOUBLE));
+        Assertions.assertEquals(Set.of(QUEST_SINGLE, QUEST_DOUBLE), getQuestValues().keySet());
+
+        // Completed count is not updated again
+        batch.addExp(user, MOB_A, 0, 0, 1, false);
+        flush();
+        Assertions.assertEquals("003", getQuestValue(QUEST_SINGLE));
+        Assertions.assertEquals(Map.of(QUEST_DOUBLE, "006000"), getQuestValues());
+    }
+
+    @Test
+    public void testSingleUpdatePerQuest() throws Exception {
+        user.getQuestManager().forceStartQuest(QUEST_SINGLE);
+        user.getQuestManager().forceStartQuest(QUEST_DOUBLE);
+        for (int i = 0; i < 4; i++) {
+            batch.addExp(user, MOB_A, 0, 0, 1, false);
+            batch.addExp(user, MOB_B, 0, 0, 1, false);
+        }
+        flush();
+        // One quest record update for each progressed quest, with the final value
+        Assertions.assertEquals(Map.of(QUEST_SINGLE, "003", QUEST_DOUBLE, "004004"), getQuestValues());
+    }
+
+    @Test
+    public void testUserLeftField() throws Exception {
+        user.getQuestManager().forceStartQuest(QUEST_SINGLE);
+        batch.addExp(user, MOB_A, 10, 0, 1, false);
+        user.setField(null);
+        flush();
+        Assertions.assertEquals(0, user.getCharacterStat().getExp());
+        Assertions.assertNull(getQuestValue(QUEST_SINGLE));
+        Assertions.assertNull(channel.readOutbound());
+    }
+
+    @Test
+    public void testDropsAdded() throws Exception {
+        batch.addDrops(List.of(Drop.money(DropOwnType.NOOWN, user, 10, 0), Drop.money(DropOwnType.NOOWN, user, 20, 0)), 0, 0, 0);
+        batch.addDrops(List.of(Drop.money(DropOwnType.NOOWN, user, 30, 0)), 100, 0, 0);
+        Assertions.assertTrue(field.getDropPool().isEmpty());
+        flush();
+        Assertions.assertEquals(3, field.getDropPool().getCount());
+
+        // Drops are cleared by the flush
+        flush();
+        Assertions.assertEquals(3, field.getDropPool().getCount());
+    }
+
+    private void flush() throws Exception {
+        // The user tasks are submitted to the field executor, wait until they are processed
+        batch.flush();
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        ServerExecutor.submit(field, () -> future.complete(null));
+        future.get(5, TimeUnit.SECONDS);
+    }
+
+    private String getQuestValue(int questId) {
+        return user.getQuestManager().getQuestRecord(questId).orElseThrow().getValue();
+    }
+
+    private Map<Integer, String> getQuestValues() {
+        final Map<Integer, String> questValues = new HashMap<>();
+        for (InPacket inPacket : getMessages(MessageType.QuestRecord)) {
+            final int questId = inPacket.decodeShort();
+            inPacket.decodeByte(); // state
+            Assertions.assertNull(questValues.put(questId, inPacket.decodeString()), "Multiple updates for quest " + questId);
+        }
+        return questValues;
+    }
+
+    private List<InPacket> getMessages(MessageType messageType) {
+        // Reads the message packets written to the client, positioned after the message type
+        final List<InPacket> messages = new ArrayList<>();
+        OutPacket outPacket;
+        while ((outPacket = channel.readOutbound()) != null) {
+            if (outPacket.getHeader() != OutHeader.Message) {
+                continue;
+            }
+            final InPacket inPacket = new ByteBufInPacket(Unpooled.wrappedBuffer(outPacket.getData()));
+            inPacket.decodeShort(); // header
+            if (inPacket.decodeByte() == messageType.getValue()) {
+                messages.add(inPacket);
+            }
+        }
+        return messages;
+    }
+
+    private static QuestInfo createQuest(int questId, QuestMobData... mobs) {
+        return new QuestInfo(questId, "", "", 0, 0, false, false, List.of(), List.of(), List.of(), List.of(new QuestMobCheck(questId, List.of(mobs))));
+    }
+}
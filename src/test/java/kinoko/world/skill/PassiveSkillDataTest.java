@@ -0,0 +1,82 @@
+package kinoko.world.skill;
+
+import kinoko.world.user.User;
+import kinoko.world.user.UserFixtures;
+import kinoko.world.user.stat.CharacterTemporaryStat;
+import kinoko.world.user.stat.DiceInfo;
+import kinoko.world.user.stat.TemporaryStatOption;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public final class PassiveSkillDataTest {
+    private User user;
+    private PassiveSkillData psd;
+
+    @BeforeEach
+    public void setUp() {
+        user = UserFixtures.createUser(null);
+        psd = new PassiveSkillData();
+    }
+
+    @Test
+    public void testUnchanged() {
+        Assertions.assertTrue(update());
+        Assertions.assertFalse(update());
+
+        // Buffs that are not inputs of the passive skill data
+        user.getSecondaryStat().setTemporaryStat(CharacterTemporaryStat.PAD, TemporaryStatOption.of(20, 1001003, 0));
+        Assertions.assertFalse(update());
+    }
+
+    @Test
+    public void testSkillChanged() {
+        update();
+        final SkillRecord skillRecord = new SkillRecord(1000001);
+        skillRecord.setSkillLevel(1);
+        user.getSkillManager().addSkill(skillRecord);
+        Assertions.assertTrue(update());
+        Assertions.assertFalse(update());
+
+        // Skill record modified in place
+        skillRecord.setSkillLevel(2);
+        Assertions.assertTrue(update());
+        user.getSkillManager().removeSkill(skillRecord.getSkillId());
+        Assertions.assertTrue(update());
+        Assertions.assertFalse(update());
+    }
+
+    @Test
+    public void testTemporaryStatChanged() {
+        update();
+        user.getSecondaryStat().setTemporaryStat(CharacterTemporaryStat.CombatOrders, TemporaryStatOption.of(1, 1221004, 0));
+        Assertions.assertTrue(update());
+        user.getSecondaryStat().setTemporaryStat(CharacterTemporaryStat.RideVehicle, TemporaryStatOption.of(SkillConstants.MECHANIC_VEHICLE, 35001002, 0));
+        Assertions.assertTrue(update());
+
+        final DiceInfo diceInfo = new DiceInfo();
+        diceInfo.getInfoArray()[0] = 20; // mhpR
+        user.getSecondaryStat().setTemporaryStat(CharacterTemporaryStat.Dice, TemporaryStatOption.ofDice(3, 5111007, 0, diceInfo));
+        Assertions.assertTrue(update());
+        Assertions.assertEquals(20, psd.getMhpR());
+        Assertions.assertFalse(update());
+
+        user.getSecondaryStat().resetTemporaryStat((cts, option) -> cts == CharacterTemporaryStat.Dice);
+        Assertions.assertTrue(update());
+        Assertions.assertEquals(0, psd.getMhpR());
+    }
+
+    @Test
+    public void testJobChanged() {
+        user.validateStat();
+        update();
+        user.getCharacterStat().setJob((short) 3500);
+        user.validateStat();
+        Assertions.assertTrue(update());
+        Assertions.assertFalse(update());
+    }
+
+    private boolean update() {
+        return psd.update(user.getBasicStat(), user.getSecondaryStat(), user.getSkillManager());
+    }
+}
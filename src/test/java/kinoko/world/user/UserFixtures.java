@@ -0,0 +1,29 @@
+package kinoko.world.user;
+
+import kinoko.server.node.Client;
+import kinoko.world.item.Inventory;
+import kinoko.world.item.InventoryManager;
+import kinoko.world.quest.QuestManager;
+import kinoko.world.skill.SkillManager;
+import kinoko.world.user.stat.CharacterStat;
+
+public final class UserFixtures {
+    /**
+     * Creates a level 10 beginner with empty managers, which can be modified through the character stat.
+     */
+    public static User createUser(Client client) {
+        final CharacterData characterData = new CharacterData(1);
+        final CharacterStat cs = new CharacterStat();
+        cs.setId(1);
+        cs.setLevel((short) 10);
+        cs.setMaxHp(500);
+        cs.setMaxMp(100);
+        characterData.setCharacterStat(cs);
+        final InventoryManager im = new InventoryManager();
+        im.setEquipped(new Inventory(Short.MAX_VALUE));
+        characterData.setInventoryManager(im);
+        characterData.setSkillManager(new SkillManager());
+        characterData.setQuestManager(new QuestManager());
+        return new User(client, characterData);
+    }
+}
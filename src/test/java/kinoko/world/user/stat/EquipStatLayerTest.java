@@ -0,0 +1,241 @@
+package kinoko.world.user.stat;
+
+import kinoko.provider.ProviderFixtures;
+import kinoko.provider.item.*;
+import kinoko.world.item.*;
+import kinoko.world.skill.PassiveSkillData;
+import kinoko.world.user.User;
+import kinoko.world.user.UserFixtures;
+import org.junit.jupiter.api.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public final class EquipStatLayerTest {
+    private static final int WEAPON = 1302000;
+    private static final int CAP = 1002000;
+    private static final int OPTION_STR = 20001;
+    private static final int OPTION_HP = 20002;
+
+    private User user;
+    private EquipStatLayer layer;
+
+    @BeforeAll
+    public static void setUpItemData() {
+        // Item fixtures, so that the equips pass EquipStat.getRealEquip
+        final ItemOptionLevelData strData = new ItemOptionLevelData(Map.of(ItemOptionStat.incSTR, 5, ItemOptionStat.incPAD, 3, ItemOptionStat.incSTRr, 10));
+        final ItemOptionLevelData hpData = new ItemOptionLevelData(Map.of(ItemOptionStat.incMHP, 100, ItemOptionStat.incPADr, 10, ItemOptionStat.incSpeed, 5));
+        ProviderFixtures.setItemInfos(
+                List.of(
+                        new ItemInfo(WEAPON, Map.of(ItemInfoType.reqLevel, 10, ItemInfoType.reqSTR, 44), Map.of()),
+                        new ItemInfo(CAP, Map.of(ItemInfoType.reqLevel, 15, ItemInfoType.incMHPr, 10), Map.of())
+                ),
+                List.of(
+                        new ItemOptionInfo(OPTION_STR, 0, ItemOptionType.ANY_EQUIP, Map.of(1, strData, 2, strData)),
+                        new ItemOptionInfo(OPTION_HP, 0, ItemOptionType.ANY_EQUIP, Map.of(1, hpData, 2, hpData))
+                )
+        );
+    }
+
+    @AfterAll
+    public static void tearDownItemData() {
+        ProviderFixtures.clearItemInfos();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        user = UserFixtures.createUser(null);
+        final CharacterStat cs = user.getCharacterStat();
+        cs.setJob((short) 100);
+        cs.setBaseStr((short) 40);
+        cs.setBaseDex((short) 4);
+        cs.setBaseInt((short) 4);
+        cs.setBaseLuk((short) 4);
+        layer = new EquipStatLayer();
+    }
+
+    @Test
+    public void testUnchanged() {
+        Assertions.assertTrue(layer.update(user));
+        final int version = layer.getVersion();
+        Assertions.assertFalse(layer.update(user));
+        Assertions.assertFalse(layer.update(user));
+        Assertions.assertEquals(version, layer.getVersion());
+    }
+
+    @Test
+    public void testEquipChanged() {
+        layer.update(user);
+        final Item item = createEquip(WEAPON);
+        user.getInventoryManager().getEquipped().putItem(BodyPart.WEAPON.getValue(), item);
+        Assertions.assertTrue(layer.update(user));
+        Assertions.assertFalse(layer.update(user));
+
+        // Equip data modified in place
+        item.getEquipData().setIncStr((short) 5);
+        Assertions.assertTrue(layer.update(user));
+        item.getEquipData().setOption1((short) 10001);
+        Assertions.assertTrue(layer.update(user));
+        Assertions.assertFalse(layer.update(user));
+
+        // Equip replaced with a copy
+        user.getInventoryManager().getEquipped().putItem(BodyPart.WEAPON.getValue(), new Item(item));
+        Assertions.assertTrue(layer.update(user));
+
+        // Equip removed
+        user.getInventoryManager().getEquipped().removeItem(BodyPart.WEAPON.getValue());
+        Assertions.assertTrue(layer.update(user));
+        Assertions.assertFalse(layer.update(user));
+    }
+
+    @Test
+    public void testStatChanged() {
+        layer.update(user);
+        user.getCharacterStat().setLevel((short) 11);
+        Assertions.assertTrue(layer.update(user));
+        user.getCharacterStat().setBaseStr((short) 5);
+        Assertions.assertTrue(layer.update(user));
+        user.getCharacterStat().setJob((short) 200);
+        Assertions.assertTrue(layer.update(user));
+        Assertions.assertFalse(layer.update(user));
+    }
+
+    @Test
+    public void testMatchesFullComputation() {
+        validateAndCompare();
+
+        // Equip weapon, requires 44 str
+        final Item weapon = createEquip(WEAPON);
+        weapon.getEquipData().setIncPad((short) 17);
+        user.getInventoryManager().getEquipped().putItem(BodyPart.WEAPON.getValue(), weapon);
+        validateAndCompare();
+        Assertions.assertTrue(getRealEquip().isEmpty());
+
+        // Buff add : Maple Warrior raises the base str to 44 for the weapon requirement
+        setTemporaryStat(CharacterTemporaryStat.BasicStatUp, new TemporaryStatOption(10, 1121000, 1000, Instant.now().plusSeconds(1)));
+        setTemporaryStat(CharacterTemporaryStat.PAD, new TemporaryStatOption(20, 1001003, 5000, Instant.now().plusSeconds(5)));
+        setTemporaryStat(CharacterTemporaryStat.MaxHP, TemporaryStatOption.of(60, 1301007, 0));
+        validateAndCompare();
+        Assertions.assertTrue(getRealEquip().containsKey(BodyPart.WEAPON.getValue()));
+
+        // Equip cap, requires level 15
+        final Item cap = createEquip(CAP);
+        cap.getEquipData().setIncStr((short) 2);
+        cap.getEquipData().setIncPdd((short) 7);
+        user.getInventoryManager().getEquipped().putItem(BodyPart.CAP.getValue(), cap);
+        validateAndCompare();
+        Assertions.assertFalse(getRealEquip().containsKey(BodyPart.CAP.getValue()));
+
+        // Level change
+        user.getCharacterStat().setLevel((short) 15);
+        validateAndCompare();
+        Assertions.assertTrue(getRealEquip().containsKey(BodyPart.CAP.getValue()));
+
+        // Potential change, only applied once released
+        cap.getEquipData().setOption1((short) OPTION_STR);
+        cap.getEquipData().setGrade((byte) ItemGrade.RARE.getValue());
+        validateAndCompare();
+        cap.getEquipData().setGrade((byte) (ItemGrade.RARE.getValue() | ItemGrade.RELEASED.getValue()));
+        validateAndCompare();
+
+        // Buff expire : Maple Warrior expires, the cap potential keeps the weapon equipped
+        resetExpiredTemporaryStat(Instant.now().plusSeconds(2));
+        validateAndCompare();
+        Assertions.assertTrue(getRealEquip().containsKey(BodyPart.WEAPON.getValue()));
+        Assertions.assertFalse(user.getSecondaryStat().hasOption(CharacterTemporaryStat.BasicStatUp));
+
+        // Equip stats from the per-call summation : str 40 + 2 + 5, +10% ; max hp 500, +10% (item) +60% (MaxHP)
+        // pad 17 + 3, the PAD buff is not included in the secondary stat
+        Assertions.assertEquals(51, user.getBasicStat().getStr());
+        Assertions.assertEquals(850, user.getBasicStat().getMaxHp());
+        Assertions.assertEquals(20, user.getSecondaryStat().getPad());
+        Assertions.assertEquals(7, user.getSecondaryStat().getPdd());
+
+        // Potential change on an equip with cached sums
+        cap.getEquipData().setOption2((short) OPTION_HP);
+        validateAndCompare();
+        Assertions.assertEquals(1020, user.getBasicStat().getMaxHp());
+        cap.getEquipData().setOption1((short) 0);
+        validateAndCompare();
+        Assertions.assertFalse(getRealEquip().containsKey(BodyPart.WEAPON.getValue()));
+
+        // Dice buff, recomputes the passive skill layer without changing the equips
+        final DiceInfo diceInfo = new DiceInfo();
+        diceInfo.getInfoArray()[0] = 20; // mhpR
+        setTemporaryStat(CharacterTemporaryStat.Dice, new TemporaryStatOption(3, 5111007, 5000, diceInfo, Instant.now().plusSeconds(5)));
+        validateAndCompare();
+        Assertions.assertEquals(20, user.getPassiveSkillData().getMhpR());
+
+        // Buff expire and equip removed
+        resetExpiredTemporaryStat(Instant.now().plusSeconds(10));
+        user.getInventoryManager().getEquipped().removeItem(BodyPart.CAP.getValue());
+        validateAndCompare();
+        Assertions.assertTrue(getRealEquip().isEmpty());
+        Assertions.assertEquals(0, user.getPassiveSkillData().getMhpR());
+    }
+
+    private void setTemporaryStat(CharacterTemporaryStat cts, TemporaryStatOption option) {
+        user.getSecondaryStat().setTemporaryStat(cts, option);
+    }
+
+    private void resetExpiredTemporaryStat(Instant now) {
+        user.getSecondaryStat().resetExpiredTemporaryStat(now);
+    }
+
+    private Map<Integer, Item> getRealEquip() {
+        return EquipStat.getRealEquip(user);
+    }
+
+    /**
+     * Runs the incremental validateStat, then compares the resulting stats against a computation from scratch, with new
+     * equipment and passive skill layers and no cached equip sums.
+     */
+    private void validateAndCompare() {
+        user.validateStat();
+        final EquipStatLayer fullLayer = new EquipStatLayer();
+        fullLayer.update(user);
+        final PassiveSkillData psd = new PassiveSkillData();
+        psd.setFrom(user.getBasicStat(), user.getSecondaryStat(), user.getSkillManager());
+        final BasicStat bs = new BasicStat();
+        bs.setFrom(user.getCharacterStat(), user.getForcedStat(), user.getSecondaryStat(), user.getSkillManager(), psd, fullLayer);
+        final SecondaryStat ss = new SecondaryStat();
+        ss.setFrom(bs, user.getForcedStat(), user.getSecondaryStat(), user.getSkillManager(), fullLayer);
+        Assertions.assertEquals(EquipStat.getRealEquip(user), fullLayer.getRealEquip());
+        Assertions.assertArrayEquals(getValues(psd), getValues(user.getPassiveSkillData()), "PassiveSkillData");
+        Assertions.assertArrayEquals(getValues(bs), getValues(user.getBasicStat()), "BasicStat");
+        Assertions.assertArrayEquals(getValues(ss), getValues(user.getSecondaryStat()), "SecondaryStat");
+    }
+
+    private static int[] getValues(PassiveSkillData psd) {
+        return new int[]{
+                psd.getMhpR(), psd.getMmpR(), psd.getCr(), psd.getCdMin(), psd.getAccR(), psd.getEvaR(), psd.getAr(),
+                psd.getEr(), psd.getPddR(), psd.getMddR(), psd.getPdR(), psd.getMdR(), psd.getDipR(), psd.getPdamR(),
+                psd.getMdamR(), psd.getPadR(), psd.getMadR(), psd.getExpR(), psd.getImpR(), psd.getAsrR(), psd.getTerR(),
+                psd.getMesoR(), psd.getPadX(), psd.getMadX(), psd.getImdR(), psd.getPsdJump(), psd.getPsdSpeed(),
+                psd.getOcR(), psd.getDcR()
+        };
+    }
+
+    private static int[] getValues(BasicStat bs) {
+        return new int[]{
+                bs.getGender(), bs.getLevel(), bs.getJob(), bs.getStr(), bs.getDex(), bs.getInt(), bs.getLuk(),
+                bs.getPop(), bs.getMaxHp(), bs.getMaxMp()
+        };
+    }
+
+    private static int[] getValues(SecondaryStat ss) {
+        return new int[]{
+                ss.getPad(), ss.getPdd(), ss.getMad(), ss.getMdd(), ss.getAcc(), ss.getEva(), ss.getItemPadR(),
+                ss.getItemPddR(), ss.getItemMadR(), ss.getItemMddR(), ss.getItemAccR(), ss.getItemEvaR(),
+                ss.getItemCriR(), ss.getCraft(), ss.getSpeed(), ss.getJump()
+        };
+    }
+
+    private static Item createEquip(int itemId) {
+        final Item item = new Item(ItemType.EQUIP);
+        item.setItemId(itemId);
+        item.setEquipData(new EquipData());
+        return item;
+    }
+}
@@ -0,0 +1,61 @@
+package kinoko.world.user.stat;
+
+import kinoko.util.BitFlag;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+
+public final class SecondaryStatTest {
+    @Test
+    public void testSetAndReset() {
+        final SecondaryStat ss = new SecondaryStat();
+        Assertions.assertFalse(ss.hasOption(CharacterTemporaryStat.PAD));
+        Assertions.assertSame(TemporaryStatOption.EMPTY, ss.getOption(CharacterTemporaryStat.PAD));
+        Assertions.assertTrue(ss.getTemporaryStatFlag().isEmpty());
+
+        ss.setTemporaryStat(CharacterTemporaryStat.PAD, TemporaryStatOption.of(10, 1001003, 0));
+        ss.setTemporaryStat(CharacterTemporaryStat.Booster, TemporaryStatOption.of(-2, 1101004, 0));
+        Assertions.assertEquals(10, ss.getOption(CharacterTemporaryStat.PAD).nOption);
+        Assertions.assertTrue(ss.getTemporaryStatFlag().hasFlag(CharacterTemporaryStat.PAD));
+        Assertions.assertTrue(ss.getTemporaryStatFlag().hasFlag(CharacterTemporaryStat.Booster));
+        Assertions.assertFalse(ss.hasOption(CharacterTemporaryStat.Booster)); // nOption <= 0
+        Assertions.assertEquals(Set.of(CharacterTemporaryStat.PAD, CharacterTemporaryStat.Booster), ss.getTemporaryStats().keySet());
+
+        final BitFlag<CharacterTemporaryStat> resetFlag = ss.resetTemporaryStat((cts, option) -> option.rOption == 1001003);
+        Assertions.assertTrue(resetFlag.hasFlag(CharacterTemporaryStat.PAD));
+        Assertions.assertFalse(resetFlag.hasFlag(CharacterTemporaryStat.Booster));
+        Assertions.assertFalse(ss.getTemporaryStatFlag().hasFlag(CharacterTemporaryStat.PAD));
+        Assertions.assertSame(TemporaryStatOption.EMPTY, ss.getOption(CharacterTemporaryStat.PAD));
+        Assertions.assertEquals(Set.of(CharacterTemporaryStat.Booster), ss.getTemporaryStats().keySet());
+
+        ss.clear();
+        Assertions.assertTrue(ss.getTemporaryStatFlag().isEmpty());
+        Assertions.assertTrue(ss.getTemporaryStats().isEmpty());
+    }
+
+    @Test
+    public void testExpire() {
+        final SecondaryStat ss = new SecondaryStat();
+        final Instant now = Instant.now();
+        ss.setTemporaryStat(Map.of(
+                CharacterTemporaryStat.PAD, new TemporaryStatOption(10, 0, 1000, now.plusSeconds(1)),
+                CharacterTemporaryStat.PDD, new TemporaryStatOption(10, 0, 5000, now.plusSeconds(5)),
+                CharacterTemporaryStat.Regen, TemporaryStatOption.of(1, 0, 0)
+        ));
+        Assertions.assertEquals(now.plusSeconds(1).toEpochMilli(), ss.getNextExpireTime().toEpochMilli());
+        Assertions.assertTrue(ss.resetExpiredTemporaryStat(now).isEmpty());
+
+        final BitFlag<CharacterTemporaryStat> resetFlag = ss.resetExpiredTemporaryStat(now.plusSeconds(2));
+        Assertions.assertTrue(resetFlag.hasFlag(CharacterTemporaryStat.PAD));
+        Assertions.assertFalse(resetFlag.hasFlag(CharacterTemporaryStat.PDD));
+        Assertions.assertEquals(now.plusSeconds(5).toEpochMilli(), ss.getNextExpireTime().toEpochMilli());
+
+        ss.resetExpiredTemporaryStat(now.plusSeconds(10));
+        Assertions.assertEquals(Instant.MAX, ss.getNextExpireTime());
+        Assertions.assertTrue(ss.hasOption(CharacterTemporaryStat.Regen));
+        Assertions.assertTrue(ss.hasTemporaryStat(BitFlag.from(CharacterTemporaryStat.UPDATE_STAT, CharacterTemporaryStat.FLAG_SIZE)));
+    }
+}